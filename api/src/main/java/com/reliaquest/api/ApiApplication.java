@@ -2,8 +2,13 @@ package com.reliaquest.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
 
-@SpringBootApplication
+// Redis is only configured when the cache lives there; see RedisConfig.
+@SpringBootApplication(
+        exclude = {RedisAutoConfiguration.class, RedisReactiveAutoConfiguration.class},
+        excludeName = "com.redis.spring.lettucemod.RedisModulesAutoConfiguration")
 public class ApiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,57 @@
+package com.reliaquest.api.actuator;
+
+import com.reliaquest.api.service.RefreshHistory;
+import com.reliaquest.api.store.EmployeeStoreStats;
+import com.reliaquest.api.store.IEmployeeStore;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code /actuator/employeecache}: what the cache holds and how this node's recent refreshes went, stage by stage.
+ * Reads only counters the store keeps anyway and the in-memory {@link RefreshHistory}, so it can be scraped every few
+ * seconds.
+ */
+@Component
+@Endpoint(id = "employeecache")
+@RequiredArgsConstructor
+public class EmployeeCacheEndpoint {
+
+    /**
+     * @param store       index and document counts, or {@code null} when the store could not be asked
+     * @param storeError  why the store could not be asked
+     * @param stalenessMs time since this node last wrote the cache, or {@code null} if it never did
+     * @param refreshes   newest first
+     */
+    public record Report(
+            EmployeeStoreStats store,
+            String storeError,
+            Instant lastRefreshedAt,
+            Long stalenessMs,
+            List<RefreshHistory.Refresh> refreshes) {}
+
+    private final IEmployeeStore employeeStore;
+    private final RefreshHistory refreshHistory;
+
+    @ReadOperation
+    public Mono<Report> report() {
+        return employeeStore
+                .stats()
+                .map(stats -> report(stats, null))
+                .onErrorResume(e -> Mono.just(report(null, e.getMessage())));
+    }
+
+    private Report report(EmployeeStoreStats stats, String storeError) {
+        return new Report(
+                stats,
+                storeError,
+                refreshHistory.lastRefreshedAt().orElse(null),
+                refreshHistory.staleness().map(Duration::toMillis).orElse(null),
+                refreshHistory.recent());
+    }
+}
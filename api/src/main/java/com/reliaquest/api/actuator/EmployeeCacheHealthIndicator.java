@@ -0,0 +1,73 @@
+package com.reliaquest.api.actuator;
+
+import com.reliaquest.api.service.RefreshHistory;
+import com.reliaquest.api.store.IEmployeeStore;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code employeeCache} health component:
+ * <ul>
+ *   <li>{@code DOWN} when the store cannot be reached in time or its search index is missing;</li>
+ *   <li>{@code STALE} when this node last wrote the cache more than {@code app.cache.health.max-staleness-ms} ago;</li>
+ *   <li>{@code UP} otherwise, including on followers that leave refreshing to another node.</li>
+ * </ul>
+ * {@code STALE} answers 200 like {@code UP} unless {@code management.endpoint.health.status.http-mapping} says
+ * otherwise: stale data is still served.
+ */
+@Component("employeeCache")
+public class EmployeeCacheHealthIndicator implements ReactiveHealthIndicator {
+
+    static final Status STALE = new Status("STALE", "The cache has not been refreshed for too long");
+
+    private final IEmployeeStore employeeStore;
+    private final RefreshHistory refreshHistory;
+    private final Duration maxStaleness;
+    private final Duration timeout;
+
+    public EmployeeCacheHealthIndicator(
+            IEmployeeStore employeeStore,
+            RefreshHistory refreshHistory,
+            @Value("${app.cache.health.max-staleness-ms:3600000}") long maxStalenessMillis,
+            @Value("${app.cache.health.timeout-ms:2000}") long timeoutMillis) {
+        this.employeeStore = employeeStore;
+        this.refreshHistory = refreshHistory;
+        this.maxStaleness = Duration.ofMillis(maxStalenessMillis);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    @Override
+    public Mono<Health> health() {
+        return employeeStore
+                .stats()
+                .timeout(timeout)
+                .map(stats -> {
+                    final var staleness = refreshHistory.staleness();
+                    final var builder = !stats.indexPresent()
+                            ? Health.down()
+                            : staleness
+                                            .filter(age -> age.compareTo(maxStaleness) > 0)
+                                            .isPresent()
+                                    ? Health.status(STALE)
+                                    : Health.up();
+                    builder.withDetail("store", stats.type())
+                            .withDetail("indexPresent", stats.indexPresent())
+                            .withDetail("documents", stats.documents())
+                            .withDetail("salaryEntries", stats.salaryEntries());
+                    refreshHistory.lastRefreshedAt().ifPresent(at -> builder.withDetail("lastRefreshedAt", at));
+                    staleness.ifPresent(age -> builder.withDetail("stalenessMs", age.toMillis()));
+                    refreshHistory.recent().stream()
+                            .findFirst()
+                            .ifPresent(last -> builder.withDetail("lastRefreshStatus", last.status()));
+                    return builder.build();
+                })
+                .onErrorResume(e -> Mono.just(Health.down()
+                        .withDetail("error", e.getClass().getName() + ": " + e.getMessage())
+                        .build()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.actuator;
+
+import com.reliaquest.api.tracing.InMemorySpanExporter;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/traces?limit=20}: the most recent sampled traces kept by the in-memory span exporter.
+ */
+@Component
+@Endpoint(id = "traces")
+@ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final InMemorySpanExporter spanExporter;
+
+    @ReadOperation
+    public List<InMemorySpanExporter.Trace> traces(@Nullable Integer limit) {
+        return spanExporter.traces(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * A mutation of the employee cache, as seen by every node.
+ *
+ * @param eventId    position in the change stream (the Redis Stream entry ID), or a local sequence number prefixed
+ *                   with the publisher's start when changes are not shared between nodes
+ * @param type       what happened
+ * @param employeeId the affected employee; {@code null} for {@link Type#REFRESHED}
+ * @param employee   the created employee; {@code null} otherwise
+ * @param count      number of employees written by a refresh; 0 otherwise
+ * @param originNode the node that made the change
+ *
+ * <p>Callers build events with the factory methods; the publisher fills in {@code eventId} and {@code originNode}.
+ */
+public record EmployeeChangeEvent(
+        String eventId, Type type, String employeeId, Employee employee, int count, String originNode) {
+
+    public enum Type {
+        CREATED,
+        DELETED,
+        /** The whole cache was replaced; local structures derived from it should be rebuilt. */
+        REFRESHED
+    }
+
+    public static EmployeeChangeEvent created(Employee employee) {
+        return new EmployeeChangeEvent(null, Type.CREATED, employee.getId(), employee, 0, null);
+    }
+
+    public static EmployeeChangeEvent deleted(String employeeId) {
+        return new EmployeeChangeEvent(null, Type.DELETED, employeeId, null, 0, null);
+    }
+
+    public static EmployeeChangeEvent refreshed(int count) {
+        return new EmployeeChangeEvent(null, Type.REFRESHED, null, null, count, null);
+    }
+
+    public EmployeeChangeEvent publishedAs(String eventId, String originNode) {
+        return new EmployeeChangeEvent(eventId, type, employeeId, employee, count, originNode);
+    }
+}
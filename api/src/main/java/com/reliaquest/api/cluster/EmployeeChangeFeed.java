@@ -0,0 +1,115 @@
+package com.reliaquest.api.cluster;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Fans the employee changes seen by this node out to long-lived subscribers, such as the SSE endpoint.
+ *
+ * <p>The last {@code replaySize} changes are kept so that a client reconnecting with the ID of the last change it saw
+ * gets what it missed. Each subscriber has its own bounded buffer: a subscriber that falls about
+ * {@code subscriberBuffer} changes behind (the queue rounds up to a power of two) is disconnected rather than slowing
+ * the others down or growing without bound, and can resume from its last event ID.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeFeed implements IEmployeeChangeListener {
+
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final Flux<Long> heartbeat;
+
+    private final ArrayDeque<EmployeeChangeEvent> recent;
+    private final Set<Sinks.Many<EmployeeChangeEvent>> subscribers = ConcurrentHashMap.newKeySet();
+
+    public EmployeeChangeFeed(
+            @Value("${app.change-feed.replay-size:1000}") int replaySize,
+            @Value("${app.change-feed.subscriber-buffer:128}") int subscriberBuffer,
+            @Value("${app.change-feed.heartbeat-interval-ms:15000}") long heartbeatIntervalMillis) {
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.recent = new ArrayDeque<>(replaySize);
+        // One timer for all subscribers; it runs only while someone listens.
+        this.heartbeat =
+                Flux.interval(Duration.ofMillis(heartbeatIntervalMillis)).share();
+    }
+
+    @Override
+    public synchronized void onEmployeeChange(EmployeeChangeEvent event) {
+        if (recent.size() == replaySize) {
+            recent.removeFirst();
+        }
+        recent.addLast(event);
+
+        for (Sinks.Many<EmployeeChangeEvent> subscriber : subscribers) {
+            Sinks.EmitResult result = subscriber.tryEmitNext(event);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                log.warn("Disconnecting a change feed subscriber that fell {} changes behind.", subscriberBuffer);
+                subscribers.remove(subscriber);
+                subscriber.tryEmitError(new IllegalStateException("Subscriber fell too far behind"));
+            } else if (result.isFailure()) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Changes from now on, preceded by those after {@code lastEventId} if given. If that change is no longer buffered,
+     * the flux starts with a {@link EmployeeChangeEvent.Type#REFRESHED} event instead, telling the client to reload.
+     */
+    public Flux<EmployeeChangeEvent> subscribe(String lastEventId) {
+        return Flux.defer(() -> {
+            Sinks.Many<EmployeeChangeEvent> subscriber;
+            synchronized (this) {
+                // Replay and registration under one lock, so no change is missed or sent twice.
+                List<EmployeeChangeEvent> missed = lastEventId != null ? replayAfter(lastEventId) : List.of();
+                subscriber = Sinks.many()
+                        .unicast()
+                        .onBackpressureBuffer(Queues.<EmployeeChangeEvent>get(missed.size() + subscriberBuffer)
+                                .get());
+                missed.forEach(subscriber::tryEmitNext);
+                subscribers.add(subscriber);
+            }
+            return subscriber.asFlux().doFinally(signal -> subscribers.remove(subscriber));
+        });
+    }
+
+    /**
+     * Ticks every heartbeat interval; shared by all subscribers.
+     */
+    public Flux<Long> heartbeat() {
+        return heartbeat;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Caller holds the monitor.
+    private List<EmployeeChangeEvent> replayAfter(String lastEventId) {
+        List<EmployeeChangeEvent> missed = new ArrayList<>();
+        Iterator<EmployeeChangeEvent> newestFirst = recent.descendingIterator();
+        while (newestFirst.hasNext()) {
+            EmployeeChangeEvent event = newestFirst.next();
+            if (lastEventId.equals(event.eventId())) {
+                Collections.reverse(missed);
+                return missed;
+            }
+            missed.add(event);
+        }
+        String latestEventId = recent.isEmpty() ? null : recent.getLast().eventId();
+        return List.of(EmployeeChangeEvent.refreshed(0).publishedAs(latestEventId, null));
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.cluster;
+
+/**
+ * Keeps a node-local structure (index, aggregate, in-process cache) in step with the employee cache.
+ *
+ * <p>Listeners receive the changes made by every node, their own node's included, in the same order on every node.
+ * Listeners build their state from the store on startup. A restarted node is then replayed the changes made while it
+ * was down, so applying a change they already reflect must be harmless.
+ */
+public interface IEmployeeChangeListener {
+
+    void onEmployeeChange(EmployeeChangeEvent event);
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.cluster;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Announces cache mutations to the {@link IEmployeeChangeListener}s of this node and, when
+ * {@code app.change-stream.enabled} is set, of every other node through a Redis Stream.
+ *
+ * <p>Publishing never fails the mutation that triggered it: the cache write has already happened, and errors are
+ * logged instead.
+ */
+public interface IEmployeeChangePublisher {
+
+    Mono<Void> publish(EmployeeChangeEvent event);
+}
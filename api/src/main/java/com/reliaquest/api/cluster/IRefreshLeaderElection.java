@@ -0,0 +1,30 @@
+package com.reliaquest.api.cluster;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides which API node runs the scheduled cache refresh, so the upstream quota is spent once per interval no matter
+ * how many nodes share the cache.
+ *
+ * <p>Selected with {@code app.cache.leader-election.enabled}: a single-node implementation that always leads, or a
+ * Redis lease shared by all nodes.
+ */
+public interface IRefreshLeaderElection {
+
+    /**
+     * Acquires or renews leadership.
+     *
+     * @return the fencing token of the current term if this node leads, or empty if another node does
+     */
+    Mono<Long> acquire();
+
+    /**
+     * Claims the shared cache for a write by the leader holding {@code fencingToken}. Fails once a newer term has
+     * claimed it, so a leader that stalled past its lease cannot overwrite its successor's refresh. The refresh's store
+     * writes carry the token too (see {@link com.reliaquest.api.store.IEmployeeStore#deleteAll(long)}), so a leader
+     * that stalls after this call is stopped as well.
+     *
+     * @return whether the write may go ahead
+     */
+    Mono<Boolean> fence(long fencingToken);
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.cluster;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Default publisher: hands changes straight to this node's listeners.
+ *
+ * <p>Event IDs are a sequence number prefixed with the node ID and the time this publisher started, e.g.
+ * {@code api-1.1729300000000.42}. The sequence starts over on every restart; the prefix keeps an ID a change feed
+ * client kept from before the restart from matching a different change afterwards.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.change-stream.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalEmployeeChangePublisher implements IEmployeeChangePublisher {
+
+    private final ObjectProvider<IEmployeeChangeListener> listeners;
+    private final String nodeId;
+    private final String epoch;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public LocalEmployeeChangePublisher(ObjectProvider<IEmployeeChangeListener> listeners, NodeIdentity nodeIdentity) {
+        this(listeners, nodeIdentity, Clock.systemUTC());
+    }
+
+    LocalEmployeeChangePublisher(
+            ObjectProvider<IEmployeeChangeListener> listeners, NodeIdentity nodeIdentity, Clock clock) {
+        this.listeners = listeners;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.epoch = nodeId + "." + clock.millis() + ".";
+    }
+
+    @Override
+    public Mono<Void> publish(EmployeeChangeEvent event) {
+        return Mono.fromRunnable(
+                () -> dispatch(listeners, event.publishedAs(epoch + sequence.incrementAndGet(), nodeId)));
+    }
+
+    static void dispatch(ObjectProvider<IEmployeeChangeListener> listeners, EmployeeChangeEvent event) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onEmployeeChange(event);
+            } catch (RuntimeException e) {
+                log.error(
+                        "{} failed to apply change {}: {}",
+                        listener.getClass().getSimpleName(),
+                        event.eventId(),
+                        e.getMessage());
+            }
+        });
+    }
+}
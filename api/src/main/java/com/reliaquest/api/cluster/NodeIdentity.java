@@ -0,0 +1,24 @@
+package com.reliaquest.api.cluster;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Name of this API node within a cluster sharing one Redis.
+ *
+ * <p>Set {@code app.node-id} to a name that survives restarts (pod name, host name). It tags the node's metrics and
+ * names it in the refresh lease, as a write-behind consumer and in its change-stream offset. A random ID leaves a
+ * restarted node's pending write-behind entries to be claimed by another node once they have been idle for
+ * {@code claim-idle-ms}, and starts it from the end of the change stream.
+ */
+@Getter
+@Component
+public class NodeIdentity {
+
+    private final String nodeId;
+
+    public NodeIdentity(@Value("${app.node-id:#{T(java.util.UUID).randomUUID().toString()}}") String nodeId) {
+        this.nodeId = nodeId;
+    }
+}
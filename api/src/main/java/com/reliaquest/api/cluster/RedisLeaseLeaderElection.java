@@ -0,0 +1,208 @@
+package com.reliaquest.api.cluster;
+
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
+import io.lettuce.core.ScriptOutputType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leader election over a Redis lease. The lease value is {@code <nodeId>:<fencingToken>}; each new term takes its
+ * token from an {@code INCR} counter, so tokens only grow. The leader renews the lease on a heartbeat well inside its
+ * TTL; if it dies, the lease expires and the next node to call {@link #acquire()} starts a new term.
+ *
+ * <p>A lease alone does not stop a leader that paused (GC, network) past its TTL from writing after its successor.
+ * {@link #fence(long)} therefore records the highest token that has claimed the cache and rejects older ones. The
+ * store's refresh writes check the same record ({@link #FENCED_TOKEN_KEY}) inside the script that performs them, so a
+ * leader that pauses after claiming the cache is stopped at its next write once a successor has claimed it.
+ *
+ * <p>A lease check that does not answer within half the lease counts as a failure, so a hung Redis call cannot keep
+ * this node acting as leader.
+ *
+ * <p>Only used with the Redis store: nodes with an in-memory store each refresh their own copy.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${app.cache.leader-election.enabled:false} and '${app.store.type:redis}' == 'redis'")
+public class RedisLeaseLeaderElection implements IRefreshLeaderElection {
+
+    static final String LEASE_KEY = "employee_refresh_lease";
+    static final String FENCING_COUNTER_KEY = "employee_refresh_fencing_token";
+    public static final String FENCED_TOKEN_KEY = "employee_refresh_fenced_token";
+
+    // Renews our own lease, or starts a new term if the lease is free. Returns the term's token, or 0 if another node
+    // holds the lease.
+    private static final String ACQUIRE_SCRIPT =
+            """
+            local holder = redis.call('GET', KEYS[1])
+            if holder then
+              local node, token = string.match(holder, '^(.*):(%d+)$')
+              if node == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return tonumber(token)
+              end
+              return 0
+            end
+            local token = redis.call('INCR', KEYS[2])
+            redis.call('SET', KEYS[1], ARGV[1] .. ':' .. token, 'PX', ARGV[2])
+            return token
+            """;
+
+    private static final String FENCE_SCRIPT =
+            """
+            local fenced = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if tonumber(ARGV[1]) < fenced then
+              return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1])
+            return 1
+            """;
+
+    private static final String RELEASE_SCRIPT =
+            """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """;
+
+    private final RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
+
+    private final String nodeId;
+    private final long leaseMillis;
+    private final AtomicLong fencingToken = new AtomicLong();
+    private final Counter acquisitions;
+    private final Counter losses;
+    private final Counter fencedWrites;
+
+    public RedisLeaseLeaderElection(
+            StatefulRedisModulesConnection<String, String> redisModulesConnection,
+            MeterRegistry meterRegistry,
+            NodeIdentity nodeIdentity,
+            @Value("${app.cache.leader-election.lease-ms:30000}") long leaseMillis) {
+        this.redisModulesReactiveCommands = redisModulesConnection.reactive();
+        this.nodeId = nodeIdentity.getNodeId();
+        this.leaseMillis = leaseMillis;
+
+        Gauge.builder("employee.cache.leader", fencingToken, token -> token.get() > 0 ? 1 : 0)
+                .description("1 while this node holds the refresh lease")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        Gauge.builder("employee.cache.leader.fencing.token", fencingToken, AtomicLong::get)
+                .description("Fencing token of the term this node leads, 0 when following")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        this.acquisitions = Counter.builder("employee.cache.leader.acquisitions")
+                .description("Terms started by this node")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        this.losses = Counter.builder("employee.cache.leader.losses")
+                .description("Terms this node lost to another node")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        this.fencedWrites = Counter.builder("employee.cache.leader.fenced.writes")
+                .description("Refreshes rejected because a newer term had already written the cache")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        log.info("Refresh leader election enabled for node {} with a {} ms lease.", nodeId, leaseMillis);
+    }
+
+    @Override
+    public Mono<Long> acquire() {
+        return redisModulesReactiveCommands
+                .<Long>eval(
+                        ACQUIRE_SCRIPT,
+                        ScriptOutputType.INTEGER,
+                        new String[] {LEASE_KEY, FENCING_COUNTER_KEY},
+                        nodeId,
+                        String.valueOf(leaseMillis))
+                .next()
+                .timeout(Duration.ofMillis(leaseMillis / 2))
+                .map(this::onTerm)
+                .filter(token -> token > 0)
+                .onErrorResume(e -> {
+                    // Without Redis we cannot tell who leads; stepping down is the only safe choice.
+                    log.error("Refresh lease check failed, stepping down: {}", e.getMessage());
+                    onTerm(0L);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Boolean> fence(long token) {
+        return redisModulesReactiveCommands
+                .<Long>eval(
+                        FENCE_SCRIPT, ScriptOutputType.INTEGER, new String[] {FENCED_TOKEN_KEY}, String.valueOf(token))
+                .next()
+                .map(result -> result == 1L)
+                .doOnNext(accepted -> {
+                    if (!accepted) {
+                        fencedWrites.increment();
+                        log.warn("Refresh with fencing token {} rejected: a newer term has written the cache.", token);
+                    }
+                });
+    }
+
+    /**
+     * Keeps the lease alive between refreshes, and lets a follower take over within one heartbeat of the lease
+     * expiring.
+     */
+    @Scheduled(fixedRateString = "${app.cache.leader-election.renew-interval-ms:10000}")
+    public void heartbeat() {
+        acquire().subscribe();
+    }
+
+    /**
+     * Hands the lease back on shutdown, so a follower does not have to wait for it to expire.
+     */
+    @PreDestroy
+    public void release() {
+        final var token = fencingToken.get();
+        if (token == 0) {
+            return;
+        }
+        try {
+            redisModulesReactiveCommands
+                    .<Long>eval(
+                            RELEASE_SCRIPT, ScriptOutputType.INTEGER, new String[] {LEASE_KEY}, nodeId + ":" + token)
+                    .next()
+                    .block(Duration.ofSeconds(1));
+            log.info("Released refresh lease for term {}.", token);
+        } catch (RuntimeException e) {
+            log.warn("Could not release refresh lease, it will expire in {} ms: {}", leaseMillis, e.getMessage());
+        } finally {
+            fencingToken.set(0);
+        }
+    }
+
+    /**
+     * Fencing token of the term this node currently leads, or 0.
+     */
+    public long currentFencingToken() {
+        return fencingToken.get();
+    }
+
+    private long onTerm(long token) {
+        final var previous = fencingToken.getAndSet(token);
+        if (token != previous) {
+            if (token > 0) {
+                acquisitions.increment();
+                log.info("Node {} is now the refresh leader (fencing token {}).", nodeId, token);
+            } else {
+                losses.increment();
+                log.info("Node {} lost the refresh lease (fencing token {}).", nodeId, previous);
+            }
+        }
+        return token;
+    }
+}
@@ -0,0 +1,263 @@
+package com.reliaquest.api.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
+import com.reliaquest.api.model.Employee;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XReadArgs;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shares cache mutations between nodes through the {@code employee_changes} Redis Stream.
+ *
+ * <p>Every node reads the whole stream with a plain {@code XREAD}, remembering the ID of the last entry it applied.
+ * All changes, this node's own included, reach the listeners when they are read back, so every node applies them in
+ * stream order; a node sees its own change one poll after making it. After each batch the node stores the ID of the
+ * last entry it applied under {@code employee_changes_offset:<node-id>}, and a restarted node resumes after that entry,
+ * so the changes made while it was down reach its listeners. Without a saved offset (a first start, a random
+ * {@code app.node-id}, or one unused for {@code offset-ttl-ms}) the node starts from the end of the stream.
+ *
+ * <p>The stream is trimmed to {@code max-length} entries on every append. If entries after the saved offset have been
+ * trimmed away, the node applies a {@link EmployeeChangeEvent.Type#REFRESHED} change before reading on, so that its
+ * listeners rebuild from the store rather than miss those changes.
+ *
+ * <p>The stream is polled rather than read with {@code BLOCK}, because the Redis connection is shared with the rest of
+ * the application and a blocking read would stall it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.change-stream.enabled", havingValue = "true")
+public class RedisStreamEmployeeChangePublisher implements IEmployeeChangePublisher {
+
+    static final String STREAM_KEY = "employee_changes";
+    static final String OFFSET_KEY_PREFIX = "employee_changes_offset:";
+    // Earlier versions read through one consumer group per node; those groups are removed on startup.
+    static final String LEGACY_GROUP_PREFIX = "api-node:";
+
+    private final RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<IEmployeeChangeListener> listeners;
+    private final String nodeId;
+    private final long maxLength;
+    private final int batchSize;
+    private final Duration pollTimeout;
+    private final long offsetTtlMillis;
+    private final String offsetKey;
+
+    // ID of the last entry applied; null until the end of the stream has been found.
+    private volatile String lastId;
+    // When the offset was last saved; it is saved again after each batch, or once half its TTL has passed.
+    private volatile long offsetSavedAt;
+
+    public RedisStreamEmployeeChangePublisher(
+            StatefulRedisModulesConnection<String, String> redisModulesConnection,
+            ObjectMapper objectMapper,
+            ObjectProvider<IEmployeeChangeListener> listeners,
+            NodeIdentity nodeIdentity,
+            @Value("${app.change-stream.max-length:100000}") long maxLength,
+            @Value("${app.change-stream.batch-size:100}") int batchSize,
+            @Value("${app.change-stream.poll-timeout-ms:5000}") long pollTimeoutMillis,
+            @Value("${app.change-stream.offset-ttl-ms:604800000}") long offsetTtlMillis) {
+        this.redisModulesReactiveCommands = redisModulesConnection.reactive();
+        this.objectMapper = objectMapper;
+        this.listeners = listeners;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.maxLength = maxLength;
+        this.batchSize = batchSize;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMillis);
+        this.offsetTtlMillis = offsetTtlMillis;
+        this.offsetKey = OFFSET_KEY_PREFIX + nodeId;
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            destroyLegacyGroups().then(findStartId()).block(pollTimeout);
+            log.info("Consuming employee changes from '{}' after entry {}.", STREAM_KEY, lastId);
+        } catch (RuntimeException e) {
+            log.error(
+                    "Could not find where to read '{}' from, will retry on the next poll: {}",
+                    STREAM_KEY,
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public Mono<Void> publish(EmployeeChangeEvent event) {
+        return Mono.fromCallable(() -> toFields(event))
+                .flatMap(fields -> redisModulesReactiveCommands.xadd(
+                        STREAM_KEY, XAddArgs.Builder.maxlen(maxLength).approximateTrimming(), fields))
+                .doOnNext(eventId -> log.debug("Published {} change as {}.", event.type(), eventId))
+                .onErrorResume(e -> {
+                    log.error(
+                            "Failed to publish {} change for '{}': {}",
+                            event.type(),
+                            event.employeeId(),
+                            e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-stream.poll-interval-ms:250}")
+    public void poll() {
+        try {
+            (lastId == null ? findStartId().thenReturn(0L) : consume()).block(pollTimeout);
+        } catch (RuntimeException e) {
+            log.error("Failed to read employee changes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads and applies one batch, then saves the ID of its last entry as this node's offset. A node stopped between
+     * the two applies the batch again on restart, which listeners tolerate.
+     *
+     * @return the number of entries read
+     */
+    Mono<Long> consume() {
+        return redisModulesReactiveCommands
+                .xread(XReadArgs.Builder.count(batchSize), XReadArgs.StreamOffset.from(STREAM_KEY, lastId))
+                .doOnNext(message -> {
+                    apply(message);
+                    lastId = message.getId();
+                })
+                .count()
+                .flatMap(read -> read > 0 || System.currentTimeMillis() - offsetSavedAt > offsetTtlMillis / 2
+                        ? saveOffset().thenReturn(read)
+                        : Mono.just(read));
+    }
+
+    private Mono<String> saveOffset() {
+        final var savedAt = System.currentTimeMillis();
+        return redisModulesReactiveCommands
+                .set(offsetKey, lastId, SetArgs.Builder.px(offsetTtlMillis))
+                .doOnNext(ok -> offsetSavedAt = savedAt);
+    }
+
+    private void apply(StreamMessage<String, String> message) {
+        final EmployeeChangeEvent event;
+        try {
+            event = fromFields(message.getId(), message.getBody());
+        } catch (RuntimeException | JsonProcessingException e) {
+            // Skipped: a malformed entry would otherwise be read again on every poll.
+            log.error("Skipping unreadable change {}: {}", message.getId(), e.getMessage());
+            return;
+        }
+        LocalEmployeeChangePublisher.dispatch(listeners, event);
+    }
+
+    // Resumes after the saved offset if there is one, otherwise starts from the end of the stream.
+    private Mono<String> findStartId() {
+        return redisModulesReactiveCommands
+                .get(offsetKey)
+                .flatMap(savedId -> detectTrimmedChanges(savedId).thenReturn(savedId))
+                .doOnNext(savedId -> lastId = savedId)
+                .switchIfEmpty(Mono.defer(this::findStreamEnd));
+    }
+
+    private Mono<Void> detectTrimmedChanges(String savedId) {
+        return redisModulesReactiveCommands
+                .xrange(STREAM_KEY, Range.create("-", "+"), Limit.from(1))
+                .next()
+                .map(StreamMessage::getId)
+                // The oldest entry left may also just be the one after savedId; rebuilding then is only wasted work.
+                .filter(oldestId -> compareIds(oldestId, savedId) > 0)
+                .doOnNext(oldestId -> {
+                    log.warn(
+                            "Changes after {} were trimmed from '{}' (oldest left: {}); rebuilding local state.",
+                            savedId,
+                            STREAM_KEY,
+                            oldestId);
+                    // Not savedId: a change feed client that saw savedId must not resume past the reset.
+                    LocalEmployeeChangePublisher.dispatch(
+                            listeners, EmployeeChangeEvent.refreshed(0).publishedAs(oldestId, nodeId));
+                })
+                .then();
+    }
+
+    // Stream IDs are <milliseconds>-<sequence>.
+    static int compareIds(String a, String b) {
+        final int dashA = a.indexOf('-');
+        final int dashB = b.indexOf('-');
+        final int byTime = Long.compare(Long.parseLong(a.substring(0, dashA)), Long.parseLong(b.substring(0, dashB)));
+        return byTime != 0
+                ? byTime
+                : Long.compare(Long.parseLong(a.substring(dashA + 1)), Long.parseLong(b.substring(dashB + 1)));
+    }
+
+    private Mono<String> findStreamEnd() {
+        return redisModulesReactiveCommands
+                .xrevrange(STREAM_KEY, Range.create("-", "+"), Limit.from(1))
+                .next()
+                .map(StreamMessage::getId)
+                .defaultIfEmpty("0-0")
+                .doOnNext(id -> lastId = id);
+    }
+
+    private Mono<Void> destroyLegacyGroups() {
+        return redisModulesReactiveCommands
+                .xinfoGroups(STREAM_KEY)
+                .map(RedisStreamEmployeeChangePublisher::groupName)
+                .filter(group -> group.startsWith(LEGACY_GROUP_PREFIX))
+                .concatMap(group -> redisModulesReactiveCommands
+                        .xgroupDestroy(STREAM_KEY, group)
+                        .doOnNext(destroyed -> log.info("Removed consumer group '{}' from '{}'.", group, STREAM_KEY)))
+                // XINFO GROUPS fails while the stream does not exist yet.
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    // XINFO GROUPS describes each group as a flat list of alternating attribute names and values.
+    private static String groupName(Object info) {
+        if (info instanceof List<?> attributes) {
+            for (int i = 0; i + 1 < attributes.size(); i += 2) {
+                if ("name".equals(String.valueOf(attributes.get(i)))) {
+                    return String.valueOf(attributes.get(i + 1));
+                }
+            }
+        }
+        return "";
+    }
+
+    private Map<String, String> toFields(EmployeeChangeEvent event) throws JsonProcessingException {
+        final Map<String, String> fields = new HashMap<>();
+        fields.put("type", event.type().name());
+        fields.put("origin", nodeId);
+        fields.put("count", String.valueOf(event.count()));
+        if (event.employeeId() != null) {
+            fields.put("id", event.employeeId());
+        }
+        if (event.employee() != null) {
+            fields.put("employee", objectMapper.writeValueAsString(event.employee()));
+        }
+        return fields;
+    }
+
+    private EmployeeChangeEvent fromFields(String eventId, Map<String, String> fields) throws JsonProcessingException {
+        final var json = fields.get("employee");
+        return new EmployeeChangeEvent(
+                eventId,
+                EmployeeChangeEvent.Type.valueOf(fields.get("type")),
+                fields.get("id"),
+                json == null ? null : objectMapper.readValue(json, Employee.class),
+                Integer.parseInt(fields.getOrDefault("count", "0")),
+                fields.get("origin"));
+    }
+}
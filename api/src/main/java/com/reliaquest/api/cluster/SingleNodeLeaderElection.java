@@ -0,0 +1,37 @@
+package com.reliaquest.api.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Default for single-node deployments: this node always refreshes.
+ *
+ * <p>Also used whatever {@code app.cache.leader-election.enabled} says when the cache is in memory
+ * ({@code app.store.type=memory}). A refresh on another node carries no data to this node's copy, so each node has to
+ * refresh its own.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("!${app.cache.leader-election.enabled:false} or '${app.store.type:redis}' == 'memory'")
+public class SingleNodeLeaderElection implements IRefreshLeaderElection {
+
+    public SingleNodeLeaderElection(
+            @Value("${app.cache.leader-election.enabled:false}") boolean leaderElectionEnabled) {
+        if (leaderElectionEnabled) {
+            log.warn("Leader election is ignored with the in-memory store: this node refreshes its own copy.");
+        }
+    }
+
+    @Override
+    public Mono<Long> acquire() {
+        return Mono.just(0L);
+    }
+
+    @Override
+    public Mono<Boolean> fence(long fencingToken) {
+        return Mono.just(true);
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.config;
+
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * HTTP transport of the employee API client. Spring Boot applies a {@link ClientHttpConnector} bean to the
+ * auto-configured {@code WebClient.Builder}, so {@code EmployeeApiClientV1} picks this one up unchanged.
+ *
+ * <p>The pool is bounded on both sides: at most {@code max-connections} are open, and at most
+ * {@code pending-acquire-max-count} requests wait for one, each for up to {@code pending-acquire-timeout-ms}. A slow
+ * upstream therefore fails requests quickly instead of queueing them without limit. Connections are closed after
+ * {@code max-idle-time-ms} unused or {@code max-life-time-ms} in total, so the pool does not keep sockets a proxy or
+ * the upstream has dropped. Pool metrics are published under {@code reactor.netty.connection.provider.*}.
+ *
+ * <p>Response timeouts are set per operation by the client; {@code response-timeout-ms} here is the default for any
+ * other call.
+ */
+@Slf4j
+@Configuration
+public class EmployeeApiHttpClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeApiConnectionProvider(
+            @Value("${app.upstream-http.pool.max-connections:50}") int maxConnections,
+            @Value("${app.upstream-http.pool.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+            @Value("${app.upstream-http.pool.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMillis,
+            @Value("${app.upstream-http.pool.max-idle-time-ms:30000}") long maxIdleTimeMillis,
+            @Value("${app.upstream-http.pool.max-life-time-ms:300000}") long maxLifeTimeMillis,
+            @Value("${app.upstream-http.pool.metrics-enabled:true}") boolean metricsEnabled) {
+        log.info(
+                "Employee API connection pool: {} connections, {} pending acquires for up to {} ms.",
+                maxConnections,
+                pendingAcquireMaxCount,
+                pendingAcquireTimeoutMillis);
+        return ConnectionProvider.builder("employee-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMillis))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMillis))
+                .evictInBackground(Duration.ofMillis(maxIdleTimeMillis))
+                .metrics(metricsEnabled)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector employeeApiClientHttpConnector(
+            ConnectionProvider employeeApiConnectionProvider,
+            @Value("${app.upstream-http.connect-timeout-ms:2000}") int connectTimeoutMillis,
+            @Value("${app.upstream-http.response-timeout-ms:10000}") long responseTimeoutMillis) {
+        HttpClient httpClient = HttpClient.create(employeeApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -1,6 +1,14 @@
 package com.reliaquest.api.config;
 
+import com.redis.lettucemod.RedisModulesClient;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
 import com.reliaquest.api.model.Employee;
+import io.lettuce.core.RedisURI;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
@@ -9,9 +17,30 @@ import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+/**
+ * Redis connections, created only when the employee cache lives in Redis ({@code app.store.type=redis}, the default).
+ * The Redis auto-configurations are excluded in {@link com.reliaquest.api.ApiApplication} and imported here, so with
+ * {@code app.store.type=memory} the API starts, and reports healthy, without a Redis server.
+ */
 @Configuration
+@ConditionalOnProperty(name = "app.store.type", havingValue = "redis", matchIfMissing = true)
+@ImportAutoConfiguration({RedisAutoConfiguration.class, RedisReactiveAutoConfiguration.class})
 public class RedisConfig {
 
+    /**
+     * Client for the RedisJSON, RediSearch and stream commands, at {@code spring.redis.host} and {@code port}.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public RedisModulesClient redisModulesClient(
+            @Value("${spring.redis.host:localhost}") String host, @Value("${spring.redis.port:6379}") int port) {
+        return RedisModulesClient.create(RedisURI.create(host, port));
+    }
+
+    @Bean(destroyMethod = "close")
+    public StatefulRedisModulesConnection<String, String> redisModulesConnection(RedisModulesClient client) {
+        return client.connect();
+    }
+
     /**
      * Configures a ReactiveRedisTemplate with String keys and Object values,
      * using Jackson2JsonRedisSerializer for value serialization/deserialization.
@@ -0,0 +1,15 @@
+package com.reliaquest.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled cache refresh. With {@code spring.threads.virtual.enabled} Spring Boot runs scheduled tasks on
+ * virtual threads as well.
+ *
+ * <p>The scheduler has {@code spring.task.scheduling.pool.size} threads rather than Spring's default of one, so the
+ * refresh lease heartbeat does not queue behind the change-stream poll or the write-behind drain.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
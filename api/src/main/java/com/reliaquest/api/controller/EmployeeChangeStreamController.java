@@ -0,0 +1,56 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cluster.EmployeeChangeEvent;
+import com.reliaquest.api.cluster.EmployeeChangeFeed;
+import com.reliaquest.api.model.EmployeeChangeNotification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Pushes employee changes to dashboards as Server-Sent Events, so they do not have to poll the list endpoints.
+ */
+@RestController
+@RequestMapping("api/v1/employee")
+@RequiredArgsConstructor
+public class EmployeeChangeStreamController {
+
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    /**
+     * One event per change, named after its type and carrying its ID. Browsers resume with the {@code Last-Event-ID}
+     * header on reconnect; other clients may pass {@code lastEventId} instead. Idle connections get a comment line
+     * every heartbeat interval.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<EmployeeChangeNotification>> streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+
+        return Flux.merge(
+                employeeChangeFeed.subscribe(lastEventId).map(EmployeeChangeStreamController::toServerSentEvent),
+                employeeChangeFeed.heartbeat().map(tick -> ServerSentEvent.<EmployeeChangeNotification>builder()
+                        .comment("heartbeat")
+                        .build()));
+    }
+
+    private static ServerSentEvent<EmployeeChangeNotification> toServerSentEvent(EmployeeChangeEvent event) {
+        EmployeeChangeNotification notification = EmployeeChangeNotification.builder()
+                .type(event.type().name())
+                .employeeId(event.employeeId())
+                .employee(event.employee())
+                .employeeCount(event.type() == EmployeeChangeEvent.Type.REFRESHED ? event.count() : null)
+                .build();
+        return ServerSentEvent.builder(notification)
+                .id(event.eventId())
+                .event(event.type().name())
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeBatch;
+import com.reliaquest.api.model.EmployeeNameMatch;
+import com.reliaquest.api.search.EmployeeNameIndex;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Name lookups answered from the node-local {@link EmployeeNameIndex}.
+ */
+@RestController
+@RequestMapping("api/v1/employee")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.name-index.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeNameSearchController {
+
+    static final int MAX_RESULTS = 100;
+    static final int MAX_EDIT_DISTANCE = 3;
+
+    private final EmployeeNameIndex employeeNameIndex;
+    private final EmployeeService employeeService;
+
+    /**
+     * Returns IDs and names only; the full employee is one {@code GET /api/v1/employee/{id}} away.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<EmployeeNameMatch>> autocomplete(
+            @RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank() || limit < 1 || limit > MAX_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok().body(employeeNameIndex.autocomplete(prefix, limit));
+    }
+
+    /**
+     * Like {@code search/{searchString}}, but tolerates typos: every word of {@code searchString} must be within
+     * {@code maxDistance} edits of a word in the name. Closest matches first.
+     */
+    @GetMapping("/fuzzySearch/{searchString}")
+    public ResponseEntity<List<Employee>> fuzzySearch(
+            @PathVariable String searchString,
+            @RequestParam(defaultValue = "2") int maxDistance,
+            @RequestParam(defaultValue = "" + MAX_RESULTS) int limit) {
+        if (searchString.isBlank()
+                || maxDistance < 0
+                || maxDistance > MAX_EDIT_DISTANCE
+                || limit < 1
+                || limit > MAX_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<String> ids = employeeNameIndex.fuzzySearch(searchString, maxDistance, limit).stream()
+                .map(EmployeeNameMatch::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return ResponseEntity.ok().body(List.of());
+        }
+        EmployeeBatch batch = employeeService.getEmployeesByIds(ids).block();
+        return ResponseEntity.ok().body(batch.getEmployees());
+    }
+}
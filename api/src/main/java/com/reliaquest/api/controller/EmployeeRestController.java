@@ -2,6 +2,7 @@ package com.reliaquest.api.controller;
 
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeBatch;
 import com.reliaquest.api.service.EmployeeService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -9,7 +10,11 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
@@ -18,6 +23,9 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class EmployeeRestController implements IEmployeeController<Employee, CreateEmployeeInput> {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BATCH_IDS = 1000;
+
     @Getter
     private final EmployeeService employeeService;
 
@@ -89,4 +97,53 @@ public class EmployeeRestController implements IEmployeeController<Employee, Cre
                 .defaultIfEmpty(ResponseEntity.notFound().build())
                 .block();
     }
+
+    @GetMapping("/salaryRange")
+    public ResponseEntity<List<Employee>> getEmployeesBySalaryRange(
+            @RequestParam(defaultValue = "0") int min,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int max,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        if (!isValidPage(min, max, limit, offset)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Employee> employees = employeeService
+                .getEmployeesBySalaryRange(min, max, offset, limit)
+                .collectList()
+                .block();
+        return ResponseEntity.ok().body(employees);
+    }
+
+    @GetMapping("/ageRange")
+    public ResponseEntity<List<Employee>> getEmployeesByAgeRange(
+            @RequestParam(defaultValue = "0") int min,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int max,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        if (!isValidPage(min, max, limit, offset)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Employee> employees = employeeService
+                .getEmployeesByAgeRange(min, max, offset, limit)
+                .collectList()
+                .block();
+        return ResponseEntity.ok().body(employees);
+    }
+
+    /**
+     * Looks up to {@value #MAX_BATCH_IDS} employees in one call. The body is a JSON array of IDs. The response is
+     * collected before it is sent, since it reports the IDs that were not found after the employees; the ID limit is
+     * what bounds its size.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<EmployeeBatch> getEmployeesByIds(@RequestBody List<String> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_IDS || ids.stream().anyMatch(id -> id == null || id.isBlank())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok().body(employeeService.getEmployeesByIds(ids).block());
+    }
+
+    private static boolean isValidPage(int min, int max, int limit, int offset) {
+        return min <= max && limit > 0 && limit <= MAX_PAGE_SIZE && offset >= 0;
+    }
 }
@@ -0,0 +1,62 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.EmployeeField;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeePageCursor;
+import com.reliaquest.api.model.EmployeeSortKey;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Paged listing of all employees. Unlike {@code GET /api/v1/employee}, a response holds one page, in a chosen order,
+ * with only the requested fields.
+ */
+@Slf4j
+@RestController
+@RequestMapping("api/v2/employee")
+@RequiredArgsConstructor
+public class EmployeeV2RestController {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final EmployeeService employeeService;
+
+    /**
+     * @param cursor {@code next_cursor} of the previous page; the sort order travels with it
+     * @param size   employees per page
+     * @param sort   {@code name}, {@code salary} or {@code age}; ignored when a cursor is given
+     * @param fields comma-separated fields to return, e.g. {@code id,name}; all fields when absent
+     */
+    @GetMapping
+    public ResponseEntity<EmployeePage> getEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) String fields) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        final EmployeePageCursor position;
+        final Set<EmployeeField> projection;
+        try {
+            position = cursor != null
+                    ? EmployeePageCursor.decode(cursor)
+                    : EmployeePageCursor.start(EmployeeSortKey.parse(sort));
+            projection = EmployeeField.parseList(fields);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected employee page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .body(employeeService
+                        .getEmployeePage(position, size, projection)
+                        .block());
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.MutationStatus;
+import com.reliaquest.api.service.EmployeeWriteBehindService;
+import jakarta.validation.Valid;
+import java.net.URI;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Asynchronous creates and deletes: the mutation is queued and answered with {@code 202 Accepted} and a tracking ID,
+ * whose status can then be polled. A request repeating an {@code Idempotency-Key} gets the first request's mutation,
+ * unless it asks for something else, which is refused with {@code 422}. Enabled with {@code app.write-behind.enabled}.
+ */
+@RestController
+@RequestMapping("api/v1/employee/async")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindController {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final EmployeeWriteBehindService writeBehindService;
+
+    @PostMapping
+    public ResponseEntity<MutationStatus> createEmployee(
+            @Valid @RequestBody CreateEmployeeInput employeeInput,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return accepted(
+                writeBehindService.enqueueCreate(employeeInput, idempotencyKey).block());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<MutationStatus> deleteEmployeeById(
+            @PathVariable String id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return accepted(writeBehindService.enqueueDelete(id, idempotencyKey).block());
+    }
+
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<MutationStatus> getStatus(@PathVariable String trackingId) {
+        MutationStatus status = writeBehindService.getStatus(trackingId).block();
+        if (status != null) {
+            return ResponseEntity.ok().body(status);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    private static ResponseEntity<MutationStatus> accepted(MutationStatus status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/employee/async/" + status.getTrackingId()))
+                .body(status);
+    }
+}
@@ -51,6 +51,12 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", "The requested employee was not found."));
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<?> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("error", "The Idempotency-Key was already used for a different request."));
+    }
+
     @ExceptionHandler(Throwable.class)
     public ResponseEntity<String> handleUnexpectedException(Throwable ex) {
         log.error("Unexpected error occurred", ex);
@@ -0,0 +1,14 @@
+package com.reliaquest.api.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key already used for a different request: " + idempotencyKey);
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
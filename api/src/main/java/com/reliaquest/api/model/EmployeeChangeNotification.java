@@ -0,0 +1,33 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class EmployeeChangeNotification {
+
+    @ApiModelProperty(notes = "CREATED, DELETED, or REFRESHED when the whole cache was reloaded")
+    private String type;
+
+    @ApiModelProperty(notes = "The created or deleted employee's ID")
+    private String employeeId;
+
+    @ApiModelProperty(notes = "The created employee")
+    private Employee employee;
+
+    @ApiModelProperty(
+            notes = "Number of employees after a refresh; 0 when the changes a resuming client missed are no longer"
+                    + " buffered and it should reload")
+    private Integer employeeCount;
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The fields of an {@link Employee} a client can ask for with {@code fields=}.
+ */
+public enum EmployeeField {
+    ID,
+    NAME,
+    SALARY,
+    AGE,
+    TITLE,
+    EMAIL;
+
+    public String jsonName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * JSONPath of the field inside a stored employee document.
+     */
+    public String jsonPath() {
+        return "$." + jsonName();
+    }
+
+    /**
+     * Parses a comma-separated list of field names. A missing or blank list means every field.
+     *
+     * @throws IllegalArgumentException on an unknown field name, or a list naming no field
+     */
+    public static Set<EmployeeField> parseList(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(EmployeeField.class);
+        }
+        Set<EmployeeField> parsed = EnumSet.noneOf(EmployeeField.class);
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .map(field -> EmployeeField.valueOf(field.toUpperCase(Locale.ROOT)))
+                .forEach(parsed::add);
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("No fields requested");
+        }
+        return parsed;
+    }
+
+    public static boolean isAll(Set<EmployeeField> fields) {
+        return fields.size() == values().length;
+    }
+
+    /**
+     * Copies only the requested fields of an employee.
+     */
+    public static Employee project(Employee employee, Set<EmployeeField> fields) {
+        if (isAll(fields)) {
+            return employee;
+        }
+        Employee projected = new Employee();
+        fields.forEach(field -> field.copy(employee, projected));
+        return projected;
+    }
+
+    /**
+     * Sets this field on an employee from its raw value (as returned by a search projection).
+     */
+    public void set(Employee employee, String value) {
+        switch (this) {
+            case ID -> employee.setId(value);
+            case NAME -> employee.setName(value);
+            case SALARY -> employee.setSalary(Integer.valueOf(value));
+            case AGE -> employee.setAge(Integer.valueOf(value));
+            case TITLE -> employee.setTitle(value);
+            case EMAIL -> employee.setEmail(value);
+        }
+    }
+
+    private void copy(Employee from, Employee to) {
+        switch (this) {
+            case ID -> to.setId(from.getId());
+            case NAME -> to.setName(from.getName());
+            case SALARY -> to.setSalary(from.getSalary());
+            case AGE -> to.setAge(from.getAge());
+            case TITLE -> to.setTitle(from.getTitle());
+            case EMAIL -> to.setEmail(from.getEmail());
+        }
+    }
+}
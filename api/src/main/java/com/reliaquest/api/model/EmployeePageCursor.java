@@ -0,0 +1,59 @@
+package com.reliaquest.api.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a sorted listing of employees: the sort value and ID of the last employee returned, so that the next
+ * page starts right after it whatever was added or removed in between. Clients see it only as an opaque, URL-safe
+ * token.
+ *
+ * <p>Employees are ordered by the sort key and then by ID. An employee whose sort value changes between two requests
+ * moves with it, so it may be missed or seen twice; the others are neither.
+ *
+ * @param value the last employee's {@link EmployeeSortKey#value sort value}; {@code null} at the start
+ * @param id    the last employee's ID; {@code null} at the start
+ */
+public record EmployeePageCursor(EmployeeSortKey sort, String value, String id) {
+
+    private static final String VERSION = "2";
+
+    public static EmployeePageCursor start(EmployeeSortKey sort) {
+        return new EmployeePageCursor(sort, null, null);
+    }
+
+    /**
+     * The position right after an employee, which must have its ID and sort field set.
+     */
+    public EmployeePageCursor after(Employee employee) {
+        return new EmployeePageCursor(sort, sort.value(employee), employee.getId());
+    }
+
+    public boolean isStart() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + sort.name() + (isStart() ? "" : ":" + id + ":" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static EmployeePageCursor decode(String token) {
+        // Employee IDs hold no ':', so the value, last, may.
+        String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 4);
+        if ((parts.length != 2 && parts.length != 4) || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Unrecognized cursor");
+        }
+        EmployeeSortKey sort = EmployeeSortKey.valueOf(parts[1]);
+        if (parts.length == 2) {
+            return start(sort);
+        }
+        if (sort != EmployeeSortKey.NAME) {
+            Integer.parseInt(parts[3]); // NumberFormatException is an IllegalArgumentException
+        }
+        return new EmployeePageCursor(sort, parts[3], parts[2]);
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.api.model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Orders a page of employees, ascending, with ties broken by ID. Names compare case-insensitively.
+ */
+public enum EmployeeSortKey {
+    NAME,
+    SALARY,
+    AGE;
+
+    public String fieldName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public EmployeeField field() {
+        return EmployeeField.valueOf(name());
+    }
+
+    /**
+     * The requested fields plus those a page needs to continue from its last employee: the ID and this key's field.
+     */
+    public Set<EmployeeField> withPositionFields(Set<EmployeeField> fields) {
+        Set<EmployeeField> withPosition = EnumSet.copyOf(fields);
+        withPosition.add(EmployeeField.ID);
+        withPosition.add(field());
+        return withPosition;
+    }
+
+    /**
+     * The employee's value for this key, as text: the name ({@code ""} if it has none), or the salary or age
+     * ({@code null} if unknown, in which case the employee is not listed in this order).
+     */
+    public String value(Employee employee) {
+        return switch (this) {
+            case NAME -> employee.getName() == null ? "" : employee.getName();
+            case SALARY -> employee.getSalary() == null ? null : String.valueOf(employee.getSalary());
+            case AGE -> employee.getAge() == null ? null : String.valueOf(employee.getAge());
+        };
+    }
+
+    /**
+     * @throws IllegalArgumentException on an unknown key
+     */
+    public static EmployeeSortKey parse(String sort) {
+        return valueOf(sort.trim().toUpperCase(Locale.ROOT));
+    }
+}
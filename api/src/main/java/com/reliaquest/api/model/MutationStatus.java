@@ -0,0 +1,55 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.annotations.ApiModelProperty;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a create or delete accepted in write-behind mode.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class MutationStatus {
+
+    public enum Operation {
+        CREATE,
+        DELETE
+    }
+
+    public enum State {
+        QUEUED,
+        SUCCEEDED,
+        FAILED
+    }
+
+    @ApiModelProperty(notes = "Identifier to poll the mutation's status with")
+    private String trackingId;
+
+    private Operation operation;
+
+    private State state;
+
+    @ApiModelProperty(notes = "The employee to delete, or the ID assigned to the created employee")
+    private String employeeId;
+
+    @ApiModelProperty(notes = "The created employee, once the upstream has accepted it")
+    private Employee employee;
+
+    @ApiModelProperty(notes = "Number of times the mutation was sent upstream")
+    private int attempts;
+
+    @ApiModelProperty(notes = "Why the last attempt failed")
+    private String error;
+
+    private Instant updatedAt;
+}
@@ -5,25 +5,37 @@ import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.rest.client.model.MockEmployee;
 import com.reliaquest.api.rest.client.model.MockResponse;
-import java.util.Collections;
-import java.util.List;
+import com.reliaquest.api.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 @Component("employeeApiClient")
 @Slf4j
 public class EmployeeApiClientV1 implements IEmployeeApiClient {
 
     private final WebClient webClient;
+    private final UpstreamRequestScheduler requestScheduler;
+    private final Duration getAllTimeout;
+    private final Duration writeTimeout;
+    private final Duration hedgeDelay;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Tracer tracer;
 
     // Inject all paths
     private final String getAllPath;
@@ -35,8 +47,30 @@ public class EmployeeApiClientV1 implements IEmployeeApiClient {
             @Value("${mock-employee-api.get-all-path}") String getAllPath,
             @Value("${mock-employee-api.create-path}") String createPath,
             @Value("${mock-employee-api.delete-path}") String deletePath,
-            WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+            WebClient.Builder webClientBuilder,
+            UpstreamQuota upstreamQuota,
+            UpstreamRequestScheduler requestScheduler,
+            MeterRegistry meterRegistry,
+            Tracer tracer,
+            @Value("${app.upstream-http.timeout-ms.get-all:30000}") long getAllTimeoutMillis,
+            @Value("${app.upstream-http.timeout-ms.write:5000}") long writeTimeoutMillis,
+            @Value("${app.upstream-http.hedge-delay-ms:0}") long hedgeDelayMillis) {
+        webClientBuilder.baseUrl(baseUrl).filter(upstreamQuota.filter());
+        if (tracer.isEnabled()) {
+            webClientBuilder.filter(tracer.propagation());
+        }
+        this.webClient = webClientBuilder.build();
+        this.tracer = tracer;
+        this.requestScheduler = requestScheduler;
+        this.getAllTimeout = Duration.ofMillis(getAllTimeoutMillis);
+        this.writeTimeout = Duration.ofMillis(writeTimeoutMillis);
+        this.hedgeDelay = Duration.ofMillis(hedgeDelayMillis);
+        this.hedgesSent = Counter.builder("upstream.request.hedges")
+                .description("Second get-all requests sent because the first was slower than the hedge delay")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder("upstream.request.hedges.won")
+                .description("Hedged get-all requests that answered before the first attempt")
+                .register(meterRegistry);
         this.getAllPath = getAllPath;
         this.createPath = createPath;
         this.deletePath = deletePath;
@@ -59,28 +93,27 @@ public class EmployeeApiClientV1 implements IEmployeeApiClient {
                 clientEmployee.getEmployeeEmail());
     }
 
+    /**
+     * Streams the upstream's employees as the response arrives (see {@link StreamingEmployeeDecoder}). Fails with a 504
+     * if the response stalls for longer than {@code app.upstream-http.timeout-ms.get-all}.
+     */
     public Flux<Employee> getAllEmployeesResponse() {
         log.info("Fetching all employees from path: {}", getAllPath);
 
-        return webClient
-                .get()
-                .uri(getAllPath)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<MockResponse<List<MockEmployee>>>() {})
-                // Explicitly specify the output type of flatMapMany: <Employee>
-                .<Employee>flatMapMany(mockResponse -> {
-                    log.debug("MockResponse status: {}", mockResponse.getStatus());
-                    List<MockEmployee> clientEmployees =
-                            Objects.requireNonNullElse(mockResponse.getData(), Collections.emptyList());
-                    log.debug("Number of employees fetched: {}", clientEmployees.size());
-                    if (clientEmployees.isEmpty()) {
-                        log.warn("No employees found in the response.");
-                    } else {
-                        log.info("Mapping {} client employees to Employee objects.", clientEmployees.size());
-                    }
-
-                    return Flux.fromIterable(clientEmployees).map(this::mapClientEmployeeToEmployee);
-                })
+        return hedged(
+                        UpstreamPriority.REFRESH,
+                        tracer.spanMany(
+                                "upstream get-all",
+                                StreamingEmployeeDecoder.decode(webClient
+                                                .get()
+                                                .uri(getAllPath)
+                                                .retrieve()
+                                                .bodyToFlux(DataBuffer.class))
+                                        .timeout(
+                                                getAllTimeout,
+                                                Flux.defer(() -> Flux.error(new ExternalApiException(
+                                                        "Employee API timed out",
+                                                        HttpStatus.GATEWAY_TIMEOUT.value()))))))
                 .onErrorResume(WebClientResponseException.class, e -> {
                     log.error("Downstream API error: {} {}", e.getStatusCode().value(), e.getResponseBodyAsString());
                     return Mono.error(new ExternalApiException(
@@ -92,12 +125,21 @@ public class EmployeeApiClientV1 implements IEmployeeApiClient {
     public Mono<Employee> createEmployee(CreateEmployeeInput input) {
         log.info("Creating employee via path: {}", createPath);
 
-        return webClient
-                .post()
-                .uri(createPath)
-                .bodyValue(input)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<MockResponse<MockEmployee>>() {})
+        return requestScheduler
+                .schedule(
+                        UpstreamPriority.INTERACTIVE,
+                        tracer.span(
+                                "upstream create",
+                                withTimeout(
+                                        webClient
+                                                .post()
+                                                .uri(createPath)
+                                                .bodyValue(input)
+                                                .retrieve()
+                                                .bodyToMono(
+                                                        new ParameterizedTypeReference<
+                                                                MockResponse<MockEmployee>>() {}),
+                                        writeTimeout)))
                 .<Employee>map(resp -> {
                     MockEmployee mockEmployee = resp.getData();
                     return mapClientEmployeeToEmployee(mockEmployee);
@@ -112,12 +154,19 @@ public class EmployeeApiClientV1 implements IEmployeeApiClient {
     public Mono<Boolean> deleteEmployeeByName(String name) {
         log.info("Deleting employee with name: {}", name);
 
-        return webClient
-                .method(HttpMethod.DELETE)
-                .uri(deletePath)
-                .bodyValue(Map.of("name", name))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<MockResponse<Boolean>>() {})
+        return requestScheduler
+                .schedule(
+                        UpstreamPriority.INTERACTIVE,
+                        tracer.span(
+                                "upstream delete",
+                                withTimeout(
+                                        webClient
+                                                .method(HttpMethod.DELETE)
+                                                .uri(deletePath)
+                                                .bodyValue(Map.of("name", name))
+                                                .retrieve()
+                                                .bodyToMono(new ParameterizedTypeReference<MockResponse<Boolean>>() {}),
+                                        writeTimeout)))
                 .map(resp -> resp.getData() != null && resp.getData())
                 .onErrorResume(WebClientResponseException.class, e -> {
                     log.error("Failed to delete employee with name: {}, error: {}", name, e.getMessage());
@@ -125,4 +174,48 @@ public class EmployeeApiClientV1 implements IEmployeeApiClient {
                             "Employee API error", e.getStatusCode().value()));
                 });
     }
+
+    // Bounds the whole exchange, body included, once a permit has been granted. A timeout is reported like a gateway
+    // timeout, so callers that retry 5xx responses retry it too.
+    private static <T> Mono<T> withTimeout(Mono<T> call, Duration timeout) {
+        return call.timeout(
+                timeout,
+                Mono.error(
+                        () -> new ExternalApiException("Employee API timed out", HttpStatus.GATEWAY_TIMEOUT.value())));
+    }
+
+    // Schedules an idempotent call, hedged: if the first attempt has not started answering within hedgeDelay of being
+    // granted its permit, a second one is sent and whichever emits first wins; the other is cancelled. Time spent
+    // queued for the permit does not count, as a hedge would only queue behind it. The hedge needs its own permit, and
+    // a hedge that is refused one, or fails before answering, leaves the answer to the first attempt.
+    private <T> Flux<T> hedged(UpstreamPriority priority, Flux<T> call) {
+        if (hedgeDelay.isZero()) {
+            return requestScheduler.scheduleMany(priority, call);
+        }
+        return Flux.defer(() -> {
+            AtomicBoolean answered = new AtomicBoolean();
+            Sinks.Empty<Void> started = Sinks.empty();
+            Flux<T> attempt = requestScheduler.scheduleMany(priority, Flux.defer(() -> {
+                started.tryEmitEmpty();
+                return call;
+            }));
+            Flux<T> hedge = started.asMono()
+                    .then(Mono.delay(hedgeDelay))
+                    .doOnNext(tick -> hedgesSent.increment())
+                    .thenMany(requestScheduler.scheduleMany(priority, call))
+                    .doOnNext(item -> {
+                        if (answered.compareAndSet(false, true)) {
+                            hedgesWon.increment();
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        if (answered.get()) {
+                            return Flux.error(e);
+                        }
+                        log.debug("Hedged request failed, waiting for the first attempt: {}", e.getMessage());
+                        return Flux.never();
+                    });
+            return Flux.firstWithSignal(attempt, hedge);
+        });
+    }
 }
@@ -0,0 +1,157 @@
+package com.reliaquest.api.rest.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+/**
+ * Decodes the get-all response, {@code {"data": [{"id": ..., "employee_name": ..., ...}, ...], "status": ...}}, with
+ * Jackson's non-blocking parser as the body arrives, and emits each employee as soon as its object closes. Employees
+ * are built straight from the {@code employee_*} fields. Only the current network chunk and the employee being read
+ * are held, so memory does not grow with the size of the response, and the body is not subject to the codecs'
+ * in-memory limit.
+ *
+ * <p>Unknown fields, and anything nested inside an employee, are skipped. A body that ends before its JSON does, or
+ * has no {@code data} array at all, is an error; an explicit {@code "data": null} is an empty list.
+ */
+@Slf4j
+final class StreamingEmployeeDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Nesting depth while inside the root object, the data array and one employee object.
+    private static final int ROOT = 1;
+    private static final int DATA = 2;
+    private static final int EMPLOYEE = 3;
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private int depth;
+    private String rootField;
+    private boolean inData;
+    private boolean sawData;
+    private Employee.EmployeeBuilder employee;
+    private String employeeField;
+    private int decoded;
+
+    private StreamingEmployeeDecoder() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new DecodingException("Could not create JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    static Flux<Employee> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+                    StreamingEmployeeDecoder decoder = new StreamingEmployeeDecoder();
+                    return body.concatMapIterable(decoder::feed)
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(decoder.endOfInput())));
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private List<Employee> feed(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            return readAvailable();
+        } catch (IOException e) {
+            throw new DecodingException("Malformed employee list: " + e.getMessage(), e);
+        }
+    }
+
+    private List<Employee> endOfInput() {
+        feeder.endOfInput();
+        try {
+            List<Employee> employees = readAvailable();
+            if (depth != 0) {
+                throw new DecodingException("Employee list ended before its JSON did");
+            }
+            if (!sawData) {
+                throw new DecodingException("Employee list has no data array");
+            }
+            log.debug("Decoded {} employees.", decoded);
+            return employees;
+        } catch (IOException e) {
+            throw new DecodingException("Malformed employee list: " + e.getMessage(), e);
+        } finally {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.debug("Could not close JSON parser: {}", e.getMessage());
+            }
+        }
+    }
+
+    private List<Employee> readAvailable() throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    if (depth == ROOT && token == JsonToken.START_ARRAY && "data".equals(rootField)) {
+                        inData = true;
+                        sawData = true;
+                    } else if (inData && depth == DATA && token == JsonToken.START_OBJECT) {
+                        employee = Employee.builder();
+                    }
+                    depth++;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (employee != null && depth == DATA) {
+                        employees.add(employee.build());
+                        employee = null;
+                    } else if (inData && depth == ROOT) {
+                        inData = false;
+                    }
+                }
+                case FIELD_NAME -> {
+                    if (depth == ROOT) {
+                        rootField = parser.currentName();
+                    } else if (employee != null && depth == EMPLOYEE) {
+                        employeeField = parser.currentName();
+                    }
+                }
+                default -> {
+                    if (employee != null && depth == EMPLOYEE) {
+                        readField(token);
+                    } else if (depth == ROOT && token == JsonToken.VALUE_NULL && "data".equals(rootField)) {
+                        sawData = true;
+                    }
+                }
+            }
+        }
+        decoded += employees.size();
+        return employees;
+    }
+
+    private void readField(JsonToken token) throws IOException {
+        boolean isNull = token == JsonToken.VALUE_NULL;
+        switch (employeeField) {
+            case "id" -> employee.id(isNull ? null : parser.getValueAsString());
+            case "employee_name" -> employee.name(isNull ? null : parser.getValueAsString());
+            case "employee_salary" -> employee.salary(isNull ? null : parser.getValueAsInt());
+            case "employee_age" -> employee.age(isNull ? null : parser.getValueAsInt());
+            case "employee_title" -> employee.title(isNull ? null : parser.getValueAsString());
+            case "employee_email" -> employee.email(isNull ? null : parser.getValueAsString());
+            default -> {
+                // Not an employee field.
+            }
+        }
+    }
+}
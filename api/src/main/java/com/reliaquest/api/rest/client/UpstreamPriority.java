@@ -0,0 +1,23 @@
+package com.reliaquest.api.rest.client;
+
+/**
+ * Classes of employee API calls, highest priority first. See {@link UpstreamRequestScheduler}.
+ */
+public enum UpstreamPriority {
+
+    /**
+     * A user is waiting on the response: synchronous creates and deletes.
+     */
+    INTERACTIVE,
+
+    /**
+     * The cache refresh. It can wait, but a stale cache is visible to every reader.
+     */
+    REFRESH,
+
+    /**
+     * Work that can always be retried later, such as write-behind drains. Only gets the permits not reserved for the
+     * classes above, so it runs at about one call per refill once the bucket is down to its reserve.
+     */
+    PREFETCH
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.rest.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalDouble;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * What this node knows about its remaining upstream rate-limit budget, learned from the responses the employee API
+ * sends: {@code RateLimit-Remaining}/{@code RateLimit-Limit} (or their {@code X-} variants) when present, and
+ * {@code 429 Too Many Requests} with an optional {@code Retry-After}.
+ */
+@Slf4j
+@Component
+public class UpstreamQuota {
+
+    static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(60);
+
+    private final Clock clock;
+    private volatile Instant throttledUntil = Instant.EPOCH;
+    private volatile double remainingFraction = Double.NaN;
+
+    public UpstreamQuota() {
+        this(Clock.systemUTC());
+    }
+
+    UpstreamQuota(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Records every response of the {@code WebClient} it is added to.
+     */
+    public ExchangeFilterFunction filter() {
+        return ExchangeFilterFunction.ofResponseProcessor(response -> {
+            record(response.statusCode().value(), response.headers().asHttpHeaders());
+            return Mono.just(response);
+        });
+    }
+
+    void record(int status, HttpHeaders headers) {
+        Long remaining = firstLong(headers, "RateLimit-Remaining", "X-RateLimit-Remaining");
+        Long limit = firstLong(headers, "RateLimit-Limit", "X-RateLimit-Limit");
+        if (remaining != null && limit != null && limit > 0) {
+            remainingFraction = Math.min(1.0, (double) remaining / limit);
+        }
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            Long retryAfterSeconds = firstLong(headers, HttpHeaders.RETRY_AFTER);
+            Duration retryAfter =
+                    retryAfterSeconds != null ? Duration.ofSeconds(retryAfterSeconds) : DEFAULT_RETRY_AFTER;
+            throttledUntil = clock.instant().plus(retryAfter);
+            log.warn("Employee API is throttling this node for {} s.", retryAfter.toSeconds());
+        }
+    }
+
+    /**
+     * How long the employee API has asked this node to back off; zero when it is not throttling.
+     */
+    public Duration throttledFor() {
+        Duration left = Duration.between(clock.instant(), throttledUntil);
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    /**
+     * Share of the rate-limit window still available, as of the last response that carried rate-limit headers.
+     */
+    public OptionalDouble remainingFraction() {
+        double fraction = remainingFraction;
+        return Double.isNaN(fraction) ? OptionalDouble.empty() : OptionalDouble.of(fraction);
+    }
+
+    private static Long firstLong(HttpHeaders headers, String... names) {
+        for (String name : names) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                try {
+                    return Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring non-numeric {} header: {}", name, value);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,369 @@
+package com.reliaquest.api.rest.client;
+
+import com.reliaquest.api.exception.ExternalApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Shares this node's employee API budget between {@link UpstreamPriority priority classes}. The budget is a token
+ * bucket of {@code capacity} permits, refilled one every {@code refill-interval-ms}, and empty while
+ * {@link UpstreamQuota} reports that the API is throttling us.
+ *
+ * <p>Each call takes one permit. Waiting calls are served strictly by priority, and in arrival order within a class.
+ * The last {@code reserved.interactive} permits are kept for {@link UpstreamPriority#INTERACTIVE} calls, and the
+ * {@code reserved.refresh} before them for refreshes, so background work cannot drain the bucket a user needs. A call
+ * that has waited {@code max-wait-ms} for its class, or finds {@code max-queue} calls of its class already waiting, is
+ * rejected with a 429 {@link ExternalApiException}, just as if the API had throttled it.
+ *
+ * <p>The class defaults to the kind of call; callers can override it for a whole pipeline with
+ * {@code contextWrite(UpstreamRequestScheduler.priority(...))}.
+ */
+@Slf4j
+@Component
+public class UpstreamRequestScheduler {
+
+    private final UpstreamQuota upstreamQuota;
+    private final LongSupplier nanoTime;
+    private final Scheduler timer;
+    private final boolean enabled;
+    private final double capacity;
+    private final long refillIntervalNanos;
+    private final int maxQueue;
+    private final Map<UpstreamPriority, Integer> reservedAbove = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, Duration> maxWait = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, Timer> queueTimes = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, Counter> rejections = new EnumMap<>(UpstreamPriority.class);
+
+    private double permits;
+    private long lastRefillNanos;
+    private Disposable pendingDrain;
+
+    @Autowired
+    public UpstreamRequestScheduler(
+            UpstreamQuota upstreamQuota,
+            MeterRegistry meterRegistry,
+            @Value("${app.upstream-budget.enabled:true}") boolean enabled,
+            @Value("${app.upstream-budget.capacity:5}") int capacity,
+            @Value("${app.upstream-budget.refill-interval-ms:12000}") long refillIntervalMillis,
+            @Value("${app.upstream-budget.reserved.interactive:1}") int reservedInteractive,
+            @Value("${app.upstream-budget.reserved.refresh:1}") int reservedRefresh,
+            @Value("${app.upstream-budget.max-wait-ms.interactive:10000}") long maxWaitInteractiveMillis,
+            @Value("${app.upstream-budget.max-wait-ms.refresh:120000}") long maxWaitRefreshMillis,
+            @Value("${app.upstream-budget.max-wait-ms.prefetch:15000}") long maxWaitPrefetchMillis,
+            @Value("${app.upstream-budget.max-queue:100}") int maxQueue) {
+        this(
+                upstreamQuota,
+                meterRegistry,
+                System::nanoTime,
+                Schedulers.parallel(),
+                enabled,
+                capacity,
+                refillIntervalMillis,
+                reservedInteractive,
+                reservedRefresh,
+                Map.of(
+                        UpstreamPriority.INTERACTIVE, Duration.ofMillis(maxWaitInteractiveMillis),
+                        UpstreamPriority.REFRESH, Duration.ofMillis(maxWaitRefreshMillis),
+                        UpstreamPriority.PREFETCH, Duration.ofMillis(maxWaitPrefetchMillis)),
+                maxQueue);
+    }
+
+    UpstreamRequestScheduler(
+            UpstreamQuota upstreamQuota,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoTime,
+            Scheduler timer,
+            boolean enabled,
+            int capacity,
+            long refillIntervalMillis,
+            int reservedInteractive,
+            int reservedRefresh,
+            Map<UpstreamPriority, Duration> maxWait,
+            int maxQueue) {
+        this.upstreamQuota = upstreamQuota;
+        this.nanoTime = nanoTime;
+        this.timer = timer;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.refillIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refillIntervalMillis);
+        this.maxQueue = maxQueue;
+        this.maxWait.putAll(maxWait);
+        this.permits = capacity;
+        this.lastRefillNanos = nanoTime.getAsLong();
+        reservedAbove.put(UpstreamPriority.INTERACTIVE, 0);
+        reservedAbove.put(UpstreamPriority.REFRESH, reservedInteractive);
+        reservedAbove.put(UpstreamPriority.PREFETCH, reservedInteractive + reservedRefresh);
+
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            final var queue = new ArrayDeque<Waiter>();
+            queues.put(priority, queue);
+            final var tag = priority.name().toLowerCase();
+            queueTimes.put(
+                    priority,
+                    Timer.builder("upstream.request.queue.time")
+                            .description("Time employee API calls waited for a permit")
+                            .tag("priority", tag)
+                            .register(meterRegistry));
+            rejections.put(
+                    priority,
+                    Counter.builder("upstream.request.rejected")
+                            .description("Employee API calls rejected because the budget was exhausted")
+                            .tag("priority", tag)
+                            .register(meterRegistry));
+            Gauge.builder("upstream.request.queued", this, scheduler -> scheduler.queued(priority))
+                    .description("Employee API calls waiting for a permit")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("upstream.request.budget.permits", this, UpstreamRequestScheduler::availablePermits)
+                .description("Permits left in this node's employee API budget")
+                .register(meterRegistry);
+        if (enabled) {
+            log.info(
+                    "Upstream budget: {} permits, one more every {} ms, {} reserved for interactive and {} for refresh"
+                            + " calls.",
+                    capacity,
+                    refillIntervalMillis,
+                    reservedInteractive,
+                    reservedRefresh);
+        }
+    }
+
+    /**
+     * Sets the priority class of every employee API call made by the pipeline it is written into.
+     */
+    public static Function<Context, Context> priority(UpstreamPriority priority) {
+        return context -> context.put(UpstreamPriority.class, priority);
+    }
+
+    /**
+     * Subscribes to {@code call} once a permit is granted to its class: the one set with {@link #priority}, or else
+     * {@code defaultPriority}.
+     */
+    public <T> Mono<T> schedule(UpstreamPriority defaultPriority, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.deferContextual(context -> acquire(priorityOf(context, defaultPriority)))
+                .then(call);
+    }
+
+    /**
+     * Like {@link #schedule(UpstreamPriority, Mono)}, for a streamed response.
+     */
+    public <T> Flux<T> scheduleMany(UpstreamPriority defaultPriority, Flux<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.deferContextual(context -> acquire(priorityOf(context, defaultPriority)))
+                .thenMany(call);
+    }
+
+    Mono<Void> acquire(UpstreamPriority priority) {
+        return Mono.create(sink -> enqueue(new Waiter(priority, sink, nanoTime.getAsLong())));
+    }
+
+    /**
+     * Grants queued calls the permits refilled or freed since the last drain.
+     */
+    void drain() {
+        final List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            pendingDrain = null;
+            refill();
+            for (UpstreamPriority priority : UpstreamPriority.values()) {
+                final var queue = queues.get(priority);
+                while (!queue.isEmpty() && canGrant(priority)) {
+                    final var waiter = queue.poll();
+                    waiter.take();
+                    permits -= 1;
+                    granted.add(waiter);
+                }
+            }
+            scheduleDrainIfWaiting();
+        }
+        granted.forEach(this::grant);
+    }
+
+    synchronized double availablePermits() {
+        refill();
+        return upstreamQuota.throttledFor().isZero() ? permits : 0;
+    }
+
+    synchronized int queued(UpstreamPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    private void enqueue(Waiter waiter) {
+        final var priority = waiter.priority;
+        final var wait = maxWait.getOrDefault(priority, Duration.ZERO);
+        waiter.sink.onCancel(() -> cancel(waiter));
+        boolean granted = false;
+        String rejection = null;
+        synchronized (this) {
+            if (waiter.state != WaiterState.WAITING) {
+                return;
+            }
+            refill();
+            if (!waitingAtOrAbove(priority) && canGrant(priority)) {
+                waiter.take();
+                permits -= 1;
+                granted = true;
+            } else if (wait.isZero()) {
+                waiter.state = WaiterState.DROPPED;
+                rejection = "no permit free";
+            } else if (queues.get(priority).size() >= maxQueue) {
+                waiter.state = WaiterState.DROPPED;
+                rejection = maxQueue + " calls already waiting";
+            } else {
+                queues.get(priority).add(waiter);
+                scheduleDrainIfWaiting();
+                waiter.timeout = timer.schedule(() -> expire(waiter, wait), wait.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (granted) {
+            grant(waiter);
+        } else if (rejection != null) {
+            waiter.sink.error(rejection(priority, rejection));
+        }
+    }
+
+    /**
+     * Rejects a call still waiting after its class's {@code max-wait-ms}. Runs under the same lock as {@link #drain},
+     * so a call is either granted or rejected, never both.
+     */
+    private void expire(Waiter waiter, Duration wait) {
+        synchronized (this) {
+            if (waiter.state != WaiterState.WAITING) {
+                return;
+            }
+            queues.get(waiter.priority).remove(waiter);
+            waiter.state = WaiterState.DROPPED;
+        }
+        waiter.sink.error(rejection(waiter.priority, "waited " + wait.toMillis() + " ms"));
+    }
+
+    /**
+     * Drops a cancelled call. A call cancelled after it was granted, but before the grant reached it, gives the permit
+     * back for the next waiter.
+     */
+    private void cancel(Waiter waiter) {
+        synchronized (this) {
+            final var state = waiter.state;
+            waiter.state = WaiterState.DROPPED;
+            if (state == WaiterState.WAITING) {
+                queues.get(waiter.priority).remove(waiter);
+                if (waiter.timeout != null) {
+                    waiter.timeout.dispose();
+                }
+                return;
+            }
+            if (state != WaiterState.GRANTED) {
+                return;
+            }
+            permits = Math.min(capacity, permits + 1);
+        }
+        drain();
+    }
+
+    private void grant(Waiter waiter) {
+        queueTimes.get(waiter.priority).record(nanoTime.getAsLong() - waiter.enqueuedNanos, TimeUnit.NANOSECONDS);
+        waiter.sink.success();
+    }
+
+    private ExternalApiException rejection(UpstreamPriority priority, String reason) {
+        rejections.get(priority).increment();
+        log.warn("Rejected {} employee API call, upstream budget exhausted: {}.", priority, reason);
+        return new ExternalApiException("Upstream request budget exhausted", HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private boolean waitingAtOrAbove(UpstreamPriority priority) {
+        for (UpstreamPriority other : UpstreamPriority.values()) {
+            if (other.compareTo(priority) <= 0 && !queues.get(other).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean canGrant(UpstreamPriority priority) {
+        return upstreamQuota.throttledFor().isZero() && permits >= 1 + reservedAbove.get(priority);
+    }
+
+    private void refill() {
+        final var now = nanoTime.getAsLong();
+        permits = Math.min(capacity, permits + (double) (now - lastRefillNanos) / refillIntervalNanos);
+        lastRefillNanos = now;
+    }
+
+    private void scheduleDrainIfWaiting() {
+        if (pendingDrain != null || queues.values().stream().allMatch(ArrayDeque::isEmpty)) {
+            return;
+        }
+        final var throttledFor = upstreamQuota.throttledFor();
+        final long delayNanos = throttledFor.isZero()
+                ? (long) Math.ceil((Math.floor(permits) + 1 - permits) * refillIntervalNanos)
+                : throttledFor.toNanos();
+        pendingDrain = timer.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static UpstreamPriority priorityOf(ContextView context, UpstreamPriority defaultPriority) {
+        return context.getOrDefault(UpstreamPriority.class, defaultPriority);
+    }
+
+    private enum WaiterState {
+        WAITING,
+        GRANTED,
+        DROPPED
+    }
+
+    /**
+     * A call waiting for a permit. Its state and timeout are guarded by the scheduler's lock.
+     */
+    private static final class Waiter {
+
+        private final UpstreamPriority priority;
+        private final MonoSink<Void> sink;
+        private final long enqueuedNanos;
+        private WaiterState state = WaiterState.WAITING;
+        private Disposable timeout;
+
+        private Waiter(UpstreamPriority priority, MonoSink<Void> sink, long enqueuedNanos) {
+            this.priority = priority;
+            this.sink = sink;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        private void take() {
+            state = WaiterState.GRANTED;
+            if (timeout != null) {
+                timeout.dispose();
+            }
+        }
+    }
+}
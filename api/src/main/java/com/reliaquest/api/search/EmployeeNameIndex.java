@@ -0,0 +1,283 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.cluster.EmployeeChangeEvent;
+import com.reliaquest.api.cluster.IEmployeeChangeListener;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeNameMatch;
+import com.reliaquest.api.store.IEmployeeStore;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Node-local index of employee names for type-ahead and typo-tolerant search. Lookups never touch the store.
+ * <ul>
+ *   <li>Autocomplete: every name is stored in a {@link RadixTrie} under itself and under each of its later words, so
+ *   {@code "dyl"} finds "Bob Dylan".</li>
+ *   <li>Fuzzy search: the distinct words of all names form a second trie, searched by edit distance, each word with
+ *   the IDs of the employees whose name contains it.</li>
+ * </ul>
+ *
+ * <p>Creates and deletes are applied as they are published; a refresh rebuilds the index from the store.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.name-index.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeNameIndex implements IEmployeeChangeListener {
+
+    private final IEmployeeStore employeeStore;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Indexes indexes = new Indexes(0);
+    // Rebuilds are numbered as they start reading the store, and can overlap (startup and the first refresh both start
+    // one). Each running rebuild collects the changes seen meanwhile, to replay onto what it read. A rebuild installs
+    // its index only if no later-started one has been installed, so a slow read cannot undo a newer one.
+    private long lastRebuildStarted;
+    private long installedRebuild;
+    private final Map<Long, List<EmployeeChangeEvent>> changesByRunningRebuild = new HashMap<>();
+
+    public EmployeeNameIndex(IEmployeeStore employeeStore) {
+        this.employeeStore = employeeStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild().subscribe();
+    }
+
+    @Override
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        switch (event.type()) {
+            case CREATED, DELETED -> {
+                lock.writeLock().lock();
+                try {
+                    indexes.apply(event);
+                    changesByRunningRebuild.values().forEach(changes -> changes.add(event));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            case REFRESHED -> rebuild().subscribe();
+        }
+    }
+
+    /**
+     * Employees whose name, or a word in it, starts with {@code prefix} (case-insensitive), ordered alphabetically by
+     * the matched part.
+     */
+    public List<EmployeeNameMatch> autocomplete(String prefix, int limit) {
+        Map<String, EmployeeNameMatch> matches = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            indexes.trie.visitPrefix(normalize(prefix), match -> {
+                matches.putIfAbsent(match.getId(), match);
+                return matches.size() < limit;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Employees with a name word within {@code maxDistance} edits of every word of {@code query}, closest first. An
+     * employee's distance is the sum, over the query words, of the distance to its closest name word.
+     */
+    public List<EmployeeNameMatch> fuzzySearch(String query, int maxDistance, int limit) {
+        Set<String> queryWords = new LinkedHashSet<>(wordsOf(normalize(query)));
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> distanceById = null;
+            for (String queryWord : queryWords) {
+                Map<String, Integer> wordDistanceById = new HashMap<>();
+                indexes.words.visitWithinDistance(queryWord, maxDistance, (ids, distance) -> {
+                    for (String id : ids) {
+                        wordDistanceById.merge(id, distance, Math::min);
+                    }
+                });
+                if (distanceById == null) {
+                    distanceById = wordDistanceById;
+                } else {
+                    // Every query word must match; keep the intersection and add up the distances.
+                    distanceById.keySet().retainAll(wordDistanceById.keySet());
+                    distanceById.replaceAll((id, distance) -> distance + wordDistanceById.get(id));
+                }
+            }
+            Map<String, String> namesById = indexes.namesById;
+            return distanceById.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue()
+                            .thenComparing(entry -> namesById.get(entry.getKey()), Comparator.naturalOrder()))
+                    .limit(limit)
+                    .map(entry -> new EmployeeNameMatch(entry.getKey(), namesById.get(entry.getKey())))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with the store's current content, unless a rebuild started later has already done so.
+     */
+    Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+                    long rebuild = startRebuild();
+                    return employeeStore
+                            .findAll()
+                            .collectList()
+                            .doOnNext(employees -> install(rebuild, employees))
+                            .doFinally(signal -> endRebuild(rebuild));
+                })
+                .doOnError(e -> log.error("Failed to rebuild employee name index: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private long startRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesByRunningRebuild.put(++lastRebuildStarted, new ArrayList<>());
+            return lastRebuildStarted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void install(long rebuild, List<Employee> employees) {
+        Indexes rebuilt = new Indexes(employees.size());
+        employees.forEach(employee -> rebuilt.add(employee.getId(), employee.getName()));
+        lock.writeLock().lock();
+        try {
+            if (rebuild < installedRebuild) {
+                log.debug("Dropped name index rebuild {}: rebuild {} read the store later.", rebuild, installedRebuild);
+                return;
+            }
+            changesByRunningRebuild.get(rebuild).forEach(rebuilt::apply);
+            indexes = rebuilt;
+            installedRebuild = rebuild;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info(
+                "Rebuilt employee name index with {} names and {} distinct words.",
+                rebuilt.namesById.size(),
+                rebuilt.words.size());
+    }
+
+    // Runs however the rebuild ends, cancellation included.
+    private void endRebuild(long rebuild) {
+        lock.writeLock().lock();
+        try {
+            changesByRunningRebuild.remove(rebuild);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // "Mary Ann Smith" -> "mary ann smith", "ann smith", "smith"
+    private static List<String> prefixKeysOf(String normalizedName) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(normalizedName);
+        for (int i = normalizedName.indexOf(' '); i >= 0; i = normalizedName.indexOf(' ', i + 1)) {
+            keys.add(normalizedName.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private static List<String> wordsOf(String normalizedText) {
+        return normalizedText.isEmpty() ? List.of() : List.of(normalizedText.split(" "));
+    }
+
+    // Lower case, words separated by single spaces.
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (String word : text.toLowerCase(Locale.ROOT).split(" ")) {
+            if (!word.isBlank()) {
+                if (!normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(word.strip());
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * The structures swapped as one on a rebuild. Guarded by the index's lock.
+     */
+    private static final class Indexes {
+
+        private final Map<String, String> namesById;
+        private final RadixTrie<EmployeeNameMatch> trie = new RadixTrie<>();
+        private final Map<String, Set<String>> idsByWord = new HashMap<>();
+        // Each distinct word once, with its entry of idsByWord as the value. A word goes when its last employee does.
+        private final RadixTrie<Set<String>> words = new RadixTrie<>();
+
+        private Indexes(int expectedSize) {
+            this.namesById = new HashMap<>(Math.max(16, expectedSize * 2));
+        }
+
+        private void apply(EmployeeChangeEvent event) {
+            remove(event.employeeId());
+            if (event.type() == EmployeeChangeEvent.Type.CREATED) {
+                add(event.employeeId(), event.employee().getName());
+            }
+        }
+
+        private void add(String id, String name) {
+            if (id == null || name == null) {
+                return;
+            }
+            namesById.put(id, name);
+            String normalizedName = normalize(name);
+            EmployeeNameMatch match = new EmployeeNameMatch(id, name);
+            for (String key : prefixKeysOf(normalizedName)) {
+                trie.put(key, match);
+            }
+            for (String word : wordsOf(normalizedName)) {
+                idsByWord
+                        .computeIfAbsent(word, w -> {
+                            Set<String> ids = new HashSet<>(2);
+                            words.put(w, ids);
+                            return ids;
+                        })
+                        .add(id);
+            }
+        }
+
+        private void remove(String id) {
+            String name = namesById.remove(id);
+            if (name == null) {
+                return;
+            }
+            String normalizedName = normalize(name);
+            EmployeeNameMatch match = new EmployeeNameMatch(id, name);
+            for (String key : prefixKeysOf(normalizedName)) {
+                trie.remove(key, match);
+            }
+            for (String word : wordsOf(normalizedName)) {
+                Set<String> ids = idsByWord.get(word);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    idsByWord.remove(word);
+                    words.remove(word, ids);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.reliaquest.api.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Compressed prefix tree: each edge holds a run of characters instead of a single one, so a million names take about
+ * as many nodes as they have distinct branch points. Several values may share a key. Not thread-safe.
+ */
+final class RadixTrie<V> {
+
+    private final Node<V> root = new Node<>("");
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void put(String key, V value) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node<>(key.substring(i));
+                node.putChild(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge at the point where the keys diverge.
+                Node<V> branch = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                branch.putChild(child);
+                node.putChild(branch);
+                child = branch;
+            }
+            node = child;
+            i += common;
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    boolean remove(String key, V value) {
+        Deque<Node<V>> path = new ArrayDeque<>();
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return false;
+            }
+            path.push(node);
+            node = child;
+            i += child.label.length();
+        }
+        if (node.values == null || !node.values.remove(value)) {
+            return false;
+        }
+        size--;
+        if (node.values.isEmpty()) {
+            node.values = null;
+        }
+        prune(node, path);
+        return true;
+    }
+
+    /**
+     * Visits the values under {@code prefix} in key order until {@code visitor} returns {@code false}.
+     */
+    void visitPrefix(String prefix, Predicate<V> visitor) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<V> child = node.child(prefix.charAt(i));
+            if (child == null) {
+                return;
+            }
+            int remaining = prefix.length() - i;
+            if (remaining <= child.label.length()) {
+                if (!child.label.startsWith(prefix.substring(i))) {
+                    return;
+                }
+            } else if (!prefix.startsWith(child.label, i)) {
+                return;
+            }
+            node = child;
+            i += child.label.length();
+        }
+        visit(node, visitor);
+    }
+
+    /**
+     * Visits the values whose key is within {@code maxDistance} Levenshtein edits of {@code query}. Walks the trie
+     * carrying one row of the edit-distance table per character, and abandons a branch as soon as every entry of its
+     * row exceeds {@code maxDistance}: in effect a Levenshtein automaton run over the sorted keys.
+     */
+    void visitWithinDistance(String query, int maxDistance, DistanceVisitor<V> visitor) {
+        int[] row = new int[query.length() + 1];
+        for (int j = 0; j < row.length; j++) {
+            row[j] = j;
+        }
+        if (root.values != null && row[query.length()] <= maxDistance) {
+            root.values.forEach(value -> visitor.visit(value, row[query.length()]));
+        }
+        for (int i = 0; i < root.childCount; i++) {
+            visitWithinDistance(root.children[i], query, row, maxDistance, visitor);
+        }
+    }
+
+    private static <V> void visitWithinDistance(
+            Node<V> node, String query, int[] parentRow, int maxDistance, DistanceVisitor<V> visitor) {
+        int n = query.length();
+        int[] row = parentRow;
+        for (int k = 0; k < node.label.length(); k++) {
+            char c = node.label.charAt(k);
+            int[] next = new int[n + 1];
+            next[0] = row[0] + 1;
+            int rowMin = next[0];
+            for (int j = 1; j <= n; j++) {
+                int substitution = row[j - 1] + (c == query.charAt(j - 1) ? 0 : 1);
+                next[j] = Math.min(substitution, Math.min(row[j], next[j - 1]) + 1);
+                rowMin = Math.min(rowMin, next[j]);
+            }
+            if (rowMin > maxDistance) {
+                return;
+            }
+            row = next;
+        }
+        int distance = row[n];
+        if (node.values != null && distance <= maxDistance) {
+            node.values.forEach(value -> visitor.visit(value, distance));
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            visitWithinDistance(node.children[i], query, row, maxDistance, visitor);
+        }
+    }
+
+    @FunctionalInterface
+    interface DistanceVisitor<V> {
+        void visit(V value, int distance);
+    }
+
+    private static <V> boolean visit(Node<V> node, Predicate<V> visitor) {
+        if (node.values != null) {
+            for (V value : node.values) {
+                if (!visitor.test(value)) {
+                    return false;
+                }
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            if (!visit(node.children[i], visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Drops nodes left without values or children, and merges a valueless node into its only child.
+    private static <V> void prune(Node<V> node, Deque<Node<V>> path) {
+        while (!path.isEmpty()) {
+            Node<V> parent = path.pop();
+            if (node.values == null && node.childCount == 0) {
+                parent.removeChild(node.label.charAt(0));
+            } else if (node.values == null && node.childCount == 1) {
+                Node<V> only = node.children[0];
+                only.label = node.label + only.label;
+                parent.putChild(only);
+                return;
+            } else {
+                return;
+            }
+            node = parent;
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Children are kept as parallel arrays sorted by the first character of their label, which costs a fraction of a
+     * map per node and still lets {@link #visit} walk them in key order.
+     */
+    private static final class Node<V> {
+
+        private static final char[] NO_KEYS = new char[0];
+
+        private String label;
+        private char[] childKeys = NO_KEYS;
+        private Node<V>[] children;
+        private int childCount;
+        private List<V> values;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node<V> child(char key) {
+            int index = Arrays.binarySearch(childKeys, 0, childCount, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void putChild(Node<V> child) {
+            char key = child.label.charAt(0);
+            int index = Arrays.binarySearch(childKeys, 0, childCount, key);
+            if (index >= 0) {
+                children[index] = child;
+                return;
+            }
+            index = -index - 1;
+            if (childCount == childKeys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                childKeys = Arrays.copyOf(childKeys, capacity);
+                children = children == null ? new Node[capacity] : Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(childKeys, index, childKeys, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            childKeys[index] = key;
+            children[index] = child;
+            childCount++;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(childKeys, 0, childCount, key);
+            if (index >= 0) {
+                System.arraycopy(childKeys, index + 1, childKeys, index, childCount - index - 1);
+                System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+                children[--childCount] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.ExternalApiException;
+import com.reliaquest.api.rest.client.UpstreamQuota;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalDouble;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schedules the cache refresh, starting at {@code app.cache.refresh-interval-ms} and adjusting the interval after each
+ * refresh this node runs:
+ * <ul>
+ *   <li>halved when more than {@code high-change-ratio} of the employees changed since the previous refresh, and
+ *   stretched by half when nothing changed;</li>
+ *   <li>doubled when the employee API throttled us, and at least as long as its {@code Retry-After};</li>
+ *   <li>doubled when the API reports less than {@code low-quota-ratio} of its rate-limit window left.</li>
+ * </ul>
+ * The interval stays within {@code [min-interval-ms, max-interval-ms]}, and each run is moved by up to
+ * {@code jitter} of it, so that nodes and restarts do not line up. With {@code enabled: false} the interval is fixed.
+ *
+ * <p>The refresh runs asynchronously, so its outcome shapes the interval after the next one. The current interval is
+ * published as the {@code employee.cache.refresh.interval} gauge.
+ */
+@Slf4j
+@Component
+public class AdaptiveRefreshScheduler implements SchedulingConfigurer {
+
+    private final EmployeeService employeeService;
+    private final UpstreamQuota upstreamQuota;
+
+    private final boolean adaptive;
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+    private final double jitter;
+    private final double highChangeRatio;
+    private final double lowQuotaRatio;
+
+    private final AtomicLong intervalMillis;
+    private final AtomicLong lastChangedPermille = new AtomicLong(-1);
+
+    public AdaptiveRefreshScheduler(
+            EmployeeService employeeService,
+            UpstreamQuota upstreamQuota,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.refresh-interval-ms:300000}") long intervalMillis,
+            @Value("${app.cache.adaptive-refresh.enabled:true}") boolean adaptive,
+            @Value("${app.cache.adaptive-refresh.min-interval-ms:30000}") long minIntervalMillis,
+            @Value("${app.cache.adaptive-refresh.max-interval-ms:1800000}") long maxIntervalMillis,
+            @Value("${app.cache.adaptive-refresh.jitter:0.1}") double jitter,
+            @Value("${app.cache.adaptive-refresh.high-change-ratio:0.01}") double highChangeRatio,
+            @Value("${app.cache.adaptive-refresh.low-quota-ratio:0.2}") double lowQuotaRatio) {
+        this.employeeService = employeeService;
+        this.upstreamQuota = upstreamQuota;
+        this.adaptive = adaptive;
+        this.minIntervalMillis = adaptive ? minIntervalMillis : intervalMillis;
+        this.maxIntervalMillis = adaptive ? maxIntervalMillis : intervalMillis;
+        this.jitter = adaptive ? jitter : 0.0;
+        this.highChangeRatio = highChangeRatio;
+        this.lowQuotaRatio = lowQuotaRatio;
+        this.intervalMillis = new AtomicLong(clamp(intervalMillis));
+
+        Gauge.builder("employee.cache.refresh.interval", this.intervalMillis, AtomicLong::get)
+                .description("Interval the refresh scheduler has settled on, before jitter")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("employee.cache.refresh.changed.ratio", lastChangedPermille, p -> p.get() / 1000.0)
+                .description("Share of employees changed between this node's last two refreshes, -0.001 if unknown")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addTriggerTask(this::refresh, this::nextExecution);
+    }
+
+    void refresh() {
+        employeeService.refreshCache().subscribe(this::onOutcome);
+    }
+
+    Instant nextExecution(TriggerContext triggerContext) {
+        Instant last = triggerContext.lastActualExecution();
+        // @PostConstruct does the initial load, so the first run waits a full interval too.
+        Instant from = last != null ? last : Instant.now();
+        return from.plusMillis(jittered(intervalMillis.get()));
+    }
+
+    void onOutcome(RefreshOutcome outcome) {
+        if (!Double.isNaN(outcome.changedRatio())) {
+            lastChangedPermille.set(Math.round(outcome.changedRatio() * 1000));
+        }
+        long previous = intervalMillis.get();
+        long next = decide(previous, outcome, upstreamQuota.throttledFor(), upstreamQuota.remainingFraction());
+        intervalMillis.set(next);
+        if (next != previous) {
+            log.info(
+                    "Cache refresh interval {} -> {} s (changed ratio {}, throttled for {} s).",
+                    previous / 1000,
+                    next / 1000,
+                    outcome.changedRatio(),
+                    upstreamQuota.throttledFor().toSeconds());
+        }
+    }
+
+    long currentIntervalMillis() {
+        return intervalMillis.get();
+    }
+
+    long decide(long current, RefreshOutcome outcome, Duration throttledFor, OptionalDouble remainingQuota) {
+        if (!adaptive) {
+            return current;
+        }
+        long next = current;
+        if (isThrottled(outcome) || !throttledFor.isZero()) {
+            next = Math.max(current * 2, throttledFor.toMillis());
+        } else if (outcome.refreshed() && !Double.isNaN(outcome.changedRatio())) {
+            if (outcome.changedRatio() > highChangeRatio) {
+                next = current / 2;
+            } else if (outcome.changedRatio() == 0.0) {
+                next = current + current / 2;
+            }
+        }
+        if (remainingQuota.isPresent() && remainingQuota.getAsDouble() < lowQuotaRatio) {
+            next = Math.max(next, current * 2);
+        }
+        return clamp(next);
+    }
+
+    private static boolean isThrottled(RefreshOutcome outcome) {
+        return outcome.error() instanceof ExternalApiException e
+                && e.getStatus() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private long jittered(long interval) {
+        if (jitter <= 0) {
+            return interval;
+        }
+        double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.round(interval * factor);
+    }
+
+    private long clamp(long interval) {
+        return Math.min(maxIntervalMillis, Math.max(minIntervalMillis, interval));
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One 64-bit hash per employee over all of its fields, kept sorted. Comparing two refreshes' fingerprints tells how
+ * much of the data changed at 8 bytes per employee, without keeping the previous employees around.
+ */
+final class EmployeeFingerprints {
+
+    private final long[] sorted;
+
+    private EmployeeFingerprints(long[] sorted) {
+        this.sorted = sorted;
+    }
+
+    static EmployeeFingerprints of(List<Employee> employees) {
+        long[] fingerprints = new long[employees.size()];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = fingerprint(employees.get(i));
+        }
+        Arrays.sort(fingerprints);
+        return new EmployeeFingerprints(fingerprints);
+    }
+
+    /**
+     * Share of employees added, removed or modified between {@code previous} and this snapshot, in {@code [0, 1]}.
+     */
+    double changedRatioSince(EmployeeFingerprints previous) {
+        long[] a = previous.sorted;
+        long[] b = sorted;
+        int larger = Math.max(a.length, b.length);
+        if (larger == 0) {
+            return 0.0;
+        }
+        int unchanged = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                unchanged++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) (larger - unchanged) / larger;
+    }
+
+    private static long fingerprint(Employee employee) {
+        long h = 1125899906842597L;
+        h = 31 * h + Objects.hashCode(employee.getId());
+        h = 31 * h + Objects.hashCode(employee.getName());
+        h = 31 * h + Objects.hashCode(employee.getSalary());
+        h = 31 * h + Objects.hashCode(employee.getAge());
+        h = 31 * h + Objects.hashCode(employee.getTitle());
+        h = 31 * h + Objects.hashCode(employee.getEmail());
+        return h;
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.IEmployeeStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Collects single-employee lookups for a short window and resolves them with one
+ * {@link IEmployeeStore#findAllById} call. A batch is sent when the window closes or
+ * when it holds {@code maxBatchSize} distinct IDs, whichever comes first. Callers
+ * asking for the same ID within a window share one lookup. The store call is not part of
+ * any caller's trace, so {@link EmployeeService} does not batch sampled lookups.
+ */
+@Slf4j
+final class EmployeeLookupBatcher {
+
+    private final IEmployeeStore employeeStore;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private Map<String, List<MonoSink<Employee>>> pending = new LinkedHashMap<>();
+    private Disposable flushTimer;
+
+    EmployeeLookupBatcher(IEmployeeStore employeeStore, Duration window, int maxBatchSize) {
+        this.employeeStore = employeeStore;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    Mono<Employee> load(String id) {
+        return Mono.create(sink -> enqueue(id, sink));
+    }
+
+    private void enqueue(String id, MonoSink<Employee> sink) {
+        Map<String, List<MonoSink<Employee>>> full = null;
+        synchronized (lock) {
+            pending.computeIfAbsent(id, key -> new ArrayList<>(1)).add(sink);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (flushTimer == null) {
+                flushTimer = Schedulers.parallel().schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+    }
+
+    private void flush() {
+        Map<String, List<MonoSink<Employee>>> batch;
+        synchronized (lock) {
+            flushTimer = null;
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    // Caller holds the lock.
+    private Map<String, List<MonoSink<Employee>>> takePending() {
+        Map<String, List<MonoSink<Employee>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (flushTimer != null) {
+            flushTimer.dispose();
+            flushTimer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, List<MonoSink<Employee>>> batch) {
+        log.debug("Resolving {} employee lookups with one store call", batch.size());
+
+        // A lone ID does not need MGET's multi-key reply.
+        Flux<Employee> found = batch.size() == 1
+                ? employeeStore.findById(batch.keySet().iterator().next()).flux()
+                : employeeStore.findAllById(batch.keySet());
+
+        found.collectMap(Employee::getId)
+                .subscribe(
+                        employeesById -> batch.forEach((id, sinks) -> {
+                            Employee employee = employeesById.get(id);
+                            sinks.forEach(sink -> {
+                                if (employee != null) {
+                                    sink.success(employee);
+                                } else {
+                                    sink.success();
+                                }
+                            });
+                        }),
+                        error -> batch.values().forEach(sinks -> sinks.forEach(sink -> sink.error(error))));
+    }
+}
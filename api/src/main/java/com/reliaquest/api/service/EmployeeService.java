@@ -1,21 +1,28 @@
 package com.reliaquest.api.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.redis.lettucemod.api.StatefulRedisModulesConnection;
-import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
-import com.redis.lettucemod.search.CreateOptions;
-import com.redis.lettucemod.search.Field;
+import com.reliaquest.api.cluster.EmployeeChangeEvent;
+import com.reliaquest.api.cluster.IEmployeeChangePublisher;
+import com.reliaquest.api.cluster.IRefreshLeaderElection;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.ExternalApiException;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeBatch;
+import com.reliaquest.api.model.EmployeeField;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeePageCursor;
 import com.reliaquest.api.rest.client.EmployeeApiClientV1;
+import com.reliaquest.api.store.FencedWriteException;
+import com.reliaquest.api.store.IEmployeeStore;
+import com.reliaquest.api.tracing.Tracer;
 import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -24,228 +31,276 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class EmployeeService {
 
-    static final String EMPLOYEE_KEY_PREFIX = "employee:";
-    private static final String REDISSEARCH_INDEX_NAME = "employeeIdx"; // Or "idx:employees" from your past code
-    private static final String SALARY_ZSET_KEY = "employee_salaries"; // Or "employees:salary_zset"
-
     private final EmployeeApiClientV1 employeeApiClient;
-    private final StatefulRedisModulesConnection<String, String> redisModulesConnection;
-    private RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
-    private final ObjectMapper objectMapper;
+    private final IEmployeeStore employeeStore;
+    private final IRefreshLeaderElection leaderElection;
+    private final IEmployeeChangePublisher changePublisher;
+    private final EmployeeLookupBatcher lookupBatcher;
+    private final RefreshHistory refreshHistory;
+    private final Tracer tracer;
+    private volatile EmployeeFingerprints lastRefreshFingerprints;
 
     /**
      * Constructor for EmployeeService.
      *
-     * @param employeeApiClient      The client to fetch employee data from the
-     *                               external API.
-     * @param redisModulesConnection The Redis connection for modules (JSON,
-     *                               Search).
-     * @param objectMapper           The Jackson ObjectMapper for JSON
-     *                               serialization/deserialization.
+     * @param employeeApiClient The client to fetch employee data from the
+     *                          external API.
+     * @param employeeStore     The cache the employees are served from
+     *                          (Redis or in-memory).
+     * @param leaderElection    Decides whether this node runs the refresh
+     *                          when several nodes share the cache.
+     * @param changePublisher   Announces every cache mutation to this and
+     *                          the other nodes.
+     * @param refreshHistory    Keeps the stage timings of the refreshes
+     *                          this node runs.
+     * @param tracer            Spans around each operation, for the
+     *                          sampled share of them.
+     * @param lookupBatchWindowMicros How long concurrent getEmployeeById
+     *                          calls are collected into one store lookup;
+     *                          0 looks each ID up on its own, as do
+     *                          sampled calls.
+     * @param lookupBatchMaxSize Distinct IDs that close a batch early.
      */
     public EmployeeService(
             EmployeeApiClientV1 employeeApiClient,
-            StatefulRedisModulesConnection<String, String> redisModulesConnection,
-            ObjectMapper objectMapper) {
+            IEmployeeStore employeeStore,
+            IRefreshLeaderElection leaderElection,
+            IEmployeeChangePublisher changePublisher,
+            RefreshHistory refreshHistory,
+            Tracer tracer,
+            @Value("${app.lookup-batch.window-us:500}") long lookupBatchWindowMicros,
+            @Value("${app.lookup-batch.max-size:100}") int lookupBatchMaxSize) {
         this.employeeApiClient = employeeApiClient;
-        this.redisModulesConnection = redisModulesConnection;
-        this.objectMapper = objectMapper;
-
-        redisModulesReactiveCommands = redisModulesConnection.reactive();
+        this.employeeStore = employeeStore;
+        this.leaderElection = leaderElection;
+        this.changePublisher = changePublisher;
+        this.refreshHistory = refreshHistory;
+        this.tracer = tracer;
+        this.lookupBatcher = lookupBatchWindowMicros > 0
+                ? new EmployeeLookupBatcher(
+                        employeeStore, Duration.ofNanos(lookupBatchWindowMicros * 1000), lookupBatchMaxSize)
+                : null;
     }
 
     @PostConstruct
-    @SuppressWarnings("unchecked") // Suppress unchecked warning for generic varargs in ftCreate
-    public void initializeRedisCache() {
-        log.info("Initializing Redis cache and indexes...");
-
-        redisModulesReactiveCommands
-                .ftCreate(
-                        REDISSEARCH_INDEX_NAME,
-                        CreateOptions.<String, String>builder()
-                                .prefix(EMPLOYEE_KEY_PREFIX)
-                                .on(CreateOptions.DataType.JSON)
-                                .build(),
-                        Field.tag("$.id").as("id").build(),
-                        Field.text("$.name").as("name").noStem().sortable().build())
-                .doOnSuccess(ok -> log.info("RedisSearch index '{}' created successfully.", REDISSEARCH_INDEX_NAME))
-                .doOnError(e -> log.warn("RedisSearch index creation failed or already exists: {}", e.getMessage()))
+    public void initializeCache() {
+        employeeStore
+                .initialize()
                 .then(Mono.fromRunnable(this::refreshAllEmployeesCache))
                 .subscribe();
 
         refreshAllEmployeesCache();
     }
 
-    @PreDestroy
-    public void cleanup() {
-        if (redisModulesConnection != null && redisModulesConnection.isOpen()) {
-            log.info("Closing RedisModulesConnection.");
-            // Lettuce connections have a close() method to release resources
-            redisModulesConnection.close();
-        }
-    }
-
     /**
      * This method fetches all employees from the external API and repopulates the
-     * Redis cache.
+     * cache.
      * It acts as both the initial load (@PostConstruct calls it) and the scheduled
-     * eviction/refresh.
-     * All existing employee data in Redis is effectively replaced or updated.
+     * eviction/refresh ({@link AdaptiveRefreshScheduler} calls {@link #refreshCache()}).
+     * All existing employee data in the cache is effectively replaced or updated.
      */
-    @Scheduled(fixedRateString = "${app.cache.refresh-interval-ms:300000}") // Default to 5 minutes (300,000 ms)
     public void refreshAllEmployeesCache() {
-        log.info(
-                "Scheduled cache refresh: Fetching all employees from external API to refresh Redis cache and indexes.");
+        refreshCache().subscribe();
+    }
+
+    /**
+     * Refreshes the cache if this node leads, and reports how it went. Never
+     * fails: errors are logged and returned in the outcome.
+     */
+    public Mono<RefreshOutcome> refreshCache() {
+        return tracer.trace(
+                "EmployeeService.refreshCache",
+                leaderElection
+                        .acquire()
+                        .flatMap(fencingToken -> {
+                            final var recorder = refreshHistory.start();
+                            return refreshAllEmployeesCache(fencingToken, recorder)
+                                    .doOnSuccess(recorder::finish)
+                                    .doOnError(recorder::fail);
+                        })
+                        .switchIfEmpty(Mono.fromSupplier(() -> {
+                            log.info("Skipping cache refresh: another node holds the refresh lease.");
+                            return RefreshOutcome.skipped();
+                        }))
+                        .onErrorResume(e -> {
+                            log.error("Failed to refresh cache from external API: {}", e.getMessage());
+                            return Mono.just(RefreshOutcome.failed(e));
+                        }));
+    }
+
+    /**
+     * Runs a refresh as the leader of the term identified by {@code fencingToken}.
+     * The write phase is fenced: claiming the cache fails if a newer term has
+     * already claimed it, and every store write carries the token, so a leader
+     * that stalls after claiming has its remaining writes rejected once a newer
+     * term claims the cache. Either way the fetched data is dropped.
+     */
+    private Mono<RefreshOutcome> refreshAllEmployeesCache(long fencingToken, RefreshHistory.Recorder recorder) {
+        log.info("Scheduled cache refresh: Fetching all employees from external API to refresh cache and indexes.");
 
-        employeeApiClient
-                .getAllEmployeesResponse() // Returns Flux<Employee>
-                .collectList()
+        return recorder.fetch(employeeApiClient
+                        .getAllEmployeesResponse() // Returns Flux<Employee>
+                        .collectList())
                 .flatMap(employees -> {
                     if (employees.isEmpty()) {
-                        log.warn(
-                                "No employees found from external API to refresh cache. Redis cache might remain stale.");
-                        return Mono.empty();
+                        log.warn("No employees found from external API to refresh cache. Cache might remain stale.");
+                        return Mono.just(RefreshOutcome.skipped());
                     }
 
-                    // Delete all existing employee JSON keys and ZSET
-                    log.info("Deleting existing employee keys and salary ZSET from Redis before refresh.");
-                    Mono<Long> deleteKeysMono = redisModulesReactiveCommands
-                            .keys(EMPLOYEE_KEY_PREFIX + "*")
-                            .flatMap(redisModulesReactiveCommands::del)
-                            .doOnError(
-                                    e -> log.error("Failed to delete employee keys during refresh: {}", e.getMessage()))
-                            .then(redisModulesReactiveCommands.del(SALARY_ZSET_KEY))
-                            .doOnError(
-                                    e -> log.error("Failed to delete salary ZSET during refresh: {}", e.getMessage()));
-
-                    // Index new employees
-                    List<Mono<Void>> indexOperations =
-                            employees.stream().map(this::indexEmployeeInRedis).collect(Collectors.toList());
-
-                    return deleteKeysMono
-                            .then(Mono.when(indexOperations))
-                            .then(Mono.fromRunnable(() -> log.info(
-                                    "Successfully refreshed Redis cache with {} employees.", employees.size())));
-                })
-                .doOnError(e -> log.error("Failed to refresh Redis cache from external API: {}", e.getMessage()))
-                .subscribe();
+                    return leaderElection.fence(fencingToken).flatMap(accepted -> {
+                        if (!accepted) {
+                            return Mono.just(RefreshOutcome.skipped());
+                        }
+                        return recorder.delete(employeeStore.deleteAll(fencingToken))
+                                .then(recorder.index(employeeStore.saveAll(employees, fencingToken)))
+                                .then(changePublisher.publish(EmployeeChangeEvent.refreshed(employees.size())))
+                                .then(Mono.fromSupplier(() -> {
+                                    log.info("Successfully refreshed cache with {} employees.", employees.size());
+                                    return RefreshOutcome.refreshed(employees.size(), trackChanges(employees));
+                                }))
+                                .onErrorResume(FencedWriteException.class, e -> {
+                                    log.warn("Refresh of term {} stopped: {}", fencingToken, e.getMessage());
+                                    return Mono.just(RefreshOutcome.skipped());
+                                });
+                    });
+                });
     }
 
-    // --- Helper to add/update an employee in Redis (primary cache, salary ZSET,
-    // RedisSearch) ---
-    private Mono<Void> indexEmployeeInRedis(Employee employee) {
-        String employeeKey = EMPLOYEE_KEY_PREFIX + employee.getId();
-
-        return Mono.fromCallable(() -> objectMapper.writeValueAsString(employee))
-                .flatMap(json -> redisModulesReactiveCommands
-                        .jsonSet(employeeKey, "$", json)
-                        .doOnNext(res -> log.debug("Stored employee {} in Redis: {}", employee.getId(), res))
-                        .then(redisModulesReactiveCommands
-                                .zadd(SALARY_ZSET_KEY, employee.getSalary(), employee.getId())
-                                .doOnError(e ->
-                                        log.error("Failed ZSET insert for {}: {}", employee.getId(), e.getMessage()))
-                                .then()));
+    // Share of employees that changed since this node's previous refresh, NaN on its first.
+    private double trackChanges(List<Employee> employees) {
+        EmployeeFingerprints current = EmployeeFingerprints.of(employees);
+        EmployeeFingerprints previous = lastRefreshFingerprints;
+        lastRefreshFingerprints = current;
+        return previous != null ? current.changedRatioSince(previous) : Double.NaN;
     }
 
     // --- API Service Methods ---
 
     public Flux<Employee> getAllEmployees() {
-        log.info("Retrieving all employees from Redis JSON store.");
-
-        return redisModulesReactiveCommands
-                .keys(EMPLOYEE_KEY_PREFIX + "*")
-                .flatMap(key -> redisModulesReactiveCommands.jsonGet(key).flatMap(json -> {
-                    try {
-                        return Mono.just(objectMapper.readValue(json, Employee.class));
-                    } catch (Exception e) {
-                        log.warn("Failed to deserialize employee JSON from {}: {}", key, e.getMessage());
-                        return Mono.empty();
-                    }
-                }));
+        log.info("Retrieving all employees from the cache.");
+
+        return tracer.traceMany("EmployeeService.getAllEmployees", employeeStore.findAll());
     }
 
     public Flux<Employee> getEmployeesByNameSearch(String nameFragment) {
         log.info("Searching employees by name fragment: '{}'", nameFragment);
 
-        String query = "@name:(*" + nameFragment.toLowerCase() + "*)";
-
-        return redisModulesReactiveCommands
-                .ftSearch(REDISSEARCH_INDEX_NAME, query)
-                .flatMapMany(results -> Flux.fromIterable(results))
-                .map(doc -> doc.get("$")) // `$` is the full JSON field
-                .flatMap(json -> {
-                    try {
-                        Employee employee = objectMapper.readValue(json, Employee.class);
-                        return Mono.just(employee);
-                    } catch (Exception e) {
-                        log.warn("Failed to parse Employee JSON: {}", e.getMessage());
-                        return Mono.empty();
-                    }
-                });
+        return tracer.traceMany(
+                "EmployeeService.getEmployeesByNameSearch", employeeStore.findByNameContaining(nameFragment));
     }
 
     public Mono<Employee> getEmployeeById(String id) {
-        String key = EMPLOYEE_KEY_PREFIX + id;
         log.info("Fetching employee with ID: {}", id);
 
-        return redisModulesReactiveCommands.jsonGet(key).flatMap(json -> {
-            try {
-                return Mono.just(objectMapper.readValue(json, Employee.class));
-            } catch (Exception e) {
-                log.warn("Failed to parse employee JSON for ID {}: {}", id, e.getMessage());
-                return Mono.empty();
-            }
-        });
+        return tracer.trace("EmployeeService.getEmployeeById", findById(id));
+    }
+
+    // A batch is subscribed outside its callers' Reactor contexts, so sampled callers look their ID up on their own to
+    // keep the store's spans in their trace.
+    private Mono<Employee> findById(String id) {
+        if (lookupBatcher == null) {
+            return employeeStore.findById(id);
+        }
+        if (!tracer.isEnabled()) {
+            return lookupBatcher.load(id);
+        }
+        return Mono.deferContextual(
+                context -> Tracer.isSampled(context) ? employeeStore.findById(id) : lookupBatcher.load(id));
     }
 
     public Mono<Integer> getHighestSalaryOfEmployees() {
-        return redisModulesReactiveCommands
-                .zrevrangeWithScores(SALARY_ZSET_KEY, 0, 0) // Get top 1 highest score with ID
-                .singleOrEmpty()
-                .map(tuple -> (int) tuple.getScore());
+        return tracer.trace("EmployeeService.getHighestSalaryOfEmployees", employeeStore.findHighestSalary());
     }
 
     public Flux<String> getTop10HighestEarningEmployeeNames() {
-        return redisModulesReactiveCommands.zrevrange(SALARY_ZSET_KEY, 0, 9).flatMap(id -> getEmployeeById(id)
-                .map(Employee::getName));
+        return tracer.traceMany(
+                "EmployeeService.getTop10HighestEarningEmployeeNames",
+                employeeStore.findTopEarners(10).map(Employee::getName));
+    }
+
+    public Flux<Employee> getEmployeesBySalaryRange(int min, int max, int offset, int limit) {
+        log.info("Fetching employees with salary in [{}, {}], offset {}, limit {}", min, max, offset, limit);
+
+        return tracer.traceMany(
+                "EmployeeService.getEmployeesBySalaryRange",
+                employeeStore.findBySalaryBetween(min, max, offset, limit));
+    }
+
+    /**
+     * Resolves many IDs with a handful of store round trips instead of one per ID. Duplicate IDs are looked up once.
+     */
+    public Mono<EmployeeBatch> getEmployeesByIds(Collection<String> ids) {
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        log.info("Fetching {} employees by ID", distinctIds.size());
+
+        return tracer.trace(
+                "EmployeeService.getEmployeesByIds",
+                employeeStore.findAllById(distinctIds).collectList().map(employees -> {
+                    Set<String> missingIds = new LinkedHashSet<>(distinctIds);
+                    employees.forEach(employee -> missingIds.remove(employee.getId()));
+                    return new EmployeeBatch(employees, List.copyOf(missingIds));
+                }));
+    }
+
+    /**
+     * One page of all employees. The store is asked for one row more than the
+     * page holds, to learn whether a next page exists without counting.
+     *
+     * @param cursor sort order and the position to continue after
+     */
+    public Mono<EmployeePage> getEmployeePage(EmployeePageCursor cursor, int size, Set<EmployeeField> fields) {
+        log.info("Fetching employee page at {} of size {}", cursor, size);
+
+        return tracer.trace(
+                "EmployeeService.getEmployeePage",
+                employeeStore.findPage(cursor, size + 1, fields).collectList().map(employees -> {
+                    List<Employee> page = employees.subList(0, Math.min(size, employees.size()));
+                    // The next cursor comes from the last row's ID and sort field, read even if not requested.
+                    String nextCursor = employees.size() > size
+                            ? cursor.after(page.get(size - 1)).encode()
+                            : null;
+                    return new EmployeePage(
+                            page.stream()
+                                    .map(employee -> EmployeeField.project(employee, fields))
+                                    .toList(),
+                            nextCursor);
+                }));
+    }
+
+    public Flux<Employee> getEmployeesByAgeRange(int min, int max, int offset, int limit) {
+        log.info("Fetching employees with age in [{}, {}], offset {}, limit {}", min, max, offset, limit);
+
+        return tracer.traceMany(
+                "EmployeeService.getEmployeesByAgeRange", employeeStore.findByAgeBetween(min, max, offset, limit));
     }
 
     public Mono<Employee> createEmployee(CreateEmployeeInput input) {
-        return employeeApiClient
-                .createEmployee(input) // Calls downstream API, returns Mono<Employee>
-                .flatMap(employee -> {
-                    try {
-                        String key = "employee:" + employee.getId();
-                        String json = objectMapper.writeValueAsString(employee);
-
-                        return redisModulesReactiveCommands
-                                .jsonSet(key, "$", json)
-                                .flatMap(ok -> redisModulesReactiveCommands
-                                        .zadd("employee_salaries", employee.getSalary(), employee.getId())
-                                        .thenReturn(employee));
-                    } catch (Exception e) {
-                        log.error("Failed to serialize employee: {}", e.getMessage());
-                        return Mono.empty();
-                    }
-                });
+        return tracer.trace(
+                "EmployeeService.createEmployee",
+                employeeApiClient
+                        .createEmployee(input) // Calls downstream API, returns Mono<Employee>
+                        .flatMap(employeeStore::save)
+                        .flatMap(employee -> changePublisher
+                                .publish(EmployeeChangeEvent.created(employee))
+                                .thenReturn(employee)));
     }
 
     public Mono<String> deleteEmployeeById(String id) {
-        String redisKey = EMPLOYEE_KEY_PREFIX + id;
-
-        return getEmployeeById(id)
-                .switchIfEmpty(Mono.error(new EmployeeNotFoundException(id)))
-                .flatMap(employee -> {
-                    String name = employee.getName();
-                    return employeeApiClient.deleteEmployeeByName(name).flatMap(success -> {
-                        if (!success) {
-                            return Mono.error(new ExternalApiException("Downstream deletion failed", 500));
-                        }
-                        return redisModulesReactiveCommands
-                                .del(redisKey)
-                                .then(redisModulesReactiveCommands.zrem(SALARY_ZSET_KEY, id))
-                                .thenReturn(name);
-                    });
-                });
+        return tracer.trace(
+                "EmployeeService.deleteEmployeeById",
+                getEmployeeById(id)
+                        .switchIfEmpty(Mono.error(new EmployeeNotFoundException(id)))
+                        .flatMap(employee -> {
+                            String name = employee.getName();
+                            return employeeApiClient.deleteEmployeeByName(name).flatMap(success -> {
+                                if (!success) {
+                                    return Mono.error(new ExternalApiException("Downstream deletion failed", 500));
+                                }
+                                return employeeStore
+                                        .deleteById(id)
+                                        .then(changePublisher.publish(EmployeeChangeEvent.deleted(id)))
+                                        .thenReturn(name);
+                            });
+                        }));
     }
 }
@@ -0,0 +1,419 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
+import com.reliaquest.api.cluster.NodeIdentity;
+import com.reliaquest.api.exception.ExternalApiException;
+import com.reliaquest.api.exception.IdempotencyKeyReusedException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.MutationStatus;
+import com.reliaquest.api.rest.client.UpstreamPriority;
+import com.reliaquest.api.rest.client.UpstreamRequestScheduler;
+import com.reliaquest.api.store.RedisLuaScript;
+import io.lettuce.core.Consumer;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
+import jakarta.annotation.PostConstruct;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Write-behind mode for creates and deletes. A mutation is appended to the {@code employee_mutations} Redis Stream and
+ * acknowledged straight away with a tracking ID; a drainer then replays it through {@link EmployeeService} at the rate
+ * the upstream allows.
+ *
+ * <ul>
+ *   <li>All nodes drain through one consumer group, so each mutation is sent once however many nodes run. A node's
+ *   entries are claimed by another node when they have been pending longer than {@code claim-idle-ms}.</li>
+ *   <li>Entries are read in batches, and a batch's acknowledgements go back in a single {@code XACK}. The upstream has
+ *   no bulk endpoint, so the calls themselves are still one per mutation.</li>
+ *   <li>Calls are paced by a token bucket, and go upstream in the {@link UpstreamPriority#PREFETCH} class, so they
+ *   only get permits beyond those reserved for interactive calls and the refresh. That budget, not
+ *   {@code permits-per-second}, usually sets the pace: with the default budget a drain sends about one call per
+ *   {@code refill-interval-ms}. A 429 (ours or the upstream's), 5xx or I/O error leaves the entry pending, stops the
+ *   batch so that order is kept, and pauses draining with exponential back-off.</li>
+ *   <li>The status, the queue entry and the {@code Idempotency-Key} reservation are written by one script. The key
+ *   maps to the tracking ID of the first request that used it, so a retried request is not queued twice; a different
+ *   request reusing the key is refused.</li>
+ * </ul>
+ *
+ * <p>Delivery is at least once: a node that dies between the upstream call and the acknowledgement leaves the entry
+ * pending, and the mutation is sent again unless its status already records the outcome.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindService {
+
+    static final String QUEUE_KEY = "employee_mutations";
+    static final String STATUS_KEY_PREFIX = "employee_mutation:";
+    static final String IDEMPOTENCY_KEY_PREFIX = "employee_mutation_idempotency:";
+    static final String GROUP = "write-behind";
+
+    // KEYS: status, queue, and the idempotency key if there is one. ARGV: status JSON, TTL (ms), reservation (tracking
+    // ID and request fingerprint), then the queue entry's field/value pairs. Returns {'', entry ID} once queued, or
+    // {reservation, ''} if the idempotency key was already used, in which case nothing is written. The reservation
+    // goes last, so a failure part way leaves the key free for the retry.
+    static final RedisLuaScript ENQUEUE_SCRIPT = new RedisLuaScript(
+            """
+            if KEYS[3] then
+              local reservation = redis.call('GET', KEYS[3])
+              if reservation then
+                return {reservation, ''}
+              end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            local entryId = redis.call('XADD', KEYS[2], '*', unpack(ARGV, 4))
+            if KEYS[3] then
+              redis.call('SET', KEYS[3], ARGV[3], 'PX', ARGV[2])
+            end
+            return {'', entryId}
+            """);
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private enum Outcome {
+        DONE,
+        RETRY
+    }
+
+    private final RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
+    private final ObjectMapper objectMapper;
+    private final EmployeeService employeeService;
+    private final Consumer<String> consumer;
+    private final Duration statusTtl;
+    private final int batchSize;
+    private final double permitsPerSecond;
+    private final int maxAttempts;
+    private final Duration claimIdle;
+    private final Duration drainTimeout;
+
+    // Token bucket holding up to one second's worth of calls, and back-off; guarded by this object's lock.
+    private final double maxPermits;
+    private double permits;
+    private long lastRefillNanos = System.nanoTime();
+    private Duration backoff = Duration.ZERO;
+    private long pausedUntilNanos = System.nanoTime();
+
+    public EmployeeWriteBehindService(
+            StatefulRedisModulesConnection<String, String> redisModulesConnection,
+            ObjectMapper objectMapper,
+            EmployeeService employeeService,
+            NodeIdentity nodeIdentity,
+            @Value("${app.write-behind.status-ttl-ms:86400000}") long statusTtlMillis,
+            @Value("${app.write-behind.batch-size:20}") int batchSize,
+            @Value("${app.write-behind.permits-per-second:2}") double permitsPerSecond,
+            @Value("${app.write-behind.max-attempts:20}") int maxAttempts,
+            @Value("${app.write-behind.claim-idle-ms:300000}") long claimIdleMillis,
+            @Value("${app.write-behind.drain-timeout-ms:60000}") long drainTimeoutMillis) {
+        this.redisModulesReactiveCommands = redisModulesConnection.reactive();
+        this.objectMapper = objectMapper;
+        this.employeeService = employeeService;
+        this.consumer = Consumer.from(GROUP, nodeIdentity.getNodeId());
+        this.statusTtl = Duration.ofMillis(statusTtlMillis);
+        this.batchSize = batchSize;
+        this.permitsPerSecond = permitsPerSecond;
+        this.maxPermits = Math.max(1, permitsPerSecond);
+        this.permits = maxPermits;
+        this.maxAttempts = maxAttempts;
+        this.claimIdle = Duration.ofMillis(claimIdleMillis);
+        this.drainTimeout = Duration.ofMillis(drainTimeoutMillis);
+    }
+
+    @PostConstruct
+    public void createConsumerGroup() {
+        try {
+            redisModulesReactiveCommands
+                    .xgroupCreate(
+                            XReadArgs.StreamOffset.from(QUEUE_KEY, "0"), GROUP, XGroupCreateArgs.Builder.mkstream())
+                    .onErrorResume(e -> String.valueOf(e.getMessage()).contains("BUSYGROUP"), e -> Mono.just("OK"))
+                    .block(Duration.ofSeconds(5));
+            log.info("Write-behind enabled: draining '{}' at up to {} calls/s.", QUEUE_KEY, permitsPerSecond);
+        } catch (RuntimeException e) {
+            log.error("Could not create write-behind consumer group, will retry: {}", e.getMessage());
+        }
+    }
+
+    public Mono<MutationStatus> enqueueCreate(CreateEmployeeInput input, String idempotencyKey) {
+        return enqueue(newStatus(MutationStatus.Operation.CREATE, null), input, idempotencyKey);
+    }
+
+    public Mono<MutationStatus> enqueueDelete(String id, String idempotencyKey) {
+        return enqueue(newStatus(MutationStatus.Operation.DELETE, id), null, idempotencyKey);
+    }
+
+    public Mono<MutationStatus> getStatus(String trackingId) {
+        return redisModulesReactiveCommands.get(STATUS_KEY_PREFIX + trackingId).map(this::readStatus);
+    }
+
+    @Scheduled(fixedDelayString = "${app.write-behind.poll-interval-ms:200}")
+    public void drain() {
+        try {
+            drainOnce().block(drainTimeout);
+        } catch (RuntimeException e) {
+            log.error("Write-behind drain failed: {}", e.getMessage());
+            if (String.valueOf(e.getMessage()).contains("NOGROUP")) {
+                createConsumerGroup();
+            }
+        }
+    }
+
+    /**
+     * Sends as many queued mutations upstream as the rate allows.
+     *
+     * @return the number of mutations completed (succeeded or failed for good)
+     */
+    Mono<Integer> drainOnce() {
+        final var available = availablePermits();
+        if (available == 0) {
+            return Mono.just(0);
+        }
+        return redisModulesReactiveCommands
+                .xautoclaim(
+                        QUEUE_KEY,
+                        XAutoClaimArgs.Builder.xautoclaim(consumer, claimIdle, "0-0")
+                                .count(batchSize))
+                .then(read(XReadArgs.StreamOffset.from(QUEUE_KEY, "0"), available))
+                .flatMap(pending -> pending.isEmpty()
+                        ? read(XReadArgs.StreamOffset.lastConsumed(QUEUE_KEY), available)
+                        : Mono.just(pending))
+                .flatMap(this::process);
+    }
+
+    private Mono<List<StreamMessage<String, String>>> read(XReadArgs.StreamOffset<String> offset, int count) {
+        return redisModulesReactiveCommands
+                .xreadgroup(consumer, XReadArgs.Builder.count(count), offset)
+                .collectList();
+    }
+
+    private Mono<Integer> process(List<StreamMessage<String, String>> messages) {
+        if (messages.isEmpty()) {
+            return Mono.just(0);
+        }
+        return Flux.fromIterable(messages)
+                .concatMap(message -> apply(message).map(outcome -> Map.entry(message.getId(), outcome)))
+                .takeUntil(result -> result.getValue() == Outcome.RETRY)
+                .filter(result -> result.getValue() == Outcome.DONE)
+                .map(Map.Entry::getKey)
+                .collectList()
+                .flatMap(done -> done.isEmpty()
+                        ? Mono.just(0)
+                        : redisModulesReactiveCommands
+                                .xack(QUEUE_KEY, GROUP, done.toArray(String[]::new))
+                                .thenReturn(done.size()));
+    }
+
+    private Mono<Outcome> apply(StreamMessage<String, String> message) {
+        takePermit();
+        final var fields = message.getBody();
+        final var queued = MutationStatus.builder()
+                .trackingId(fields.get("tracking_id"))
+                .operation(MutationStatus.Operation.valueOf(fields.get("operation")))
+                .state(MutationStatus.State.QUEUED)
+                .employeeId(fields.get("employee_id"))
+                .build();
+        return getStatus(queued.getTrackingId()).defaultIfEmpty(queued).flatMap(status -> {
+            if (status.getState() != MutationStatus.State.QUEUED) {
+                return Mono.just(Outcome.DONE); // outcome recorded before a crash, only the ack was lost
+            }
+            final var attempted = status.toBuilder().attempts(status.getAttempts() + 1);
+            return execute(status, fields)
+                    // Queued mutations can wait: give way to interactive calls and the refresh.
+                    .contextWrite(UpstreamRequestScheduler.priority(UpstreamPriority.PREFETCH))
+                    .map(employee -> attempted
+                            .state(MutationStatus.State.SUCCEEDED)
+                            .employeeId(employee.getId())
+                            .employee(status.getOperation() == MutationStatus.Operation.CREATE ? employee : null)
+                            .error(null)
+                            .build())
+                    .doOnNext(succeeded -> resetBackoff())
+                    .flatMap(succeeded -> saveStatus(succeeded).thenReturn(Outcome.DONE))
+                    .onErrorResume(e -> {
+                        if (isRetryable(e) && status.getAttempts() + 1 < maxAttempts) {
+                            backOff(status.getTrackingId(), e);
+                            return saveStatus(attempted.error(e.getMessage()).build())
+                                    .thenReturn(Outcome.RETRY);
+                        }
+                        log.warn(
+                                "Write-behind {} {} failed: {}",
+                                status.getOperation(),
+                                status.getTrackingId(),
+                                e.getMessage());
+                        return saveStatus(attempted
+                                        .state(MutationStatus.State.FAILED)
+                                        .error(e.getMessage())
+                                        .build())
+                                .thenReturn(Outcome.DONE);
+                    });
+        });
+    }
+
+    private Mono<Employee> execute(MutationStatus status, Map<String, String> fields) {
+        if (status.getOperation() == MutationStatus.Operation.CREATE) {
+            return Mono.fromCallable(() -> objectMapper.readValue(fields.get("input"), CreateEmployeeInput.class))
+                    .flatMap(employeeService::createEmployee);
+        }
+        return employeeService
+                .deleteEmployeeById(status.getEmployeeId())
+                .map(name ->
+                        Employee.builder().id(status.getEmployeeId()).name(name).build());
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof ExternalApiException externalApiException) {
+            return externalApiException.getStatus() == 429 || externalApiException.getStatus() >= 500;
+        }
+        return e instanceof WebClientRequestException;
+    }
+
+    private Mono<MutationStatus> enqueue(MutationStatus status, CreateEmployeeInput input, String idempotencyKey) {
+        final var keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        return Mono.fromCallable(() -> {
+                    status.setUpdatedAt(Instant.now());
+                    final var inputJson = input == null ? null : objectMapper.writeValueAsString(input);
+                    final List<String> args = new ArrayList<>();
+                    args.add(objectMapper.writeValueAsString(status));
+                    args.add(String.valueOf(statusTtl.toMillis()));
+                    args.add(status.getTrackingId() + " " + fingerprint(status, inputJson));
+                    addField(args, "tracking_id", status.getTrackingId());
+                    addField(args, "operation", status.getOperation().name());
+                    addField(args, "employee_id", status.getEmployeeId());
+                    addField(args, "input", inputJson);
+                    return args;
+                })
+                .flatMap(args -> {
+                    final List<String> keys =
+                            new ArrayList<>(List.of(STATUS_KEY_PREFIX + status.getTrackingId(), QUEUE_KEY));
+                    if (keyed) {
+                        keys.add(IDEMPOTENCY_KEY_PREFIX + idempotencyKey);
+                    }
+                    return ENQUEUE_SCRIPT
+                            .<String>execute(
+                                    redisModulesReactiveCommands,
+                                    ScriptOutputType.MULTI,
+                                    keys.toArray(String[]::new),
+                                    args.toArray(String[]::new))
+                            .collectList()
+                            .flatMap(result -> result.get(0).isEmpty()
+                                    ? queued(status, result.get(1))
+                                    : reserved(idempotencyKey, result.get(0), args.get(2)));
+                });
+    }
+
+    private Mono<MutationStatus> queued(MutationStatus status, String entryId) {
+        log.info("Queued {} {} as {}.", status.getOperation(), status.getTrackingId(), entryId);
+        return Mono.just(status);
+    }
+
+    // The key was used before: answer with that mutation, provided it was the same request.
+    private Mono<MutationStatus> reserved(String idempotencyKey, String reservation, String requested) {
+        final var trackingId = reservation.split(" ")[0];
+        final var fingerprint = reservation.substring(trackingId.length()).trim();
+        if (!fingerprint.isEmpty() && !requested.endsWith(" " + fingerprint)) {
+            return Mono.error(new IdempotencyKeyReusedException(idempotencyKey));
+        }
+        // The status is written with the reservation and outlives it, unless it has been evicted; the mutation is
+        // queued all the same, so the tracking ID is still the right answer.
+        return getStatus(trackingId)
+                .defaultIfEmpty(MutationStatus.builder()
+                        .trackingId(trackingId)
+                        .state(MutationStatus.State.QUEUED)
+                        .build());
+    }
+
+    private static void addField(List<String> args, String name, String value) {
+        if (value != null) {
+            args.add(name);
+            args.add(value);
+        }
+    }
+
+    // Identifies the request an idempotency key was first used for, so a different one reusing the key is refused.
+    private static String fingerprint(MutationStatus status, String inputJson) throws NoSuchAlgorithmException {
+        final var request = status.getOperation() + "\n" + status.getEmployeeId() + "\n" + inputJson;
+        return HexFormat.of()
+                .formatHex(MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mono<String> saveStatus(MutationStatus status) {
+        status.setUpdatedAt(Instant.now());
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(status))
+                .flatMap(json -> redisModulesReactiveCommands.set(
+                        STATUS_KEY_PREFIX + status.getTrackingId(), json, SetArgs.Builder.px(statusTtl)));
+    }
+
+    private MutationStatus readStatus(String json) {
+        try {
+            return objectMapper.readValue(json, MutationStatus.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MutationStatus newStatus(MutationStatus.Operation operation, String employeeId) {
+        return MutationStatus.builder()
+                .trackingId(UUID.randomUUID().toString())
+                .operation(operation)
+                .state(MutationStatus.State.QUEUED)
+                .employeeId(employeeId)
+                .build();
+    }
+
+    // --- Pacing ---
+
+    private synchronized int availablePermits() {
+        final var now = System.nanoTime();
+        if (now - pausedUntilNanos < 0) {
+            return 0;
+        }
+        permits = Math.min(maxPermits, permits + (now - lastRefillNanos) / 1e9 * permitsPerSecond);
+        lastRefillNanos = now;
+        return (int) Math.min(batchSize, permits);
+    }
+
+    private synchronized void takePermit() {
+        permits = Math.max(0, permits - 1);
+    }
+
+    private synchronized void backOff(String trackingId, Throwable e) {
+        backoff = backoff.isZero() ? MIN_BACKOFF : backoff.multipliedBy(2);
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        pausedUntilNanos = System.nanoTime() + backoff.toNanos();
+        log.warn(
+                "Upstream refused {} ({}); pausing write-behind for {} ms.",
+                trackingId,
+                e.getMessage(),
+                backoff.toMillis());
+    }
+
+    private synchronized void resetBackoff() {
+        backoff = Duration.ZERO;
+    }
+}
@@ -0,0 +1,162 @@
+package com.reliaquest.api.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * The last {@code app.cache.refresh-history.size} refreshes this node ran, with the time each stage took. Followers
+ * that never lead a refresh keep an empty history. Read by the {@code employeecache} actuator endpoint and the cache
+ * health indicator.
+ */
+@Component
+public class RefreshHistory {
+
+    /**
+     * One refresh. Stage times are in milliseconds, -1 for stages it did not reach.
+     *
+     * @param status    {@code refreshed}, {@code skipped} (upstream returned nothing, or a newer term wrote the cache)
+     *                  or {@code failed}
+     * @param fetchMs   reading every employee from the employee API
+     * @param deleteMs  clearing the cache
+     * @param indexMs   writing the employees and their index entries
+     */
+    public record Refresh(
+            Instant startedAt,
+            String status,
+            int employees,
+            long fetchMs,
+            long deleteMs,
+            long indexMs,
+            long totalMs,
+            String error) {}
+
+    private final Clock clock;
+    private final int size;
+    private final Deque<Refresh> refreshes = new ArrayDeque<>();
+    private Instant lastRefreshedAt;
+
+    @Autowired
+    public RefreshHistory(@Value("${app.cache.refresh-history.size:20}") int size) {
+        this(Clock.systemUTC(), size);
+    }
+
+    RefreshHistory(Clock clock, int size) {
+        this.clock = clock;
+        this.size = Math.max(size, 1);
+    }
+
+    /**
+     * Starts timing a refresh; it joins the history once {@link Recorder#finish} or {@link Recorder#fail} is called.
+     */
+    public Recorder start() {
+        return new Recorder(clock.instant(), System.nanoTime());
+    }
+
+    /**
+     * Newest first.
+     */
+    public synchronized List<Refresh> recent() {
+        return new ArrayList<>(refreshes);
+    }
+
+    /**
+     * When this node last finished writing the cache, if it ever did.
+     */
+    public synchronized Optional<Instant> lastRefreshedAt() {
+        return Optional.ofNullable(lastRefreshedAt);
+    }
+
+    /**
+     * Time since this node last finished writing the cache, if it ever did.
+     */
+    public Optional<Duration> staleness() {
+        return lastRefreshedAt().map(refreshedAt -> Duration.between(refreshedAt, clock.instant()));
+    }
+
+    private synchronized void add(Refresh refresh) {
+        if (refreshes.size() == size) {
+            refreshes.removeLast();
+        }
+        refreshes.addFirst(refresh);
+        if ("refreshed".equals(refresh.status())) {
+            lastRefreshedAt = clock.instant();
+        }
+    }
+
+    /**
+     * Times the stages of one refresh.
+     */
+    public final class Recorder {
+
+        private final Instant startedAt;
+        private final long startNanos;
+        private volatile long fetchNanos = -1;
+        private volatile long deleteNanos = -1;
+        private volatile long indexNanos = -1;
+
+        private Recorder(Instant startedAt, long startNanos) {
+            this.startedAt = startedAt;
+            this.startNanos = startNanos;
+        }
+
+        public <T> Mono<T> fetch(Mono<T> stage) {
+            return timed(stage, nanos -> fetchNanos = nanos);
+        }
+
+        public <T> Mono<T> delete(Mono<T> stage) {
+            return timed(stage, nanos -> deleteNanos = nanos);
+        }
+
+        public <T> Mono<T> index(Mono<T> stage) {
+            return timed(stage, nanos -> indexNanos = nanos);
+        }
+
+        public void finish(RefreshOutcome outcome) {
+            if (outcome.error() != null) {
+                fail(outcome.error());
+                return;
+            }
+            record(outcome.refreshed() ? "refreshed" : "skipped", outcome.employees(), null);
+        }
+
+        public void fail(Throwable error) {
+            record("failed", 0, error.getMessage());
+        }
+
+        private void record(String status, int employees, String error) {
+            add(new Refresh(
+                    startedAt,
+                    status,
+                    employees,
+                    millis(fetchNanos),
+                    millis(deleteNanos),
+                    millis(indexNanos),
+                    millis(System.nanoTime() - startNanos),
+                    error));
+        }
+
+        private static <T> Mono<T> timed(Mono<T> stage, LongConsumer elapsedNanos) {
+            return Mono.defer(() -> {
+                final var start = System.nanoTime();
+                // Not doFinally: that runs after downstream stages, and after the refresh has been recorded.
+                return stage.doOnSuccess(value -> elapsedNanos.accept(System.nanoTime() - start))
+                        .doOnError(e -> elapsedNanos.accept(System.nanoTime() - start));
+            });
+        }
+
+        private static long millis(long nanos) {
+            return nanos < 0 ? -1 : Duration.ofNanos(nanos).toMillis();
+        }
+    }
+}
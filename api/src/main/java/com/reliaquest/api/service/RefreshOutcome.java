@@ -0,0 +1,28 @@
+package com.reliaquest.api.service;
+
+/**
+ * Result of one scheduled cache refresh, as seen by {@link AdaptiveRefreshScheduler}.
+ *
+ * @param refreshed    whether this node wrote the cache
+ * @param employees    number of employees written
+ * @param changedRatio share of the employees that were added, removed or modified since this node's previous refresh;
+ *                     {@code NaN} when there is nothing to compare with
+ * @param error        why the refresh failed, or {@code null}
+ */
+public record RefreshOutcome(boolean refreshed, int employees, double changedRatio, Throwable error) {
+
+    /**
+     * Another node leads, a newer term has written the cache, or upstream returned nothing.
+     */
+    public static RefreshOutcome skipped() {
+        return new RefreshOutcome(false, 0, Double.NaN, null);
+    }
+
+    public static RefreshOutcome refreshed(int employees, double changedRatio) {
+        return new RefreshOutcome(true, employees, changedRatio, null);
+    }
+
+    public static RefreshOutcome failed(Throwable error) {
+        return new RefreshOutcome(false, 0, Double.NaN, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.api.store;
+
+/**
+ * Size of the cache as the store sees it, cheap enough to read on every actuator scrape.
+ *
+ * @param type          {@code redis} or {@code memory}
+ * @param indexPresent  whether the search index exists; without it name searches and pages fail
+ * @param documents     employees the index holds, or -1 if there is no index to ask
+ * @param salaryEntries entries of the salary index behind the top-earner queries
+ */
+public record EmployeeStoreStats(String type, boolean indexPresent, long documents, long salaryEntries) {}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.store;
+
+/**
+ * A refresh write refused because a refresh of a newer leadership term has claimed the cache since.
+ */
+public class FencedWriteException extends RuntimeException {
+
+    private final long fencingToken;
+
+    public FencedWriteException(long fencingToken) {
+        super("Write with fencing token " + fencingToken + " rejected: a newer term has claimed the cache");
+        this.fencingToken = fencingToken;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+}
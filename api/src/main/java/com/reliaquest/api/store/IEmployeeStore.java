@@ -0,0 +1,101 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import com.reliaquest.api.model.EmployeePageCursor;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage SPI behind {@link com.reliaquest.api.service.EmployeeService}. The service owns the interaction with the
+ * upstream API; implementations only hold the cached employees and the indexes needed to answer the read endpoints.
+ *
+ * <p>The active implementation is selected with {@code app.store.type} ({@code redis} by default, or {@code memory}).
+ */
+public interface IEmployeeStore {
+
+    /**
+     * Creates any indexes the store needs. Called once on startup, before the first refresh.
+     */
+    Mono<Void> initialize();
+
+    /**
+     * Removes every cached employee together with its index entries.
+     */
+    Mono<Void> deleteAll();
+
+    Mono<Void> saveAll(List<Employee> employees);
+
+    /**
+     * {@link #deleteAll()} for the refresh of the leadership term holding {@code fencingToken}. Every write checks the
+     * token against the highest one that has claimed the cache, and fails with {@link FencedWriteException} once a
+     * newer term has, so a leader that stalled mid-refresh cannot wipe its successor's data. A token of 0 (no leader
+     * election) is not fenced, and stores that are not shared between nodes ignore the token.
+     */
+    default Mono<Void> deleteAll(long fencingToken) {
+        return deleteAll();
+    }
+
+    /**
+     * {@link #saveAll(List)}, fenced like {@link #deleteAll(long)}.
+     */
+    default Mono<Void> saveAll(List<Employee> employees, long fencingToken) {
+        return saveAll(employees);
+    }
+
+    /**
+     * Stores a single employee and indexes it.
+     *
+     * @return the stored employee, or empty if it could not be stored
+     */
+    Mono<Employee> save(Employee employee);
+
+    Mono<Void> deleteById(String id);
+
+    Mono<Employee> findById(String id);
+
+    /**
+     * Looks up many employees at once. IDs that are not cached are skipped.
+     *
+     * @return the employees found, in the order of {@code ids}
+     */
+    Flux<Employee> findAllById(Collection<String> ids);
+
+    Flux<Employee> findAll();
+
+    /**
+     * Case-insensitive search for employees whose name contains the given fragment.
+     */
+    Flux<Employee> findByNameContaining(String nameFragment);
+
+    Mono<Integer> findHighestSalary();
+
+    /**
+     * Employees ordered by salary, highest first.
+     */
+    Flux<Employee> findTopEarners(int limit);
+
+    /**
+     * One page of the employees whose salary lies in {@code [min, max]}, ordered by salary, lowest first.
+     */
+    Flux<Employee> findBySalaryBetween(int min, int max, int offset, int limit);
+
+    /**
+     * One page of the employees whose age lies in {@code [min, max]}, ordered by age, youngest first.
+     */
+    Flux<Employee> findByAgeBetween(int min, int max, int offset, int limit);
+
+    /**
+     * Up to {@code limit} employees following the cursor's position, in order of its sort key and then ID. The
+     * requested fields, the ID and the sort field are populated; implementations should not read the others at all.
+     */
+    Flux<Employee> findPage(EmployeePageCursor after, int limit, Set<EmployeeField> fields);
+
+    /**
+     * Index and document counts, from constant-time lookups only (no key scans).
+     */
+    Mono<EmployeeStoreStats> stats();
+}
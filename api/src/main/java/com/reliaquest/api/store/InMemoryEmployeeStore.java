@@ -0,0 +1,247 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.cluster.EmployeeChangeEvent;
+import com.reliaquest.api.cluster.IEmployeeChangeListener;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import com.reliaquest.api.model.EmployeePageCursor;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the employee cache in the JVM heap, for single-node deployments and tests that run without Redis.
+ *
+ * <p>Employees are held by ID, with salary- and age-ordered indexes for the top-earner and range queries and a
+ * lower-cased name index for searches; the three also serve pages. Writes are serialized so the maps never disagree;
+ * reads go straight to the concurrent maps. Employees are copied on the way in and out, so callers never share an
+ * instance with the store.
+ *
+ * <p>Creates and deletes made on other nodes arrive as change events and are applied here. A refresh on another node
+ * carries no data, so each node running this store refreshes its own copy: with this store the refresh always runs on
+ * every node, even with {@code app.cache.leader-election.enabled} (see
+ * {@link com.reliaquest.api.cluster.SingleNodeLeaderElection}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.store.type", havingValue = "memory")
+@Slf4j
+public class InMemoryEmployeeStore implements IEmployeeStore, IEmployeeChangeListener {
+
+    private final Map<String, Employee> employeesById = new ConcurrentHashMap<>();
+    // The IDs under each key are kept sorted too, for pages ordered by key and then ID.
+    private final NavigableMap<Integer, NavigableSet<String>> idsBySalary = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, NavigableSet<String>> idsByName = new ConcurrentSkipListMap<>();
+    private final NavigableMap<Integer, NavigableSet<String>> idsByAge = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Mono<Void> initialize() {
+        log.info("Using in-memory employee store.");
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(() -> {
+            synchronized (this) {
+                employeesById.clear();
+                idsBySalary.clear();
+                idsByName.clear();
+                idsByAge.clear();
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> saveAll(List<Employee> employees) {
+        return Mono.fromRunnable(() -> employees.forEach(this::put));
+    }
+
+    @Override
+    public Mono<Employee> save(Employee employee) {
+        return Mono.fromCallable(() -> {
+            put(employee);
+            return employee;
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> remove(id));
+    }
+
+    @Override
+    public Mono<Employee> findById(String id) {
+        return Mono.justOrEmpty(employeesById.get(id)).map(InMemoryEmployeeStore::copyOf);
+    }
+
+    @Override
+    public Flux<Employee> findAllById(Collection<String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Flux<Employee> findAll() {
+        return Flux.fromIterable(employeesById.values()).map(InMemoryEmployeeStore::copyOf);
+    }
+
+    @Override
+    public Flux<Employee> findByNameContaining(String nameFragment) {
+        String fragment = normalize(nameFragment);
+        return Flux.fromIterable(idsByName.entrySet())
+                .filter(entry -> entry.getKey().contains(fragment))
+                .flatMapIterable(Map.Entry::getValue)
+                .flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Integer> findHighestSalary() {
+        return Mono.fromCallable(() -> {
+            Map.Entry<Integer, NavigableSet<String>> highest = idsBySalary.lastEntry();
+            return highest != null ? highest.getKey() : null;
+        });
+    }
+
+    @Override
+    public Flux<Employee> findTopEarners(int limit) {
+        return Flux.fromIterable(idsBySalary.descendingMap().values())
+                .flatMapIterable(ids -> ids)
+                .concatMap(this::findById)
+                .take(limit);
+    }
+
+    @Override
+    public Flux<Employee> findBySalaryBetween(int min, int max, int offset, int limit) {
+        return findByRange(idsBySalary, min, max, offset, limit);
+    }
+
+    @Override
+    public Flux<Employee> findByAgeBetween(int min, int max, int offset, int limit) {
+        return findByRange(idsByAge, min, max, offset, limit);
+    }
+
+    @Override
+    public Flux<Employee> findPage(EmployeePageCursor after, int limit, Set<EmployeeField> fields) {
+        Flux<String> ids =
+                switch (after.sort()) {
+                    case NAME -> idsAfter(idsByName, after.isStart() ? null : normalize(after.value()), after.id());
+                    case SALARY -> idsAfter(
+                            idsBySalary, after.isStart() ? null : Integer.valueOf(after.value()), after.id());
+                    case AGE -> idsAfter(idsByAge, after.isStart() ? null : Integer.valueOf(after.value()), after.id());
+                };
+        Set<EmployeeField> read = after.sort().withPositionFields(fields);
+        return ids.take(limit).concatMap(this::findById).map(employee -> EmployeeField.project(employee, read));
+    }
+
+    // The IDs following (key, id) in key-then-ID order, or all of them from the start if the key is null.
+    private static <K> Flux<String> idsAfter(NavigableMap<K, NavigableSet<String>> index, K key, String id) {
+        if (key == null) {
+            return Flux.fromIterable(index.values()).flatMapIterable(ids -> ids);
+        }
+        NavigableSet<String> ties = index.getOrDefault(key, Collections.emptyNavigableSet());
+        return Flux.concat(
+                Flux.fromIterable(ties.tailSet(id, false)),
+                Flux.fromIterable(index.tailMap(key, false).values()).flatMapIterable(ids -> ids));
+    }
+
+    private Flux<Employee> findByRange(
+            NavigableMap<Integer, NavigableSet<String>> index, int min, int max, int offset, int limit) {
+        if (min > max) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(index.subMap(min, true, max, true).values())
+                .flatMapIterable(ids -> ids)
+                .skip(offset)
+                .take(limit)
+                .concatMap(this::findById);
+    }
+
+    @Override
+    public Mono<EmployeeStoreStats> stats() {
+        return Mono.fromSupplier(() -> new EmployeeStoreStats(
+                "memory",
+                true,
+                employeesById.size(),
+                idsBySalary.values().stream().mapToLong(Set::size).sum()));
+    }
+
+    @Override
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        switch (event.type()) {
+            case CREATED -> put(event.employee());
+            case DELETED -> remove(event.employeeId());
+            case REFRESHED -> log.debug(
+                    "Node {} refreshed its cache ({} employees).", event.originNode(), event.count());
+        }
+    }
+
+    private synchronized void put(Employee employee) {
+        Employee stored = copyOf(employee);
+        Employee previous = employeesById.put(stored.getId(), stored);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (stored.getSalary() != null) {
+            idsBySalary
+                    .computeIfAbsent(stored.getSalary(), salary -> new ConcurrentSkipListSet<>())
+                    .add(stored.getId());
+        }
+        idsByName
+                .computeIfAbsent(normalize(stored.getName()), name -> new ConcurrentSkipListSet<>())
+                .add(stored.getId());
+        if (stored.getAge() != null) {
+            idsByAge.computeIfAbsent(stored.getAge(), age -> new ConcurrentSkipListSet<>())
+                    .add(stored.getId());
+        }
+    }
+
+    private synchronized void remove(String id) {
+        Employee previous = employeesById.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private void unindex(Employee employee) {
+        if (employee.getSalary() != null) {
+            removeFromIndex(idsBySalary, employee.getSalary(), employee.getId());
+        }
+        removeFromIndex(idsByName, normalize(employee.getName()), employee.getId());
+        if (employee.getAge() != null) {
+            removeFromIndex(idsByAge, employee.getAge(), employee.getId());
+        }
+    }
+
+    private static <K> void removeFromIndex(Map<K, NavigableSet<String>> index, K key, String id) {
+        index.computeIfPresent(key, (ignored, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Employee copyOf(Employee employee) {
+        return new Employee(
+                employee.getId(),
+                employee.getName(),
+                employee.getSalary(),
+                employee.getAge(),
+                employee.getTitle(),
+                employee.getEmail());
+    }
+}
@@ -0,0 +1,601 @@
+package com.reliaquest.api.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
+import com.redis.lettucemod.search.CreateOptions;
+import com.redis.lettucemod.search.Field;
+import com.redis.lettucemod.search.SearchOptions;
+import com.reliaquest.api.cluster.RedisLeaseLeaderElection;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import com.reliaquest.api.model.EmployeePageCursor;
+import com.reliaquest.api.model.EmployeeSortKey;
+import com.reliaquest.api.tracing.Tracer;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.ScriptOutputType;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores employees as RedisJSON documents, indexed by RediSearch for name lookups and by a salary ZSET for the
+ * highest-salary queries. Pages are read from one lexicographically ordered ZSET per sort key, whose members are the
+ * sort value and the ID, so a page continues from the last one with a range instead of an offset.
+ *
+ * <p>Writes and deletes run as Lua scripts that update the document and the ZSETs together, so a crash can no longer
+ * leave one without the others; RediSearch follows the document on its own. The order ZSETs are filled as employees
+ * are saved, so a cache written before they existed pages from the next refresh on.
+ *
+ * <p>Each command runs in its own span when the calling operation is traced.
+ */
+@Component
+@ConditionalOnProperty(name = "app.store.type", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisEmployeeStore implements IEmployeeStore {
+
+    public static final String EMPLOYEE_KEY_PREFIX = "employee:";
+    static final String REDISSEARCH_INDEX_NAME = "employeeIdx";
+    static final String SALARY_ZSET_KEY = "employee_salaries";
+    static final String ORDER_KEY_PREFIX = "employee_order:";
+    static final String SALARY_FIELD = "salary";
+    static final String AGE_FIELD = "age";
+    static final int MGET_CHUNK_SIZE = 100;
+    static final int FENCED_BATCH_SIZE = 100;
+
+    // Lua helpers for the order ZSETs. A member is the lower-cased name, or the salary or age shifted to be
+    // non-negative and zero-padded so that it sorts as text, then NUL and the ID; see orderMember().
+    private static final String ORDER_FUNCTIONS =
+            """
+            local function orderMembers(json)
+              local employee = cjson.decode(json)
+              local suffix = '\\0' .. employee.id
+              local function number(value)
+                if type(value) == 'number' then
+                  return string.format('%010d', value + 2147483648) .. suffix
+                end
+                return false
+              end
+              local name = type(employee.name) == 'string' and employee.name or ''
+              return {string.lower(name) .. suffix, number(employee.salary), number(employee.age)}
+            end
+            -- Moves an employee within the order ZSETs at KEYS[first] (name) to KEYS[first + 2] (age).
+            local function reorder(first, oldJson, newJson)
+              if oldJson then
+                local members = orderMembers(oldJson)
+                for i = 1, 3 do
+                  if members[i] then
+                    redis.call('ZREM', KEYS[first + i - 1], members[i])
+                  end
+                end
+              end
+              if newJson then
+                local members = orderMembers(newJson)
+                for i = 1, 3 do
+                  if members[i] then
+                    redis.call('ZADD', KEYS[first + i - 1], 0, members[i])
+                  end
+                end
+              end
+            end
+            """;
+
+    // KEYS: document, salary ZSET, name, salary and age order ZSETs. ARGV: employee JSON, salary ('' if unknown), ID.
+    public static final RedisLuaScript UPSERT_SCRIPT = new RedisLuaScript(
+            ORDER_FUNCTIONS
+                    + """
+            reorder(3, redis.call('JSON.GET', KEYS[1]), ARGV[1])
+            redis.call('JSON.SET', KEYS[1], '$', ARGV[1])
+            if ARGV[2] == '' then
+              redis.call('ZREM', KEYS[2], ARGV[3])
+            else
+              redis.call('ZADD', KEYS[2], ARGV[2], ARGV[3])
+            end
+            return 1
+            """);
+
+    // KEYS: document, salary ZSET, name, salary and age order ZSETs. ARGV: ID. Returns the number of documents removed.
+    public static final RedisLuaScript DELETE_SCRIPT = new RedisLuaScript(
+            ORDER_FUNCTIONS
+                    + """
+            reorder(3, redis.call('JSON.GET', KEYS[1]), false)
+            local removed = redis.call('DEL', KEYS[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return removed
+            """);
+
+    // KEYS: fenced token, salary ZSET, name, salary and age order ZSETs, then one document per employee. ARGV:
+    // fencing token, then employee JSON, salary ('' if unknown) and ID per employee. Returns the number stored, or -1
+    // if a newer term holds the cache.
+    public static final RedisLuaScript FENCED_SAVE_SCRIPT = new RedisLuaScript(
+            ORDER_FUNCTIONS
+                    + """
+            if tonumber(redis.call('GET', KEYS[1]) or '0') > tonumber(ARGV[1]) then
+              return -1
+            end
+            for i = 6, #KEYS do
+              local arg = (i - 6) * 3 + 2
+              reorder(3, redis.call('JSON.GET', KEYS[i]), ARGV[arg])
+              redis.call('JSON.SET', KEYS[i], '$', ARGV[arg])
+              if ARGV[arg + 1] == '' then
+                redis.call('ZREM', KEYS[2], ARGV[arg + 2])
+              else
+                redis.call('ZADD', KEYS[2], ARGV[arg + 1], ARGV[arg + 2])
+              end
+            end
+            return #KEYS - 5
+            """);
+
+    // KEYS: fenced token, then the keys to delete. ARGV: fencing token. Returns the number of keys removed, or -1 if a
+    // newer term holds the cache.
+    public static final RedisLuaScript FENCED_DELETE_SCRIPT = new RedisLuaScript(
+            """
+            if tonumber(redis.call('GET', KEYS[1]) or '0') > tonumber(ARGV[1]) then
+              return -1
+            end
+            local removed = 0
+            for i = 2, #KEYS do
+              removed = removed + redis.call('DEL', KEYS[i])
+            end
+            return removed
+            """);
+
+    // One order ZSET per sort key, in the order the scripts expect them.
+    private static final List<String> ORDER_KEYS = Arrays.stream(EmployeeSortKey.values())
+            .map(RedisEmployeeStore::orderKey)
+            .toList();
+
+    private final StatefulRedisModulesConnection<String, String> redisModulesConnection;
+    private final RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+
+    /**
+     * Constructor for RedisEmployeeStore.
+     *
+     * @param redisModulesConnection The Redis connection for modules (JSON,
+     *                               Search).
+     * @param objectMapper           The Jackson ObjectMapper for JSON
+     *                               serialization/deserialization.
+     * @param tracer                 Spans around the Redis commands.
+     */
+    public RedisEmployeeStore(
+            StatefulRedisModulesConnection<String, String> redisModulesConnection,
+            ObjectMapper objectMapper,
+            Tracer tracer) {
+        this.redisModulesConnection = redisModulesConnection;
+        this.objectMapper = objectMapper;
+        this.tracer = tracer;
+
+        redisModulesReactiveCommands = redisModulesConnection.reactive();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // Suppress unchecked warning for generic varargs in ftCreate
+    public Mono<Void> initialize() {
+        log.info("Initializing Redis cache and indexes...");
+
+        return redisModulesReactiveCommands
+                .ftCreate(
+                        REDISSEARCH_INDEX_NAME,
+                        CreateOptions.<String, String>builder()
+                                .prefix(EMPLOYEE_KEY_PREFIX)
+                                .on(CreateOptions.DataType.JSON)
+                                .build(),
+                        Field.tag("$.id").as("id").build(),
+                        Field.text("$.name").as("name").noStem().sortable().build(),
+                        salaryField(),
+                        ageField())
+                .doOnSuccess(ok -> log.info("RedisSearch index '{}' created successfully.", REDISSEARCH_INDEX_NAME))
+                .doOnError(e -> log.warn("RedisSearch index creation failed or already exists: {}", e.getMessage()))
+                .then()
+                // Still report the failure: EmployeeService only chains the initial refresh on a fresh index.
+                .onErrorResume(e -> addNumericFields().then(Mono.error(e)));
+    }
+
+    // An index created before the range queries existed lacks the numeric fields; FT.ALTER adds them and RediSearch
+    // back-fills them from the existing documents.
+    private Mono<Void> addNumericFields() {
+        return Flux.just(salaryField(), ageField())
+                .concatMap(field -> redisModulesReactiveCommands
+                        .ftAlter(REDISSEARCH_INDEX_NAME, field)
+                        .doOnSuccess(ok -> log.info("Added numeric field to '{}'.", REDISSEARCH_INDEX_NAME))
+                        .onErrorResume(e -> {
+                            log.debug("Numeric field not added to '{}': {}", REDISSEARCH_INDEX_NAME, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private static Field<String> salaryField() {
+        return Field.numeric("$.salary").as(SALARY_FIELD).sortable().build();
+    }
+
+    private static Field<String> ageField() {
+        return Field.numeric("$.age").as(AGE_FIELD).sortable().build();
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (redisModulesConnection != null && redisModulesConnection.isOpen()) {
+            log.info("Closing RedisModulesConnection.");
+            // Lettuce connections have a close() method to release resources
+            redisModulesConnection.close();
+        }
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        // Delete all existing employee JSON keys and ZSETs
+        log.info("Deleting existing employee keys and ZSETs from Redis before refresh.");
+        return keys().flatMap(key -> tracer.span("redis DEL", redisModulesReactiveCommands.del(key)))
+                .doOnError(e -> log.error("Failed to delete employee keys during refresh: {}", e.getMessage()))
+                .then(tracer.span("redis DEL", redisModulesReactiveCommands.del(zsetKeys())))
+                .doOnError(e -> log.error("Failed to delete employee ZSETs during refresh: {}", e.getMessage()))
+                .then();
+    }
+
+    /**
+     * Deletes in batches of {@value #FENCED_BATCH_SIZE} keys, each batch a script that first checks the fencing token.
+     */
+    @Override
+    public Mono<Void> deleteAll(long fencingToken) {
+        if (fencingToken == 0) {
+            return deleteAll();
+        }
+        log.info("Deleting existing employee keys and ZSETs from Redis before refresh (term {}).", fencingToken);
+        return Flux.concat(keys(), Flux.just(zsetKeys()))
+                .buffer(FENCED_BATCH_SIZE)
+                .concatMap(keys ->
+                        fenced(FENCED_DELETE_SCRIPT, "redis EVALSHA fenced-delete", fencingToken, keys, List.of()))
+                .doOnError(e -> log.error("Failed to delete employees during refresh: {}", e.getMessage()))
+                .then();
+    }
+
+    /**
+     * Stores in batches of {@value #FENCED_BATCH_SIZE} employees, each batch a script that first checks the fencing
+     * token. The batches are pipelined on the shared connection.
+     */
+    @Override
+    public Mono<Void> saveAll(List<Employee> employees, long fencingToken) {
+        if (fencingToken == 0) {
+            return saveAll(employees);
+        }
+        return Flux.fromIterable(employees)
+                .buffer(FENCED_BATCH_SIZE)
+                .flatMap(batch -> Mono.fromCallable(() -> {
+                            final List<String> keys = new ArrayList<>(batch.size() + 4);
+                            keys.add(SALARY_ZSET_KEY);
+                            keys.addAll(ORDER_KEYS);
+                            final List<String> args = new ArrayList<>(batch.size() * 3);
+                            for (Employee employee : batch) {
+                                keys.add(EMPLOYEE_KEY_PREFIX + employee.getId());
+                                args.add(objectMapper.writeValueAsString(employee));
+                                args.add(employee.getSalary() == null ? "" : String.valueOf(employee.getSalary()));
+                                args.add(employee.getId());
+                            }
+                            return Map.entry(keys, args);
+                        })
+                        .flatMap(batchArgs -> fenced(
+                                FENCED_SAVE_SCRIPT,
+                                "redis EVALSHA fenced-save",
+                                fencingToken,
+                                batchArgs.getKey(),
+                                batchArgs.getValue())))
+                .doOnError(e -> log.error("Failed to store employees during refresh: {}", e.getMessage()))
+                .then();
+    }
+
+    // Runs a fenced script: the fenced token key is prepended to the keys and the token to the arguments.
+    private Mono<Long> fenced(
+            RedisLuaScript script, String spanName, long fencingToken, List<String> keys, List<String> args) {
+        final String[] scriptKeys = Stream.concat(Stream.of(RedisLeaseLeaderElection.FENCED_TOKEN_KEY), keys.stream())
+                .toArray(String[]::new);
+        final String[] scriptArgs = Stream.concat(Stream.of(String.valueOf(fencingToken)), args.stream())
+                .toArray(String[]::new);
+        return tracer.span(
+                        spanName,
+                        script.<Long>execute(
+                                        redisModulesReactiveCommands, ScriptOutputType.INTEGER, scriptKeys, scriptArgs)
+                                .next())
+                .flatMap(result -> result < 0 ? Mono.error(new FencedWriteException(fencingToken)) : Mono.just(result));
+    }
+
+    @Override
+    public Mono<Void> saveAll(List<Employee> employees) {
+        List<Mono<Void>> indexOperations =
+                employees.stream().map(this::indexEmployeeInRedis).collect(Collectors.toList());
+        return Mono.when(indexOperations);
+    }
+
+    // --- Helper to add/update an employee in Redis (primary cache, salary ZSET,
+    // RedisSearch) in one round trip ---
+    private Mono<Void> indexEmployeeInRedis(Employee employee) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(employee))
+                .flatMap(json -> upsert(employee, json)
+                        .doOnNext(res -> log.debug("Stored employee {} in Redis.", employee.getId()))
+                        .doOnError(e -> log.error("Failed to store employee {}: {}", employee.getId(), e.getMessage()))
+                        .then());
+    }
+
+    @Override
+    public Mono<Employee> save(Employee employee) {
+        try {
+            String json = objectMapper.writeValueAsString(employee);
+
+            return upsert(employee, json).thenReturn(employee);
+        } catch (Exception e) {
+            log.error("Failed to serialize employee: {}", e.getMessage());
+            return Mono.empty();
+        }
+    }
+
+    private Mono<Long> upsert(Employee employee, String json) {
+        String salary = employee.getSalary() == null ? "" : String.valueOf(employee.getSalary());
+        return tracer.span(
+                "redis EVALSHA upsert",
+                UPSERT_SCRIPT
+                        .<Long>execute(
+                                redisModulesReactiveCommands,
+                                ScriptOutputType.INTEGER,
+                                documentKeys(employee.getId()),
+                                json,
+                                salary,
+                                employee.getId())
+                        .next());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return tracer.span(
+                "redis EVALSHA delete",
+                DELETE_SCRIPT
+                        .<Long>execute(redisModulesReactiveCommands, ScriptOutputType.INTEGER, documentKeys(id), id)
+                        .then());
+    }
+
+    @Override
+    public Mono<Employee> findById(String id) {
+        String key = EMPLOYEE_KEY_PREFIX + id;
+
+        return jsonGet(key).flatMap(json -> {
+            try {
+                return Mono.just(objectMapper.readValue(json, Employee.class));
+            } catch (Exception e) {
+                log.warn("Failed to parse employee JSON for ID {}: {}", id, e.getMessage());
+                return Mono.empty();
+            }
+        });
+    }
+
+    /**
+     * Fetches the IDs with {@code JSON.MGET}, {@value #MGET_CHUNK_SIZE} keys per command so that no single reply blocks
+     * Redis for long. The chunks are pipelined on the shared connection.
+     */
+    @Override
+    public Flux<Employee> findAllById(Collection<String> ids) {
+        return Flux.fromIterable(ids)
+                .map(id -> EMPLOYEE_KEY_PREFIX + id)
+                .buffer(MGET_CHUNK_SIZE)
+                .flatMapSequential(keys -> tracer.spanMany(
+                        "redis JSON.MGET", redisModulesReactiveCommands.jsonMget(".", keys.toArray(String[]::new))))
+                .filter(KeyValue::hasValue)
+                .concatMap(keyValue -> parseEmployee(keyValue.getValue()));
+    }
+
+    @Override
+    public Flux<Employee> findAll() {
+        return keys().flatMap(key -> jsonGet(key).flatMap(json -> {
+            try {
+                return Mono.just(objectMapper.readValue(json, Employee.class));
+            } catch (Exception e) {
+                log.warn("Failed to deserialize employee JSON from {}: {}", key, e.getMessage());
+                return Mono.empty();
+            }
+        }));
+    }
+
+    @Override
+    public Flux<Employee> findByNameContaining(String nameFragment) {
+        String query = "@name:(*" + nameFragment.toLowerCase() + "*)";
+
+        return tracer.span("redis FT.SEARCH", redisModulesReactiveCommands.ftSearch(REDISSEARCH_INDEX_NAME, query))
+                .flatMapMany(results -> Flux.fromIterable(results))
+                .map(doc -> doc.get("$")) // `$` is the full JSON field
+                .flatMap(json -> {
+                    try {
+                        Employee employee = objectMapper.readValue(json, Employee.class);
+                        return Mono.just(employee);
+                    } catch (Exception e) {
+                        log.warn("Failed to parse Employee JSON: {}", e.getMessage());
+                        return Mono.empty();
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Integer> findHighestSalary() {
+        return tracer.span(
+                        "redis ZREVRANGE",
+                        redisModulesReactiveCommands
+                                .zrevrangeWithScores(SALARY_ZSET_KEY, 0, 0) // Get top 1 highest score with ID
+                                .singleOrEmpty())
+                .map(tuple -> (int) tuple.getScore());
+    }
+
+    @Override
+    public Flux<Employee> findTopEarners(int limit) {
+        return tracer.spanMany(
+                        "redis ZREVRANGE", redisModulesReactiveCommands.zrevrange(SALARY_ZSET_KEY, 0, limit - 1L))
+                .flatMap(this::findById);
+    }
+
+    @Override
+    public Flux<Employee> findBySalaryBetween(int min, int max, int offset, int limit) {
+        return findByNumericRange(SALARY_FIELD, min, max, offset, limit);
+    }
+
+    @Override
+    public Flux<Employee> findByAgeBetween(int min, int max, int offset, int limit) {
+        return findByNumericRange(AGE_FIELD, min, max, offset, limit);
+    }
+
+    // A single FT.SEARCH: RediSearch filters, sorts and pages on the server, so only the requested page is sent back.
+    private Flux<Employee> findByNumericRange(String field, int min, int max, int offset, int limit) {
+        String query = "@" + field + ":[" + min + " " + max + "]";
+
+        return tracer.span(
+                        "redis FT.SEARCH",
+                        redisModulesReactiveCommands.ftSearch(
+                                REDISSEARCH_INDEX_NAME,
+                                query,
+                                SearchOptions.<String, String>builder()
+                                        .sortBy(SearchOptions.SortBy.asc(field))
+                                        .limit(SearchOptions.Limit.offset(offset)
+                                                .num(limit))
+                                        .build()))
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(doc -> parseEmployee(doc.get("$")));
+    }
+
+    /**
+     * Reads the page's IDs from the sort key's order ZSET with {@code ZRANGEBYLEX}, starting right after the cursor's
+     * member, then the employees with {@code JSON.MGET}, or with an {@code FT.SEARCH} on their IDs that returns only
+     * the requested fields.
+     */
+    @Override
+    public Flux<Employee> findPage(EmployeePageCursor after, int limit, Set<EmployeeField> fields) {
+        Range<String> range = after.isStart()
+                ? Range.unbounded()
+                : Range.from(
+                        Range.Boundary.excluding(orderMember(after.sort(), after.value(), after.id())),
+                        Range.Boundary.unbounded());
+        return tracer.spanMany(
+                        "redis ZRANGEBYLEX",
+                        redisModulesReactiveCommands.zrangebylex(orderKey(after.sort()), range, Limit.create(0, limit)))
+                .map(member -> member.substring(member.indexOf('\0') + 1))
+                .collectList()
+                .flatMapMany(ids -> ids.isEmpty() || EmployeeField.isAll(fields)
+                        ? findAllById(ids)
+                        : findProjected(ids, after.sort().withPositionFields(fields)));
+    }
+
+    private Flux<Employee> findProjected(List<String> ids, Set<EmployeeField> fields) {
+        // RETURN with JSONPaths: Redis sends back just these values instead of whole documents.
+        SearchOptions<String, String> options = SearchOptions.<String, String>builder()
+                .returnFields(fields.stream().map(EmployeeField::jsonPath).toArray(String[]::new))
+                .limit(SearchOptions.Limit.offset(0).num(ids.size()))
+                .build();
+        String query = ids.stream().map(RedisEmployeeStore::escapeTag).collect(Collectors.joining("|", "@id:{", "}"));
+
+        return tracer.span(
+                        "redis FT.SEARCH",
+                        redisModulesReactiveCommands.ftSearch(REDISSEARCH_INDEX_NAME, query, options))
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(doc -> projectEmployee(doc, fields))
+                .collectMap(Employee::getId)
+                // FT.SEARCH answers in its own order; put the employees back in the page's.
+                .flatMapIterable(byId ->
+                        ids.stream().filter(byId::containsKey).map(byId::get).toList());
+    }
+
+    static String orderKey(EmployeeSortKey sort) {
+        return ORDER_KEY_PREFIX + sort.fieldName();
+    }
+
+    /**
+     * The member of an order ZSET for a sort value and ID, as the scripts' {@code orderMembers} builds it. Lua
+     * lower-cases ASCII letters only, so this does too.
+     */
+    static String orderMember(EmployeeSortKey sort, String value, String id) {
+        String position = sort == EmployeeSortKey.NAME
+                ? value.chars()
+                        .map(c -> c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c)
+                        .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                        .toString()
+                : String.format("%010d", Long.parseLong(value) + 2147483648L);
+        return position + '\0' + id;
+    }
+
+    private static String[] documentKeys(String id) {
+        return Stream.concat(Stream.of(EMPLOYEE_KEY_PREFIX + id, SALARY_ZSET_KEY), ORDER_KEYS.stream())
+                .toArray(String[]::new);
+    }
+
+    private static String[] zsetKeys() {
+        return Stream.concat(Stream.of(SALARY_ZSET_KEY), ORDER_KEYS.stream()).toArray(String[]::new);
+    }
+
+    // Backslash-escapes the characters that are syntax inside a TAG query, such as the hyphens of a UUID.
+    private static String escapeTag(String value) {
+        return value.replaceAll("([^A-Za-z0-9_])", "\\\\$1");
+    }
+
+    @Override
+    public Mono<EmployeeStoreStats> stats() {
+        final var documents = tracer.span("redis FT.INFO", redisModulesReactiveCommands.ftInfo(REDISSEARCH_INDEX_NAME))
+                .map(RedisEmployeeStore::numDocs)
+                // FT.INFO fails on a missing index; connection errors still fail the stats.
+                .onErrorResume(RedisCommandExecutionException.class, e -> Mono.just(-1L));
+        return Mono.zip(documents, tracer.span("redis ZCARD", redisModulesReactiveCommands.zcard(SALARY_ZSET_KEY)))
+                .map(counts -> new EmployeeStoreStats("redis", counts.getT1() >= 0, counts.getT1(), counts.getT2()));
+    }
+
+    private Flux<String> keys() {
+        return tracer.spanMany("redis KEYS", redisModulesReactiveCommands.keys(EMPLOYEE_KEY_PREFIX + "*"));
+    }
+
+    private Mono<String> jsonGet(String key) {
+        return tracer.span("redis JSON.GET", redisModulesReactiveCommands.jsonGet(key));
+    }
+
+    // FT.INFO answers with a flat list of alternating attribute names and values.
+    private static long numDocs(List<Object> info) {
+        for (int i = 0; i + 1 < info.size(); i += 2) {
+            if ("num_docs".equals(String.valueOf(info.get(i)))) {
+                return (long) Double.parseDouble(String.valueOf(info.get(i + 1)));
+            }
+        }
+        return 0;
+    }
+
+    private Mono<Employee> projectEmployee(Map<String, String> doc, Set<EmployeeField> fields) {
+        try {
+            Employee employee = new Employee();
+            for (EmployeeField field : fields) {
+                String value = doc.get(field.jsonPath());
+                if (value != null) {
+                    // String values may come back JSON-encoded, depending on the RediSearch version.
+                    field.set(employee, value.startsWith("\"") ? objectMapper.readValue(value, String.class) : value);
+                }
+            }
+            return Mono.just(employee);
+        } catch (Exception e) {
+            log.warn("Failed to read projected Employee fields: {}", e.getMessage());
+            return Mono.empty();
+        }
+    }
+
+    private Mono<Employee> parseEmployee(String json) {
+        try {
+            return Mono.just(objectMapper.readValue(json, Employee.class));
+        } catch (Exception e) {
+            log.warn("Failed to parse Employee JSON: {}", e.getMessage());
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.store;
+
+import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+
+/**
+ * A server-side Lua script addressed by its SHA-1. Runs with {@code EVALSHA}, so only the digest travels on each call;
+ * when the server does not have the script (first use, restart, {@code SCRIPT FLUSH}) it falls back to {@code EVAL},
+ * which also caches it for the next call.
+ */
+public final class RedisLuaScript {
+
+    @Getter
+    private final String source;
+
+    @Getter
+    private final String sha;
+
+    public RedisLuaScript(String source) {
+        this.source = source;
+        this.sha = sha1Hex(source);
+    }
+
+    public <T> Flux<T> execute(
+            RedisModulesReactiveCommands<String, String> commands,
+            ScriptOutputType type,
+            String[] keys,
+            String... args) {
+        return commands.<T>evalsha(sha, type, keys, args)
+                .onErrorResume(RedisNoScriptException.class, e -> commands.<T>eval(source, type, keys, args));
+    }
+
+    private static String sha1Hex(String source) {
+        try {
+            return HexFormat.of()
+                    .formatHex(MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
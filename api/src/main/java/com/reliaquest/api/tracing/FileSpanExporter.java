@@ -0,0 +1,74 @@
+package com.reliaquest.api.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends spans as JSON lines to {@code app.tracing.file.path}, for analysis with {@code jq} or a notebook. Spans go
+ * into an 8 KB buffer that is also flushed every second, so most exports do not touch the disk.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "file")
+public class FileSpanExporter implements ISpanExporter {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileSpanExporter(ObjectMapper objectMapper, @Value("${app.tracing.file.path:traces.jsonl}") Path path) {
+        this.objectMapper = objectMapper;
+        try {
+            this.writer = Files.newBufferedWriter(
+                    path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open trace file " + path, e);
+        }
+        log.info("Writing spans to {}.", path.toAbsolutePath());
+    }
+
+    @Override
+    public void export(FinishedSpan span) {
+        try {
+            final var line = objectMapper.writeValueAsString(span);
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize span {}: {}", span.name(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("Could not write span {}: {}", span.name(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void flush() {
+        try {
+            synchronized (writer) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            log.warn("Could not flush trace file: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+}
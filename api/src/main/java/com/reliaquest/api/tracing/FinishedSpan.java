@@ -0,0 +1,18 @@
+package com.reliaquest.api.tracing;
+
+import java.time.Instant;
+
+/**
+ * A completed span, as handed to the {@link ISpanExporter}.
+ *
+ * @param parentSpanId {@code null} for the root of a trace
+ * @param error        the failure that ended the span, {@code cancelled}, or {@code null} if it succeeded
+ */
+public record FinishedSpan(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        Instant start,
+        long durationMicros,
+        String error) {}
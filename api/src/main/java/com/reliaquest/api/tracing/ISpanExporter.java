@@ -0,0 +1,13 @@
+package com.reliaquest.api.tracing;
+
+/**
+ * Receives every sampled span once it finishes. Called on whichever thread ended the span, often a Netty or Lettuce
+ * event loop, so implementations must not block.
+ *
+ * <p>Selected with {@code app.tracing.exporter}: {@code memory} (default) keeps recent spans for
+ * {@code /actuator/traces}, {@code file} appends them to a JSON-lines file.
+ */
+public interface ISpanExporter {
+
+    void export(FinishedSpan span);
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.tracing;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the last {@code app.tracing.memory.max-spans} spans, for {@code /actuator/traces}. Traces whose oldest spans
+ * were evicted are shown with the spans that remain.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+public class InMemorySpanExporter implements ISpanExporter {
+
+    /**
+     * One trace, its spans ordered by start.
+     *
+     * @param name name of the root span, or of the earliest span left if the root was evicted
+     */
+    public record Trace(String traceId, String name, Instant start, long durationMicros, List<FinishedSpan> spans) {}
+
+    private final int maxSpans;
+    private final Deque<FinishedSpan> spans = new ArrayDeque<>();
+
+    public InMemorySpanExporter(@Value("${app.tracing.memory.max-spans:10000}") int maxSpans) {
+        this.maxSpans = Math.max(maxSpans, 1);
+    }
+
+    @Override
+    public synchronized void export(FinishedSpan span) {
+        if (spans.size() == maxSpans) {
+            spans.removeFirst();
+        }
+        spans.addLast(span);
+    }
+
+    /**
+     * The {@code limit} traces that finished a span most recently, newest first.
+     */
+    public List<Trace> traces(int limit) {
+        final Map<String, List<FinishedSpan>> spansByTrace = new LinkedHashMap<>();
+        synchronized (this) {
+            final var newestFirst = spans.descendingIterator();
+            while (newestFirst.hasNext()) {
+                final var span = newestFirst.next();
+                final var traceSpans = spansByTrace.get(span.traceId());
+                if (traceSpans != null) {
+                    traceSpans.add(span);
+                } else if (spansByTrace.size() < limit) {
+                    spansByTrace.put(span.traceId(), new ArrayList<>(List.of(span)));
+                }
+            }
+        }
+        return spansByTrace.entrySet().stream()
+                .map(entry -> trace(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static Trace trace(String traceId, List<FinishedSpan> spans) {
+        spans.sort(Comparator.comparing(FinishedSpan::start));
+        final var root = spans.stream()
+                .filter(span -> span.parentSpanId() == null)
+                .findFirst()
+                .orElse(spans.get(0));
+        return new Trace(traceId, root.name(), root.start(), root.durationMicros(), List.copyOf(spans));
+    }
+}
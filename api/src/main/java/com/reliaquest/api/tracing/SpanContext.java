@@ -0,0 +1,17 @@
+package com.reliaquest.api.tracing;
+
+/**
+ * The span a reactive operation runs in, kept in the Reactor context under {@code SpanContext.class}. An unsampled
+ * trace is marked with {@link #UNSAMPLED} so that the operations inside it do not start traces of their own.
+ */
+public record SpanContext(String traceId, String spanId, boolean sampled) {
+
+    public static final SpanContext UNSAMPLED = new SpanContext(null, null, false);
+
+    /**
+     * W3C {@code traceparent} header value for calls made inside this span.
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+}
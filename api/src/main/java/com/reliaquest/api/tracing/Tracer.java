@@ -0,0 +1,190 @@
+package com.reliaquest.api.tracing;
+
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Spans around service operations, Redis commands and employee API calls, passed down through the Reactor context.
+ *
+ * <p>Sampling is decided once, at the head of a trace: {@link #trace} starts a trace for
+ * {@code app.tracing.sample-rate} of the operations that are not already in one, and the spans inside it
+ * ({@link #span}) follow that decision. With a sample rate of 0 (the default) both return the publisher unchanged, so
+ * tracing costs a field read per call.
+ */
+@Slf4j
+@Component
+public class Tracer {
+
+    private static final String CANCELLED = "cancelled";
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Context UNSAMPLED = Context.of(SpanContext.class, SpanContext.UNSAMPLED);
+
+    private final double sampleRate;
+    private final ISpanExporter exporter;
+
+    public Tracer(@Value("${app.tracing.sample-rate:0.0}") double sampleRate, ISpanExporter exporter) {
+        this.sampleRate = Math.min(Math.max(sampleRate, 0.0), 1.0);
+        this.exporter = exporter;
+        if (isEnabled()) {
+            log.info(
+                    "Tracing {}% of operations with {}.",
+                    this.sampleRate * 100, exporter.getClass().getSimpleName());
+        }
+    }
+
+    public static Tracer disabled() {
+        return new Tracer(0.0, span -> {});
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    /**
+     * Runs {@code operation} in a span named {@code name}: a child of the current span, or the root of a new trace if
+     * this operation is sampled.
+     */
+    public <T> Mono<T> trace(String name, Mono<T> operation) {
+        if (!isEnabled()) {
+            return operation;
+        }
+        return Mono.deferContextual(context -> {
+            final var parent = parentOrSample(context);
+            return parent == SpanContext.UNSAMPLED
+                    ? operation.contextWrite(UNSAMPLED)
+                    : traced(new ActiveSpan(name, parent), operation);
+        });
+    }
+
+    public <T> Flux<T> traceMany(String name, Flux<T> operation) {
+        if (!isEnabled()) {
+            return operation;
+        }
+        return Flux.deferContextual(context -> {
+            final var parent = parentOrSample(context);
+            return parent == SpanContext.UNSAMPLED
+                    ? operation.contextWrite(UNSAMPLED)
+                    : tracedMany(new ActiveSpan(name, parent), operation);
+        });
+    }
+
+    /**
+     * Runs {@code operation} in a child span of the current span, or untraced if there is no sampled one.
+     */
+    public <T> Mono<T> span(String name, Mono<T> operation) {
+        if (!isEnabled()) {
+            return operation;
+        }
+        return Mono.deferContextual(context -> {
+            final var parent = context.getOrDefault(SpanContext.class, SpanContext.UNSAMPLED);
+            return parent.sampled() ? traced(new ActiveSpan(name, parent), operation) : operation;
+        });
+    }
+
+    public <T> Flux<T> spanMany(String name, Flux<T> operation) {
+        if (!isEnabled()) {
+            return operation;
+        }
+        return Flux.deferContextual(context -> {
+            final var parent = context.getOrDefault(SpanContext.class, SpanContext.UNSAMPLED);
+            return parent.sampled() ? tracedMany(new ActiveSpan(name, parent), operation) : operation;
+        });
+    }
+
+    /**
+     * Whether an operation subscribed with {@code context} runs inside a sampled span.
+     */
+    public static boolean isSampled(ContextView context) {
+        return context.getOrDefault(SpanContext.class, SpanContext.UNSAMPLED).sampled();
+    }
+
+    /**
+     * Adds a {@code traceparent} header to employee API requests made inside a sampled span.
+     */
+    public ExchangeFilterFunction propagation() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            final var span = context.getOrDefault(SpanContext.class, SpanContext.UNSAMPLED);
+            return span.sampled()
+                    ? next.exchange(ClientRequest.from(request)
+                            .header("traceparent", span.traceparent())
+                            .build())
+                    : next.exchange(request);
+        });
+    }
+
+    // The current span, a sampled new root, or UNSAMPLED.
+    private SpanContext parentOrSample(ContextView context) {
+        final SpanContext parent = context.getOrDefault(SpanContext.class, null);
+        if (parent != null) {
+            return parent;
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate ? null : SpanContext.UNSAMPLED;
+    }
+
+    // doOnSuccess/doOnError rather than doFinally, which would only run after everything downstream of the span.
+    private <T> Mono<T> traced(ActiveSpan span, Mono<T> operation) {
+        return operation
+                .doOnSuccess(value -> span.finish(null))
+                .doOnError(e -> span.finish(e.toString()))
+                .doOnCancel(() -> span.finish(CANCELLED))
+                .contextWrite(Context.of(SpanContext.class, span.context));
+    }
+
+    private <T> Flux<T> tracedMany(ActiveSpan span, Flux<T> operation) {
+        return operation
+                .doOnComplete(() -> span.finish(null))
+                .doOnError(e -> span.finish(e.toString()))
+                .doOnCancel(() -> span.finish(CANCELLED))
+                .contextWrite(Context.of(SpanContext.class, span.context));
+    }
+
+    private static String randomHex(int longs) {
+        final var random = ThreadLocalRandom.current();
+        final var hex = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            hex.append(HEX.toHexDigits(random.nextLong()));
+        }
+        return hex.toString();
+    }
+
+    private final class ActiveSpan {
+
+        private final String name;
+        private final String parentSpanId;
+        private final SpanContext context;
+        private final Instant start = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        // A null parent starts a new trace.
+        private ActiveSpan(String name, SpanContext parent) {
+            this.name = name;
+            this.parentSpanId = parent == null ? null : parent.spanId();
+            this.context = new SpanContext(parent == null ? randomHex(2) : parent.traceId(), randomHex(1), true);
+        }
+
+        private void finish(String error) {
+            if (finished.compareAndSet(false, true)) {
+                exporter.export(new FinishedSpan(
+                        context.traceId(),
+                        context.spanId(),
+                        parentSpanId,
+                        name,
+                        start,
+                        (System.nanoTime() - startNanos) / 1000,
+                        error));
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.actuator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.service.RefreshHistory;
+import com.reliaquest.api.service.RefreshOutcome;
+import com.reliaquest.api.store.EmployeeStoreStats;
+import com.reliaquest.api.store.IEmployeeStore;
+import io.lettuce.core.RedisConnectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class EmployeeCacheEndpointTest {
+
+    private IEmployeeStore employeeStore;
+    private RefreshHistory refreshHistory;
+    private EmployeeCacheEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        employeeStore = mock(IEmployeeStore.class);
+        refreshHistory = new RefreshHistory(20);
+        endpoint = new EmployeeCacheEndpoint(employeeStore, refreshHistory);
+    }
+
+    @Test
+    void testReport_combinesStoreStatsAndRefreshHistory() {
+        EmployeeStoreStats stats = new EmployeeStoreStats("memory", true, 3, 3);
+        when(employeeStore.stats()).thenReturn(Mono.just(stats));
+        refreshHistory.start().finish(RefreshOutcome.refreshed(3, Double.NaN));
+
+        EmployeeCacheEndpoint.Report report = endpoint.report().block();
+
+        assertEquals(stats, report.store());
+        assertNotNull(report.lastRefreshedAt());
+        assertNotNull(report.stalenessMs());
+        assertEquals(1, report.refreshes().size());
+    }
+
+    @Test
+    void testReport_keepsHistoryWhenStoreUnreachable() {
+        when(employeeStore.stats()).thenReturn(Mono.error(new RedisConnectionException("Connection refused")));
+        refreshHistory.start().fail(new IllegalStateException("boom"));
+
+        EmployeeCacheEndpoint.Report report = endpoint.report().block();
+
+        assertNull(report.store());
+        assertEquals("Connection refused", report.storeError());
+        assertNull(report.stalenessMs());
+        assertEquals("failed", report.refreshes().get(0).status());
+    }
+}
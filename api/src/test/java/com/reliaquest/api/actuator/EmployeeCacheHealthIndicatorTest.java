@@ -0,0 +1,88 @@
+package com.reliaquest.api.actuator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.service.RefreshHistory;
+import com.reliaquest.api.service.RefreshOutcome;
+import com.reliaquest.api.store.EmployeeStoreStats;
+import com.reliaquest.api.store.IEmployeeStore;
+import io.lettuce.core.RedisConnectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import reactor.core.publisher.Mono;
+
+class EmployeeCacheHealthIndicatorTest {
+
+    private IEmployeeStore employeeStore;
+    private RefreshHistory refreshHistory;
+
+    @BeforeEach
+    void setUp() {
+        employeeStore = mock(IEmployeeStore.class);
+        refreshHistory = new RefreshHistory(20);
+    }
+
+    @Test
+    void testHealth_upWithCountsAndLastRefresh() {
+        when(employeeStore.stats()).thenReturn(Mono.just(new EmployeeStoreStats("redis", true, 50, 50)));
+        refreshHistory.start().finish(RefreshOutcome.refreshed(50, Double.NaN));
+
+        Health health = indicator(3_600_000).health().block();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(50L, health.getDetails().get("documents"));
+        assertEquals("refreshed", health.getDetails().get("lastRefreshStatus"));
+    }
+
+    @Test
+    void testHealth_upOnFollowerThatNeverRefreshed() {
+        when(employeeStore.stats()).thenReturn(Mono.just(new EmployeeStoreStats("redis", true, 50, 50)));
+
+        assertEquals(Status.UP, indicator(0).health().block().getStatus());
+    }
+
+    @Test
+    void testHealth_staleAfterMaxStaleness() throws Exception {
+        when(employeeStore.stats()).thenReturn(Mono.just(new EmployeeStoreStats("redis", true, 50, 50)));
+        refreshHistory.start().finish(RefreshOutcome.refreshed(50, Double.NaN));
+        Thread.sleep(5);
+
+        assertEquals(
+                EmployeeCacheHealthIndicator.STALE,
+                indicator(1).health().block().getStatus());
+    }
+
+    @Test
+    void testHealth_downWithoutIndex() {
+        when(employeeStore.stats()).thenReturn(Mono.just(new EmployeeStoreStats("redis", false, -1, 0)));
+
+        assertEquals(Status.DOWN, indicator(3_600_000).health().block().getStatus());
+    }
+
+    @Test
+    void testHealth_downWhenStoreUnreachable() {
+        when(employeeStore.stats()).thenReturn(Mono.error(new RedisConnectionException("Connection refused")));
+
+        assertEquals(Status.DOWN, indicator(3_600_000).health().block().getStatus());
+    }
+
+    @Test
+    void testHealth_downWhenStoreTooSlow() {
+        when(employeeStore.stats()).thenReturn(Mono.never());
+
+        assertEquals(
+                Status.DOWN,
+                new EmployeeCacheHealthIndicator(employeeStore, refreshHistory, 3_600_000, 50)
+                        .health()
+                        .block()
+                        .getStatus());
+    }
+
+    private EmployeeCacheHealthIndicator indicator(long maxStalenessMillis) {
+        return new EmployeeCacheHealthIndicator(employeeStore, refreshHistory, maxStalenessMillis, 2000);
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class EmployeeChangeFeedTest {
+
+    private EmployeeChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new EmployeeChangeFeed(3, 2, 15000);
+    }
+
+    @Test
+    void testSubscribe_receivesLiveChanges() {
+        StepVerifier.create(feed.subscribe(null))
+                .then(() -> feed.onEmployeeChange(deleted("1", "id-1")))
+                .expectNextMatches(event -> event.eventId().equals("1"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void testSubscribe_resumesAfterLastEventId() {
+        feed.onEmployeeChange(deleted("1", "id-1"));
+        feed.onEmployeeChange(created("2", "id-2"));
+        feed.onEmployeeChange(deleted("3", "id-3"));
+
+        StepVerifier.create(feed.subscribe("1").map(EmployeeChangeEvent::eventId))
+                .expectNext("2", "3")
+                .then(() -> feed.onEmployeeChange(deleted("4", "id-4")))
+                .expectNext("4")
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testSubscribe_unknownLastEventIdAsksClientToReload() {
+        feed.onEmployeeChange(deleted("1", "id-1"));
+        feed.onEmployeeChange(deleted("2", "id-2"));
+        feed.onEmployeeChange(deleted("3", "id-3"));
+        feed.onEmployeeChange(deleted("4", "id-4"));
+
+        StepVerifier.create(feed.subscribe("1"))
+                .expectNextMatches(event -> event.type() == EmployeeChangeEvent.Type.REFRESHED
+                        && event.eventId().equals("4"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testSubscribe_slowSubscriberIsDisconnected() {
+        StepVerifier.create(feed.subscribe(null), 0)
+                .then(() -> IntStream.rangeClosed(1, 100)
+                        .forEach(i -> feed.onEmployeeChange(deleted(String.valueOf(i), "id-" + i))))
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(event -> true)
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    private static EmployeeChangeEvent deleted(String eventId, String employeeId) {
+        return EmployeeChangeEvent.deleted(employeeId).publishedAs(eventId, "node-a");
+    }
+
+    private static EmployeeChangeEvent created(String eventId, String employeeId) {
+        return EmployeeChangeEvent.created(Employee.builder().id(employeeId).build())
+                .publishedAs(eventId, "node-a");
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api.cluster;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.test.StepVerifier;
+
+class LocalEmployeeChangePublisherTest {
+
+    private static final Instant STARTED = Instant.parse("2026-10-18T10:00:00Z");
+
+    @Test
+    void publish_numbersEventsWithinThisStart() {
+        EmployeeChangeFeed feed = new EmployeeChangeFeed(10, 10, 15000);
+        LocalEmployeeChangePublisher publisher = publisherStartedAt(STARTED, feed);
+
+        publisher.publish(EmployeeChangeEvent.deleted("id-1")).block();
+        publisher.publish(EmployeeChangeEvent.deleted("id-2")).block();
+
+        StepVerifier.create(feed.subscribe("node-a." + STARTED.toEpochMilli() + ".1")
+                        .map(EmployeeChangeEvent::eventId))
+                .expectNext("node-a." + STARTED.toEpochMilli() + ".2")
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void publish_afterRestart_eventIdsFromBeforeDoNotMatch() {
+        List<EmployeeChangeEvent> seenBefore = new ArrayList<>();
+        publisherStartedAt(STARTED, seenBefore::add)
+                .publish(EmployeeChangeEvent.deleted("id-1"))
+                .block();
+        String lastSeen = seenBefore.get(0).eventId();
+
+        EmployeeChangeFeed after = new EmployeeChangeFeed(10, 10, 15000);
+        LocalEmployeeChangePublisher restarted = publisherStartedAt(STARTED.plusSeconds(30), after);
+        restarted.publish(EmployeeChangeEvent.deleted("id-2")).block();
+        restarted.publish(EmployeeChangeEvent.deleted("id-3")).block();
+
+        StepVerifier.create(after.subscribe(lastSeen))
+                .expectNextMatches(event -> event.type() == EmployeeChangeEvent.Type.REFRESHED)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LocalEmployeeChangePublisher publisherStartedAt(Instant start, IEmployeeChangeListener listener) {
+        ObjectProvider<IEmployeeChangeListener> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+        return new LocalEmployeeChangePublisher(
+                listeners, new NodeIdentity("node-a"), Clock.fixed(start, ZoneOffset.UTC));
+    }
+}
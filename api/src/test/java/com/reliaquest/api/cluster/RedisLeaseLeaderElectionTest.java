@@ -0,0 +1,134 @@
+package com.reliaquest.api.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
+import io.lettuce.core.ScriptOutputType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class RedisLeaseLeaderElectionTest {
+
+    private RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
+    private SimpleMeterRegistry meterRegistry;
+    private RedisLeaseLeaderElection leaderElection;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StatefulRedisModulesConnection<String, String> connection = mock(StatefulRedisModulesConnection.class);
+        redisModulesReactiveCommands = mock(RedisModulesReactiveCommands.class);
+        when(connection.reactive()).thenReturn(redisModulesReactiveCommands);
+        meterRegistry = new SimpleMeterRegistry();
+        leaderElection = new RedisLeaseLeaderElection(connection, meterRegistry, new NodeIdentity("node-a"), 30000);
+    }
+
+    @Test
+    void acquire_whenLeaseIsFree_startsTermAndPublishesMetrics() {
+        givenScriptReturns(RedisLeaseLeaderElection.LEASE_KEY, 7L);
+
+        StepVerifier.create(leaderElection.acquire()).expectNext(7L).verifyComplete();
+
+        assertEquals(7L, leaderElection.currentFencingToken());
+        assertEquals(1.0, meterRegistry.get("employee.cache.leader").gauge().value());
+        assertEquals(
+                7.0,
+                meterRegistry.get("employee.cache.leader.fencing.token").gauge().value());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("employee.cache.leader.acquisitions")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void acquire_whenAnotherNodeHoldsLease_isEmptyAndCountsLoss() {
+        givenScriptReturns(RedisLeaseLeaderElection.LEASE_KEY, 7L);
+        leaderElection.acquire().block();
+        givenScriptReturns(RedisLeaseLeaderElection.LEASE_KEY, 0L);
+
+        StepVerifier.create(leaderElection.acquire()).verifyComplete();
+
+        assertEquals(0L, leaderElection.currentFencingToken());
+        assertEquals(0.0, meterRegistry.get("employee.cache.leader").gauge().value());
+        assertEquals(
+                1.0, meterRegistry.get("employee.cache.leader.losses").counter().count());
+    }
+
+    @Test
+    void acquire_whenRedisFails_stepsDown() {
+        when(redisModulesReactiveCommands.eval(
+                        anyString(), any(ScriptOutputType.class), any(String[].class), any(String[].class)))
+                .thenReturn(Flux.error(new RuntimeException("connection reset")));
+
+        StepVerifier.create(leaderElection.acquire()).verifyComplete();
+
+        assertEquals(0L, leaderElection.currentFencingToken());
+    }
+
+    @Test
+    void acquire_whenRedisHangs_stepsDownAfterHalfTheLease() {
+        givenScriptReturns(RedisLeaseLeaderElection.LEASE_KEY, 7L);
+        leaderElection.acquire().block();
+        when(redisModulesReactiveCommands.eval(
+                        anyString(), any(ScriptOutputType.class), any(String[].class), any(String[].class)))
+                .thenReturn(Flux.never());
+
+        StepVerifier.withVirtualTime(() -> leaderElection.acquire())
+                .thenAwait(Duration.ofSeconds(15))
+                .verifyComplete();
+
+        assertEquals(0L, leaderElection.currentFencingToken());
+    }
+
+    @Test
+    void fence_rejectsOlderTerm() {
+        givenScriptReturns(RedisLeaseLeaderElection.FENCED_TOKEN_KEY, 0L);
+
+        StepVerifier.create(leaderElection.fence(3L)).expectNext(false).verifyComplete();
+
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("employee.cache.leader.fenced.writes")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void release_deletesOnlyOwnLease() {
+        givenScriptReturns(RedisLeaseLeaderElection.LEASE_KEY, 7L);
+        leaderElection.acquire().block();
+
+        leaderElection.release();
+
+        verify(redisModulesReactiveCommands)
+                .eval(contains("DEL"), eq(ScriptOutputType.INTEGER), any(String[].class), eq("node-a:7"));
+        assertEquals(0L, leaderElection.currentFencingToken());
+    }
+
+    private void givenScriptReturns(String firstKey, long result) {
+        when(redisModulesReactiveCommands.<Long>eval(
+                        anyString(),
+                        any(ScriptOutputType.class),
+                        argThat((String[] keys) ->
+                                keys != null && Arrays.asList(keys).contains(firstKey)),
+                        any(String[].class)))
+                .thenReturn(Flux.just(result));
+    }
+}
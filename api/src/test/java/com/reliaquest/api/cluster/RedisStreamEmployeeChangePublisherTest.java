@@ -0,0 +1,211 @@
+package com.reliaquest.api.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
+import com.reliaquest.api.model.Employee;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XReadArgs;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class RedisStreamEmployeeChangePublisherTest {
+
+    private static final String STREAM = RedisStreamEmployeeChangePublisher.STREAM_KEY;
+    private static final String OFFSET_KEY = RedisStreamEmployeeChangePublisher.OFFSET_KEY_PREFIX + "node-a";
+
+    private RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
+    private final List<EmployeeChangeEvent> applied = new ArrayList<>();
+    private RedisStreamEmployeeChangePublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StatefulRedisModulesConnection<String, String> connection = mock(StatefulRedisModulesConnection.class);
+        redisModulesReactiveCommands = mock(RedisModulesReactiveCommands.class);
+        when(connection.reactive()).thenReturn(redisModulesReactiveCommands);
+        ObjectProvider<IEmployeeChangeListener> listeners = mock(ObjectProvider.class);
+        IEmployeeChangeListener listener = applied::add;
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+        when(redisModulesReactiveCommands.xinfoGroups(STREAM)).thenReturn(Flux.empty());
+        when(redisModulesReactiveCommands.get(OFFSET_KEY)).thenReturn(Mono.empty());
+        when(redisModulesReactiveCommands.set(eq(OFFSET_KEY), any(), any(SetArgs.class)))
+                .thenReturn(Mono.just("OK"));
+
+        publisher = new RedisStreamEmployeeChangePublisher(
+                connection, new ObjectMapper(), listeners, new NodeIdentity("node-a"), 1000, 10, 5000, 60000);
+    }
+
+    @Test
+    void publish_appendsToStreamWithoutApplyingLocally() {
+        when(redisModulesReactiveCommands.xadd(eq(STREAM), any(XAddArgs.class), anyMap()))
+                .thenReturn(Mono.just("5-0"));
+        Employee alice = new Employee("id-1", "Alice", 100000, 30, "Engineer", "alice@example.com");
+
+        publisher.publish(EmployeeChangeEvent.created(alice)).block();
+
+        verify(redisModulesReactiveCommands)
+                .xadd(
+                        eq(STREAM),
+                        any(XAddArgs.class),
+                        argThat((Map<String, String> fields) -> "CREATED".equals(fields.get("type"))
+                                && "node-a".equals(fields.get("origin"))
+                                && fields.get("employee").contains("Alice")));
+        assertEquals(0, applied.size()); // applied when read back, in stream order
+    }
+
+    @Test
+    void publish_whenRedisFails_doesNotFail() {
+        when(redisModulesReactiveCommands.xadd(eq(STREAM), any(XAddArgs.class), anyMap()))
+                .thenReturn(Mono.error(new RuntimeException("connection reset")));
+
+        publisher.publish(EmployeeChangeEvent.deleted("id-1")).block();
+
+        assertEquals(0, applied.size());
+    }
+
+    @Test
+    void consume_appliesAllChangesInStreamOrderFromTheLastOneRead() throws Exception {
+        givenStreamEnd("6-0");
+        publisher.start();
+        Employee alice = new Employee("id-1", "Alice", 100000, 30, "Engineer", "alice@example.com");
+        StreamMessage<String, String> remote =
+                new StreamMessage<>(STREAM, "7-0", Map.of("type", "DELETED", "id", "id-9", "origin", "node-b"));
+        StreamMessage<String, String> own = new StreamMessage<>(
+                STREAM,
+                "8-0",
+                Map.of(
+                        "type",
+                        "CREATED",
+                        "id",
+                        "id-1",
+                        "employee",
+                        new ObjectMapper().writeValueAsString(alice),
+                        "origin",
+                        "node-a"));
+        when(redisModulesReactiveCommands.xread(any(XReadArgs.class), readingFrom("6-0")))
+                .thenReturn(Flux.just(remote, own));
+        when(redisModulesReactiveCommands.xread(any(XReadArgs.class), readingFrom("8-0")))
+                .thenReturn(Flux.empty());
+
+        assertEquals(2L, publisher.consume().block());
+        assertEquals(0L, publisher.consume().block());
+
+        assertEquals(
+                List.of("7-0", "8-0"),
+                applied.stream().map(EmployeeChangeEvent::eventId).toList());
+        assertEquals("node-b", applied.get(0).originNode());
+        assertEquals(alice, applied.get(1).employee());
+        verify(redisModulesReactiveCommands).set(eq(OFFSET_KEY), eq("8-0"), any(SetArgs.class));
+    }
+
+    @Test
+    void start_resumesAfterTheSavedOffset() {
+        when(redisModulesReactiveCommands.get(OFFSET_KEY)).thenReturn(Mono.just("4-0"));
+        givenStreamStart("3-0");
+        when(redisModulesReactiveCommands.xread(any(XReadArgs.class), readingFrom("4-0")))
+                .thenReturn(Flux.just(new StreamMessage<>(
+                        STREAM, "5-0", Map.of("type", "DELETED", "id", "id-9", "origin", "node-b"))));
+
+        publisher.start();
+        publisher.poll();
+
+        assertEquals(
+                List.of("5-0"),
+                applied.stream().map(EmployeeChangeEvent::eventId).toList());
+        verify(redisModulesReactiveCommands, never()).xrevrange(eq(STREAM), any(Range.class), any(Limit.class));
+        verify(redisModulesReactiveCommands).set(eq(OFFSET_KEY), eq("5-0"), any(SetArgs.class));
+    }
+
+    @Test
+    void start_whenChangesAfterTheSavedOffsetWereTrimmed_rebuildsBeforeReadingOn() {
+        when(redisModulesReactiveCommands.get(OFFSET_KEY)).thenReturn(Mono.just("4-0"));
+        givenStreamStart("9-0");
+        when(redisModulesReactiveCommands.xread(any(XReadArgs.class), readingFrom("4-0")))
+                .thenReturn(Flux.just(new StreamMessage<>(
+                        STREAM, "9-0", Map.of("type", "DELETED", "id", "id-9", "origin", "node-b"))));
+
+        publisher.start();
+        publisher.poll();
+
+        assertEquals(
+                List.of(EmployeeChangeEvent.Type.REFRESHED, EmployeeChangeEvent.Type.DELETED),
+                applied.stream().map(EmployeeChangeEvent::type).toList());
+        assertEquals("9-0", applied.get(0).eventId());
+    }
+
+    @Test
+    void consume_withNothingNew_savesTheOffsetOnlyWhenItIsAboutToExpire() {
+        givenStreamEnd("6-0");
+        publisher.start();
+        when(redisModulesReactiveCommands.xread(any(XReadArgs.class), readingFrom("6-0")))
+                .thenReturn(Flux.empty());
+
+        publisher.consume().block();
+        publisher.consume().block();
+
+        // Saved on the first poll after starting from the end of the stream, then left alone.
+        verify(redisModulesReactiveCommands).set(eq(OFFSET_KEY), eq("6-0"), any(SetArgs.class));
+    }
+
+    @Test
+    void compareIds_comparesTimeThenSequence() {
+        assertEquals(-1, Integer.signum(RedisStreamEmployeeChangePublisher.compareIds("9-5", "10-0")));
+        assertEquals(1, Integer.signum(RedisStreamEmployeeChangePublisher.compareIds("10-10", "10-9")));
+        assertEquals(0, RedisStreamEmployeeChangePublisher.compareIds("10-1", "10-1"));
+    }
+
+    @Test
+    void start_removesConsumerGroupsOfEarlierVersions() {
+        givenStreamEnd("0-0");
+        when(redisModulesReactiveCommands.xinfoGroups(STREAM))
+                .thenReturn(Flux.just(
+                        List.of("name", "api-node:old-uuid", "consumers", 1L),
+                        List.of("name", "write-behind", "consumers", 2L)));
+        when(redisModulesReactiveCommands.xgroupDestroy(STREAM, "api-node:old-uuid"))
+                .thenReturn(Mono.just(true));
+
+        publisher.start();
+
+        verify(redisModulesReactiveCommands).xgroupDestroy(STREAM, "api-node:old-uuid");
+        verify(redisModulesReactiveCommands, never()).xgroupDestroy(STREAM, "write-behind");
+    }
+
+    private void givenStreamEnd(String lastId) {
+        when(redisModulesReactiveCommands.xrevrange(eq(STREAM), any(Range.class), any(Limit.class)))
+                .thenReturn(
+                        lastId.equals("0-0")
+                                ? Flux.empty()
+                                : Flux.just(new StreamMessage<>(STREAM, lastId, Map.of("type", "REFRESHED"))));
+    }
+
+    private void givenStreamStart(String firstId) {
+        when(redisModulesReactiveCommands.xrange(eq(STREAM), any(Range.class), any(Limit.class)))
+                .thenReturn(Flux.just(new StreamMessage<>(STREAM, firstId, Map.of("type", "REFRESHED"))));
+    }
+
+    private static XReadArgs.StreamOffset<String> readingFrom(String offset) {
+        return argThat(streamOffset -> streamOffset != null && offset.equals(streamOffset.getOffset()));
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.api.cluster.EmployeeChangeEvent;
+import com.reliaquest.api.cluster.EmployeeChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+@WebMvcTest(EmployeeChangeStreamController.class)
+class EmployeeChangeStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Test
+    void testStreamChanges_resumesFromLastEventIdHeader() throws Exception {
+        when(employeeChangeFeed.subscribe("41"))
+                .thenReturn(Flux.just(EmployeeChangeEvent.deleted("id-1").publishedAs("42", "node-a")));
+        when(employeeChangeFeed.heartbeat()).thenReturn(Flux.empty());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/employee/events").header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id:42\n")))
+                .andExpect(content().string(containsString("event:DELETED\n")))
+                .andExpect(content().string(containsString("\"employee_id\":\"id-1\"")));
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.controller;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeBatch;
+import com.reliaquest.api.model.EmployeeNameMatch;
+import com.reliaquest.api.search.EmployeeNameIndex;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(EmployeeNameSearchController.class)
+class EmployeeNameSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeNameIndex employeeNameIndex;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Test
+    void testAutocomplete() throws Exception {
+        when(employeeNameIndex.autocomplete("jo", 5)).thenReturn(List.of(new EmployeeNameMatch("1", "John Doe")));
+
+        mockMvc.perform(get("/api/v1/employee/autocomplete")
+                        .param("prefix", "jo")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[0].name").value("John Doe"));
+    }
+
+    @Test
+    void testAutocomplete_invalidParameters() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/autocomplete").param("prefix", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/employee/autocomplete")
+                        .param("prefix", "jo")
+                        .param("limit", "101"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeNameIndex);
+    }
+
+    @Test
+    void testFuzzySearch_returnsEmployeesInRankOrder() throws Exception {
+        Employee jon = new Employee("2", "Jon Doe", 60000, 30, "Ms", "jon@doe.com");
+        Employee john = new Employee("1", "John Doe", 50000, 50, "Mr", "joe@doe.com");
+
+        when(employeeNameIndex.fuzzySearch("jonh doe", 1, 100))
+                .thenReturn(List.of(new EmployeeNameMatch("2", "Jon Doe"), new EmployeeNameMatch("1", "John Doe")));
+        when(employeeService.getEmployeesByIds(List.of("2", "1")))
+                .thenReturn(Mono.just(new EmployeeBatch(List.of(jon, john), List.of())));
+
+        mockMvc.perform(get("/api/v1/employee/fuzzySearch/jonh doe").param("maxDistance", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Jon Doe"))
+                .andExpect(jsonPath("$[1].name").value("John Doe"));
+    }
+
+    @Test
+    void testFuzzySearch_invalidDistance() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/fuzzySearch/jon").param("maxDistance", "4"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeNameIndex, employeeService);
+    }
+}
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.exception.ExternalApiException;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeBatch;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.Arrays;
 import java.util.Collections;
@@ -232,4 +233,57 @@ class EmployeeRestControllerTest {
 
         mockMvc.perform(delete("/api/v1/employee/{id}", id)).andExpect(status().isNotFound());
     }
+
+    @Test
+    void testGetEmployeesBySalaryRange() throws Exception {
+        Employee employee = new Employee("2", "Jane Smith", 60000, 30, "Ms", "jane@smith.com");
+
+        when(employeeService.getEmployeesBySalaryRange(50000, 70000, 10, 5)).thenReturn(Flux.just(employee));
+
+        mockMvc.perform(get("/api/v1/employee/salaryRange")
+                        .param("min", "50000")
+                        .param("max", "70000")
+                        .param("limit", "5")
+                        .param("offset", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Jane Smith"));
+    }
+
+    @Test
+    void testGetEmployeesByAgeRange_invalidRange_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/ageRange").param("min", "40").param("max", "30"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testGetEmployeesByIds() throws Exception {
+        Employee employee = new Employee("1", "John Doe", 50000, 50, "Mr", "joe@doe.com");
+
+        when(employeeService.getEmployeesByIds(List.of("1", "2")))
+                .thenReturn(Mono.just(new EmployeeBatch(List.of(employee), List.of("2"))));
+
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"1\",\"2\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.missing_ids[0]").value("2"));
+    }
+
+    @Test
+    void testGetEmployeesByIds_invalidBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Collections.nCopies(EmployeeRestController.MAX_BATCH_IDS + 1, "1"))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
 }
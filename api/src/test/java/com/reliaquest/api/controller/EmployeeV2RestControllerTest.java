@@ -0,0 +1,79 @@
+package com.reliaquest.api.controller;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeePageCursor;
+import com.reliaquest.api.model.EmployeeSortKey;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(EmployeeV2RestController.class)
+class EmployeeV2RestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Test
+    void testGetEmployees_firstPageWithProjection() throws Exception {
+        String next = new EmployeePageCursor(EmployeeSortKey.SALARY, "90000", "2").encode();
+        EmployeePage page = new EmployeePage(
+                List.of(
+                        Employee.builder().id("1").name("John Doe").build(),
+                        Employee.builder().id("2").name("Jane Smith").build()),
+                next);
+
+        when(employeeService.getEmployeePage(
+                        eq(EmployeePageCursor.start(EmployeeSortKey.SALARY)),
+                        eq(2),
+                        eq(EnumSet.of(EmployeeField.ID, EmployeeField.NAME))))
+                .thenReturn(Mono.just(page));
+
+        mockMvc.perform(get("/api/v2/employee")
+                        .param("size", "2")
+                        .param("sort", "salary")
+                        .param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(2))
+                .andExpect(jsonPath("$.employees[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.employees[0].salary").doesNotExist())
+                .andExpect(jsonPath("$.next_cursor").value(next));
+    }
+
+    @Test
+    void testGetEmployees_cursorCarriesSortOrder() throws Exception {
+        EmployeePageCursor cursor = new EmployeePageCursor(EmployeeSortKey.AGE, "41", "id-7");
+
+        when(employeeService.getEmployeePage(eq(cursor), eq(50), eq(EnumSet.allOf(EmployeeField.class))))
+                .thenReturn(Mono.just(new EmployeePage(List.of(), null)));
+
+        mockMvc.perform(get("/api/v2/employee").param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void testGetEmployees_invalidParameters() throws Exception {
+        mockMvc.perform(get("/api/v2/employee").param("size", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v2/employee").param("sort", "email")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v2/employee").param("fields", "id,password")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v2/employee").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
+}
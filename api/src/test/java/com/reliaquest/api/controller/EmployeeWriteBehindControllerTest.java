@@ -0,0 +1,97 @@
+package com.reliaquest.api.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.MutationStatus;
+import com.reliaquest.api.service.EmployeeWriteBehindService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(EmployeeWriteBehindController.class)
+@TestPropertySource(properties = "app.write-behind.enabled=true")
+class EmployeeWriteBehindControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeWriteBehindService writeBehindService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testCreateEmployee_returnsAcceptedWithTrackingId() throws Exception {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Alice");
+        input.setAge(28);
+        input.setSalary(85000);
+        input.setTitle("Developer");
+
+        when(writeBehindService.enqueueCreate(eq(input), eq("key-1")))
+                .thenReturn(Mono.just(queued("t-1", MutationStatus.Operation.CREATE, null)));
+
+        mockMvc.perform(post("/api/v1/employee/async")
+                        .header(EmployeeWriteBehindController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(input)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/employee/async/t-1"))
+                .andExpect(jsonPath("$.tracking_id").value("t-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void testCreateEmployee_invalidInput_isNotQueued() throws Exception {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("");
+        input.setAge(28);
+        input.setSalary(85000);
+        input.setTitle("Developer");
+
+        mockMvc.perform(post("/api/v1/employee/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(input)))
+                .andExpect(status().isBadRequest());
+
+        verify(writeBehindService, never()).enqueueCreate(any(), any());
+    }
+
+    @Test
+    void testDeleteEmployee_returnsAccepted() throws Exception {
+        when(writeBehindService.enqueueDelete("id-1", null))
+                .thenReturn(Mono.just(queued("t-2", MutationStatus.Operation.DELETE, "id-1")));
+
+        mockMvc.perform(delete("/api/v1/employee/async/id-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.employee_id").value("id-1"));
+    }
+
+    @Test
+    void testGetStatus_unknownTrackingId_returnsNotFound() throws Exception {
+        when(writeBehindService.getStatus("t-404")).thenReturn(Mono.empty());
+
+        mockMvc.perform(get("/api/v1/employee/async/t-404")).andExpect(status().isNotFound());
+    }
+
+    private static MutationStatus queued(String trackingId, MutationStatus.Operation operation, String employeeId) {
+        return MutationStatus.builder()
+                .trackingId(trackingId)
+                .operation(operation)
+                .state(MutationStatus.State.QUEUED)
+                .employeeId(employeeId)
+                .build();
+    }
+}
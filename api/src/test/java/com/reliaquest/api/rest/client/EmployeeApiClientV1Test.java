@@ -5,18 +5,26 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.exception.ExternalApiException;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.rest.client.model.MockEmployee;
 import com.reliaquest.api.rest.client.model.MockResponse;
+import com.reliaquest.api.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -35,6 +43,8 @@ class EmployeeApiClientV1Test {
     private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
     private WebClient.RequestHeadersSpec requestHeadersSpec;
     private WebClient.ResponseSpec responseSpec;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamRequestScheduler requestScheduler;
 
     // Directly assign values for test constants
     private final String baseUrl = "http://mock-api.com";
@@ -55,10 +65,40 @@ class EmployeeApiClientV1Test {
 
         // Chain the mocks for the WebClient creation process
         when(webClientBuilder.baseUrl(baseUrl)).thenReturn(webClientBuilder);
+        when(webClientBuilder.filter(any())).thenReturn(webClientBuilder);
         when(webClientBuilder.build()).thenReturn(webClient);
 
         // Instantiate the client with the mocked builder
-        employeeApiClient = new EmployeeApiClientV1(baseUrl, getAllPath, createPath, deletePath, webClientBuilder);
+        employeeApiClient = client(30000, 5000, 0);
+    }
+
+    private EmployeeApiClientV1 client(long getAllTimeoutMillis, long writeTimeoutMillis, long hedgeDelayMillis) {
+        return client(getAllTimeoutMillis, writeTimeoutMillis, hedgeDelayMillis, 100, 1000);
+    }
+
+    private EmployeeApiClientV1 client(
+            long getAllTimeoutMillis,
+            long writeTimeoutMillis,
+            long hedgeDelayMillis,
+            int permits,
+            long refillIntervalMillis) {
+        meterRegistry = new SimpleMeterRegistry();
+        UpstreamQuota upstreamQuota = new UpstreamQuota();
+        requestScheduler = new UpstreamRequestScheduler(
+                upstreamQuota, meterRegistry, true, permits, refillIntervalMillis, 1, 1, 1000, 1000, 0, 10);
+        return new EmployeeApiClientV1(
+                baseUrl,
+                getAllPath,
+                createPath,
+                deletePath,
+                webClientBuilder,
+                upstreamQuota,
+                requestScheduler,
+                meterRegistry,
+                Tracer.disabled(),
+                getAllTimeoutMillis,
+                writeTimeoutMillis,
+                hedgeDelayMillis);
     }
 
     @Test
@@ -72,7 +112,7 @@ class EmployeeApiClientV1Test {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(getAllPath)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).thenReturn(Mono.just(mockResponse));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(body(mockResponse));
 
         Flux<Employee> result = employeeApiClient.getAllEmployeesResponse();
 
@@ -84,7 +124,7 @@ class EmployeeApiClientV1Test {
         verify(webClient, times(1)).get();
         verify(requestHeadersUriSpec, times(1)).uri(getAllPath);
         verify(requestHeadersSpec, times(1)).retrieve();
-        verify(responseSpec, times(1)).bodyToMono(any(ParameterizedTypeReference.class));
+        verify(responseSpec, times(1)).bodyToFlux(DataBuffer.class);
     }
 
     @Test
@@ -94,7 +134,7 @@ class EmployeeApiClientV1Test {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(getAllPath)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).thenReturn(Mono.just(mockResponse));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(body(mockResponse));
 
         Flux<Employee> result = employeeApiClient.getAllEmployeesResponse();
 
@@ -103,7 +143,7 @@ class EmployeeApiClientV1Test {
         verify(webClient, times(1)).get();
         verify(requestHeadersUriSpec, times(1)).uri(getAllPath);
         verify(requestHeadersSpec, times(1)).retrieve();
-        verify(responseSpec, times(1)).bodyToMono(any(ParameterizedTypeReference.class));
+        verify(responseSpec, times(1)).bodyToFlux(DataBuffer.class);
     }
 
     @Test
@@ -111,8 +151,8 @@ class EmployeeApiClientV1Test {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(getAllPath)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
-                .thenReturn(Mono.error(new WebClientResponseException(500, "Internal Server Error", null, null, null)));
+        when(responseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(Flux.error(new WebClientResponseException(500, "Internal Server Error", null, null, null)));
 
         Flux<Employee> result = employeeApiClient.getAllEmployeesResponse();
 
@@ -126,7 +166,7 @@ class EmployeeApiClientV1Test {
         verify(webClient, times(1)).get();
         verify(requestHeadersUriSpec, times(1)).uri(getAllPath);
         verify(requestHeadersSpec, times(1)).retrieve();
-        verify(responseSpec, times(1)).bodyToMono(any(ParameterizedTypeReference.class));
+        verify(responseSpec, times(1)).bodyToFlux(DataBuffer.class);
     }
 
     @Test
@@ -240,4 +280,99 @@ class EmployeeApiClientV1Test {
                 })
                 .verify();
     }
+
+    @Test
+    void testCreateEmployee_timeoutReportedAsGatewayTimeout() {
+        employeeApiClient = client(30000, 50, 0);
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Slow");
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(createPath)).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(input)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).thenReturn(Mono.never());
+
+        StepVerifier.create(employeeApiClient.createEmployee(input))
+                .expectErrorSatisfies(throwable -> {
+                    assertInstanceOf(ExternalApiException.class, throwable);
+                    assertEquals(504, ((ExternalApiException) throwable).getStatus());
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testGetAllEmployeesResponse_hedgeAnswersWhenFirstAttemptIsSlow() {
+        employeeApiClient = client(30000, 5000, 50);
+        MockResponse<List<MockEmployee>> mockResponse = new MockResponse<>(
+                List.of(new MockEmployee("1", "John Doe", 50000, 30, "Developer", "john@doe.com")), "success");
+        AtomicInteger attempts = new AtomicInteger();
+        Flux<DataBuffer> firstSlowThenFast =
+                Flux.defer(() -> attempts.incrementAndGet() == 1 ? Flux.never() : body(mockResponse));
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(getAllPath)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(firstSlowThenFast);
+
+        StepVerifier.create(employeeApiClient.getAllEmployeesResponse())
+                .expectNextMatches(employee -> "1".equals(employee.getId()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(2, attempts.get());
+        assertEquals(
+                1.0, meterRegistry.get("upstream.request.hedges.won").counter().count(), 0.0);
+    }
+
+    @Test
+    void testGetAllEmployeesResponse_noHedgeWhenFirstAttemptIsFast() {
+        employeeApiClient = client(30000, 5000, 1000);
+        AtomicInteger attempts = new AtomicInteger();
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(getAllPath)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(Flux.defer(() -> {
+            attempts.incrementAndGet();
+            return body(new MockResponse<>(Collections.emptyList(), "success"));
+        }));
+
+        StepVerifier.create(employeeApiClient.getAllEmployeesResponse()).verifyComplete();
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.get("upstream.request.hedges").counter().count(), 0.0);
+    }
+
+    @Test
+    void testGetAllEmployeesResponse_noHedgeWhileFirstAttemptIsQueued() {
+        // Two permits with one reserved for interactive calls: once an interactive call takes one, the refresh waits
+        // about 300 ms for the refill, far longer than the hedge delay.
+        employeeApiClient = client(30000, 5000, 50, 2, 300);
+        StepVerifier.create(requestScheduler.acquire(UpstreamPriority.INTERACTIVE))
+                .verifyComplete();
+        AtomicInteger attempts = new AtomicInteger();
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(getAllPath)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(Flux.defer(() -> {
+            attempts.incrementAndGet();
+            return body(new MockResponse<>(Collections.emptyList(), "success"));
+        }));
+
+        StepVerifier.create(employeeApiClient.getAllEmployeesResponse()).verifyComplete();
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.get("upstream.request.hedges").counter().count(), 0.0);
+    }
+
+    // The response as the network might deliver it: JSON in small chunks that split tokens.
+    private static Flux<DataBuffer> body(Object response) {
+        try {
+            byte[] json = new ObjectMapper().writeValueAsBytes(response);
+            return Flux.range(0, (json.length + 6) / 7)
+                    .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(
+                            Arrays.copyOfRange(json, chunk * 7, Math.min(json.length, chunk * 7 + 7))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
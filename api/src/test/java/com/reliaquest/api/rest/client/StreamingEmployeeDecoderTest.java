@@ -0,0 +1,85 @@
+package com.reliaquest.api.rest.client;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class StreamingEmployeeDecoderTest {
+
+    private static final String BODY =
+            """
+            {"status": "Successfully processed request.", "data": [
+              {"id": "1", "employee_name": "Jane \\"JJ\\" Doe", "employee_salary": 100000, "employee_age": 30,
+               "employee_title": "Engineer", "employee_email": "jane@company.com"},
+              {"id": "2", "employee_name": "Bob", "employee_salary": null, "employee_age": 41,
+               "extra": {"employee_name": "not Bob", "tags": [1, 2, {"id": "x"}]}, "employee_title": "Manager"}
+            ]}
+            """;
+
+    @Test
+    void testDecode_emitsEmployeesWhateverTheChunking() {
+        for (int chunkSize : new int[] {1, 3, 64, BODY.length()}) {
+            StepVerifier.create(StreamingEmployeeDecoder.decode(chunks(BODY, chunkSize)))
+                    .expectNext(new Employee("1", "Jane \"JJ\" Doe", 100000, 30, "Engineer", "jane@company.com"))
+                    .expectNext(new Employee("2", "Bob", null, 41, "Manager", null))
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    void testDecode_emitsEachEmployeeBeforeTheBodyEnds() {
+        int secondEmployee = BODY.indexOf("{\"id\": \"2\"");
+
+        StepVerifier.create(StreamingEmployeeDecoder.decode(
+                        Flux.concat(chunks(BODY.substring(0, secondEmployee), 16), Flux.never())))
+                .expectNextMatches(employee -> "1".equals(employee.getId()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testDecode_nullDataIsEmpty() {
+        StepVerifier.create(StreamingEmployeeDecoder.decode(chunks("{\"data\": null, \"status\": \"ok\"}", 5)))
+                .verifyComplete();
+    }
+
+    @Test
+    void testDecode_missingDataFails() {
+        StepVerifier.create(StreamingEmployeeDecoder.decode(chunks("{\"status\": \"ok\"}", 5)))
+                .expectError(DecodingException.class)
+                .verify();
+        StepVerifier.create(StreamingEmployeeDecoder.decode(Flux.empty()))
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    void testDecode_truncatedBodyFails() {
+        int insideSecondEmployee = BODY.indexOf("\"Bob\"");
+
+        StepVerifier.create(StreamingEmployeeDecoder.decode(chunks(BODY.substring(0, insideSecondEmployee), 8)))
+                .expectNextCount(1)
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    void testDecode_malformedBodyFails() {
+        StepVerifier.create(StreamingEmployeeDecoder.decode(chunks("{\"data\": [{\"id\" \"1\"}]}", 4)))
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return Flux.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, chunk * chunkSize, Math.min(bytes.length, (chunk + 1) * chunkSize))));
+    }
+}
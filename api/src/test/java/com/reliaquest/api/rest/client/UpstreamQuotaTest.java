@@ -0,0 +1,48 @@
+package com.reliaquest.api.rest.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.OptionalDouble;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class UpstreamQuotaTest {
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+    private final UpstreamQuota upstreamQuota = new UpstreamQuota(Clock.fixed(now, ZoneOffset.UTC));
+
+    @Test
+    void testRecord_tooManyRequestsHonoursRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "120");
+
+        upstreamQuota.record(429, headers);
+
+        assertEquals(Duration.ofSeconds(120), upstreamQuota.throttledFor());
+    }
+
+    @Test
+    void testRecord_tooManyRequestsWithoutRetryAfterUsesDefault() {
+        upstreamQuota.record(429, new HttpHeaders());
+
+        assertEquals(UpstreamQuota.DEFAULT_RETRY_AFTER, upstreamQuota.throttledFor());
+    }
+
+    @Test
+    void testRecord_rateLimitHeadersGiveRemainingFraction() {
+        assertTrue(upstreamQuota.remainingFraction().isEmpty());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "25");
+        headers.set("X-RateLimit-Limit", "100");
+
+        upstreamQuota.record(200, headers);
+
+        assertEquals(OptionalDouble.of(0.25), upstreamQuota.remainingFraction());
+        assertEquals(Duration.ZERO, upstreamQuota.throttledFor());
+    }
+}
@@ -0,0 +1,186 @@
+package com.reliaquest.api.rest.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.exception.ExternalApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+class UpstreamRequestSchedulerTest {
+
+    private static final long REFILL_INTERVAL_MS = 60_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+    private UpstreamQuota upstreamQuota;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamRequestScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        upstreamQuota = mock(UpstreamQuota.class);
+        when(upstreamQuota.throttledFor()).thenReturn(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = scheduler(3, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testAcquire_reservedPermitsAreKeptForHigherClasses() {
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.PREFETCH)).verifyComplete();
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.PREFETCH))
+                .expectError(ExternalApiException.class)
+                .verify();
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.REFRESH)).verifyComplete();
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.INTERACTIVE)).verifyComplete();
+
+        assertEquals(1.0, rejected(UpstreamPriority.PREFETCH));
+    }
+
+    @Test
+    void testDrain_servesHigherPriorityFirst() {
+        scheduler = scheduler(1, Duration.ofMinutes(1));
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.INTERACTIVE)).verifyComplete();
+        AtomicBoolean refreshGranted = new AtomicBoolean();
+        AtomicBoolean interactiveGranted = new AtomicBoolean();
+        Disposable refresh = scheduler.acquire(UpstreamPriority.REFRESH).subscribe(null, null, () -> {
+            refreshGranted.set(true);
+        });
+        Disposable interactive = scheduler
+                .acquire(UpstreamPriority.INTERACTIVE)
+                .subscribe(null, null, () -> interactiveGranted.set(true));
+
+        advance(REFILL_INTERVAL_MS);
+        scheduler.drain();
+
+        assertTrue(interactiveGranted.get());
+        assertFalse(refreshGranted.get());
+        assertEquals(1, scheduler.queued(UpstreamPriority.REFRESH));
+        // The first interactive call was granted straight away, the second after waiting for the refill.
+        assertEquals(
+                2,
+                meterRegistry
+                        .get("upstream.request.queue.time")
+                        .tag("priority", "interactive")
+                        .timer()
+                        .count());
+        refresh.dispose();
+        interactive.dispose();
+    }
+
+    @Test
+    void testAcquire_waitsBehindQueuedCallsOfSameOrHigherClass() {
+        scheduler = scheduler(2, Duration.ofMinutes(1));
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.INTERACTIVE)).verifyComplete();
+        Disposable refresh = scheduler.acquire(UpstreamPriority.REFRESH).subscribe();
+
+        assertEquals(1, scheduler.queued(UpstreamPriority.REFRESH));
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.INTERACTIVE)).verifyComplete();
+        refresh.dispose();
+    }
+
+    @Test
+    void testAcquire_noPermitsWhileUpstreamThrottles() {
+        when(upstreamQuota.throttledFor()).thenReturn(Duration.ofSeconds(30));
+
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.PREFETCH))
+                .expectErrorMatches(
+                        e -> e instanceof ExternalApiException apiException && apiException.getStatus() == 429)
+                .verify();
+        assertEquals(0.0, scheduler.availablePermits());
+    }
+
+    @Test
+    void testAcquire_rejectedAfterMaxWait() {
+        scheduler = scheduler(1, Duration.ofMillis(50));
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.INTERACTIVE)).verifyComplete();
+
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.INTERACTIVE))
+                .then(() -> timer.advanceTimeBy(Duration.ofMillis(50)))
+                .expectError(ExternalApiException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(0, scheduler.queued(UpstreamPriority.INTERACTIVE));
+        assertEquals(1.0, rejected(UpstreamPriority.INTERACTIVE));
+    }
+
+    @Test
+    void testAcquire_grantAtMaxWaitWinsOverTimeout() {
+        scheduler = scheduler(1, Duration.ofMillis(REFILL_INTERVAL_MS));
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.INTERACTIVE)).verifyComplete();
+
+        // The refill drain and the max-wait timeout of the second call are due at the same moment; the drain runs
+        // first and takes the permit, so the timeout must neither reject the call nor lose the permit.
+        StepVerifier.create(scheduler.acquire(UpstreamPriority.INTERACTIVE))
+                .then(() -> {
+                    advance(REFILL_INTERVAL_MS);
+                    timer.advanceTimeBy(Duration.ofMillis(REFILL_INTERVAL_MS));
+                })
+                .verifyComplete();
+        assertEquals(0.0, rejected(UpstreamPriority.INTERACTIVE));
+        assertEquals(0.0, scheduler.availablePermits());
+    }
+
+    @Test
+    void testSchedule_priorityFromContextOverridesDefault() {
+        scheduler = scheduler(2, Duration.ofMinutes(1));
+        Mono<String> call = scheduler
+                .schedule(UpstreamPriority.INTERACTIVE, Mono.just("sent"))
+                .contextWrite(UpstreamRequestScheduler.priority(UpstreamPriority.PREFETCH));
+
+        StepVerifier.create(call).expectError(ExternalApiException.class).verify();
+        StepVerifier.create(scheduler.schedule(UpstreamPriority.INTERACTIVE, Mono.just("sent")))
+                .expectNext("sent")
+                .verifyComplete();
+    }
+
+    @Test
+    void testSchedule_disabledCallsStraightThrough() {
+        scheduler = new UpstreamRequestScheduler(
+                upstreamQuota, meterRegistry, () -> now.get(), timer, false, 0, REFILL_INTERVAL_MS, 1, 1, Map.of(), 10);
+
+        StepVerifier.create(scheduler.schedule(UpstreamPriority.PREFETCH, Mono.just("sent")))
+                .expectNext("sent")
+                .verifyComplete();
+    }
+
+    private UpstreamRequestScheduler scheduler(int capacity, Duration maxWait) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new UpstreamRequestScheduler(
+                upstreamQuota,
+                meterRegistry,
+                () -> now.get(),
+                timer,
+                true,
+                capacity,
+                REFILL_INTERVAL_MS,
+                1,
+                1,
+                Map.of(UpstreamPriority.INTERACTIVE, maxWait, UpstreamPriority.REFRESH, maxWait),
+                10);
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private double rejected(UpstreamPriority priority) {
+        return meterRegistry
+                .get("upstream.request.rejected")
+                .tag("priority", priority.name().toLowerCase())
+                .counter()
+                .count();
+    }
+}
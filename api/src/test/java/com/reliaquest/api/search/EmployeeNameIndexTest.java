@@ -0,0 +1,147 @@
+package com.reliaquest.api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cluster.EmployeeChangeEvent;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeNameMatch;
+import com.reliaquest.api.store.IEmployeeStore;
+import com.reliaquest.api.store.InMemoryEmployeeStore;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+class EmployeeNameIndexTest {
+
+    private InMemoryEmployeeStore employeeStore;
+    private EmployeeNameIndex nameIndex;
+
+    private final Employee alice = new Employee("id-1", "Alice Cooper", 100000, 30, "Engineer", "alice@example.com");
+    private final Employee bob = new Employee("id-2", "Bob Dylan", 90000, 40, "Manager", "bob@example.com");
+    private final Employee bobby = new Employee("id-3", "Bobby Brown", 80000, 35, "Director", "bobby@example.com");
+
+    @BeforeEach
+    void setUp() {
+        employeeStore = new InMemoryEmployeeStore();
+        employeeStore.saveAll(List.of(alice, bob, bobby)).block();
+        nameIndex = new EmployeeNameIndex(employeeStore);
+        nameIndex.rebuild().block();
+    }
+
+    @Test
+    void testAutocomplete_matchesAnyWordAlphabetically() {
+        assertEquals(List.of(match(bob), match(bobby)), nameIndex.autocomplete("BO", 10));
+        assertEquals(List.of(match(bobby)), nameIndex.autocomplete("bobby b", 10));
+        assertEquals(List.of(match(bob)), nameIndex.autocomplete("dyl", 10));
+        assertEquals(List.of(), nameIndex.autocomplete("bobx", 10));
+    }
+
+    @Test
+    void testAutocomplete_respectsLimitAndDeduplicates() {
+        Employee bobBobson = new Employee("id-4", "Bob Bobson", 1, 20, "Intern", "bb@example.com");
+        nameIndex.onEmployeeChange(EmployeeChangeEvent.created(bobBobson));
+
+        assertEquals(List.of(match(bobBobson), match(bob)), nameIndex.autocomplete("bob", 2));
+        assertEquals(3, nameIndex.autocomplete("bob", 10).size());
+    }
+
+    @Test
+    void testOnEmployeeChange_followsCreatesAndDeletes() {
+        nameIndex.onEmployeeChange(EmployeeChangeEvent.deleted("id-2"));
+        assertEquals(List.of(match(bobby)), nameIndex.autocomplete("bob", 10));
+
+        Employee renamed = new Employee("id-3", "Robert Brown", 80000, 35, "Director", "bobby@example.com");
+        nameIndex.onEmployeeChange(EmployeeChangeEvent.created(renamed));
+        assertEquals(List.of(), nameIndex.autocomplete("bob", 10));
+        assertEquals(List.of(match(renamed)), nameIndex.autocomplete("brown", 10));
+    }
+
+    @Test
+    void testOnEmployeeChange_refreshRebuildsFromStore() {
+        employeeStore.deleteAll().block();
+        employeeStore.saveAll(List.of(alice)).block();
+
+        nameIndex.onEmployeeChange(EmployeeChangeEvent.refreshed(1));
+
+        assertEquals(List.of(), nameIndex.autocomplete("bob", 10));
+        assertEquals(List.of(match(alice)), nameIndex.autocomplete("cooper", 10));
+    }
+
+    @Test
+    void testRebuild_overlappingRebuildsBothComplete() {
+        Mono<Void> first = nameIndex.rebuild();
+        Mono<Void> second = nameIndex.rebuild();
+        first.block();
+        Employee carol = new Employee("id-4", "Carol King", 70000, 45, "Engineer", "carol@example.com");
+        employeeStore.save(carol).block();
+
+        second.block();
+
+        assertEquals(List.of(match(carol)), nameIndex.autocomplete("carol", 10));
+    }
+
+    @Test
+    void testRebuild_olderRebuildFinishingLastIsDropped() {
+        IEmployeeStore store = mock(IEmployeeStore.class);
+        TestPublisher<Employee> slowRead = TestPublisher.create();
+        when(store.findAll()).thenReturn(slowRead.flux(), Flux.just(bob));
+        EmployeeNameIndex index = new EmployeeNameIndex(store);
+
+        StepVerifier.create(index.rebuild())
+                .then(() -> {
+                    index.rebuild().block();
+                    Employee carol = new Employee("id-4", "Carol King", 70000, 45, "Engineer", "carol@example.com");
+                    index.onEmployeeChange(EmployeeChangeEvent.created(carol));
+                    slowRead.emit(alice);
+                })
+                .verifyComplete();
+
+        assertEquals(List.of(), index.autocomplete("alice", 10));
+        assertEquals(List.of(match(bob)), index.autocomplete("bob", 10));
+        assertEquals(1, index.autocomplete("carol", 10).size());
+    }
+
+    @Test
+    void testRebuild_cancelledRebuildDoesNotHoldBackLaterOnes() {
+        IEmployeeStore store = mock(IEmployeeStore.class);
+        when(store.findAll()).thenReturn(Flux.never(), Flux.just(alice));
+        EmployeeNameIndex index = new EmployeeNameIndex(store);
+
+        StepVerifier.create(index.rebuild()).thenCancel().verify();
+        index.rebuild().block();
+
+        assertEquals(List.of(match(alice)), index.autocomplete("alice", 10));
+    }
+
+    @Test
+    void testFuzzySearch_rankedByDistance() {
+        Employee jon = new Employee("id-4", "Jon Smith", 1, 20, "Intern", "jon@example.com");
+        Employee john = new Employee("id-5", "John Smyth", 1, 20, "Intern", "john@example.com");
+        nameIndex.onEmployeeChange(EmployeeChangeEvent.created(jon));
+        nameIndex.onEmployeeChange(EmployeeChangeEvent.created(john));
+
+        assertEquals(List.of(match(jon), match(john)), nameIndex.fuzzySearch("jonh smith", 2, 10));
+        assertEquals(List.of(match(john)), nameIndex.fuzzySearch("john smyth", 0, 10));
+        assertEquals(List.of(match(jon)), nameIndex.fuzzySearch("jonh smith", 2, 1));
+        assertEquals(List.of(match(bob)), nameIndex.fuzzySearch("dilan", 1, 10));
+        assertEquals(List.of(), nameIndex.fuzzySearch("dilan", 0, 10));
+    }
+
+    @Test
+    void testFuzzySearch_forgetsDeletedEmployees() {
+        nameIndex.onEmployeeChange(EmployeeChangeEvent.deleted("id-2"));
+
+        assertEquals(List.of(), nameIndex.fuzzySearch("dylan", 1, 10));
+        assertEquals(List.of(match(bobby)), nameIndex.fuzzySearch("bob", 2, 10));
+    }
+
+    private static EmployeeNameMatch match(Employee employee) {
+        return new EmployeeNameMatch(employee.getId(), employee.getName());
+    }
+}
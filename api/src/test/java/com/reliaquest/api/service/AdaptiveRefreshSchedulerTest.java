@@ -0,0 +1,124 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.exception.ExternalApiException;
+import com.reliaquest.api.rest.client.UpstreamQuota;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.OptionalDouble;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class AdaptiveRefreshSchedulerTest {
+
+    private static final long BASE = 300_000;
+    private static final long MIN = 30_000;
+    private static final long MAX = 1_800_000;
+
+    private EmployeeService employeeService;
+    private UpstreamQuota upstreamQuota;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveRefreshScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = mock(EmployeeService.class);
+        upstreamQuota = mock(UpstreamQuota.class);
+        when(upstreamQuota.throttledFor()).thenReturn(Duration.ZERO);
+        when(upstreamQuota.remainingFraction()).thenReturn(OptionalDouble.empty());
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = scheduler(true);
+    }
+
+    @Test
+    void testDecide_highChurnHalvesInterval() {
+        assertEquals(BASE / 2, decide(RefreshOutcome.refreshed(100, 0.05)));
+    }
+
+    @Test
+    void testDecide_noChangesStretchesInterval() {
+        assertEquals(BASE * 3 / 2, decide(RefreshOutcome.refreshed(100, 0.0)));
+    }
+
+    @Test
+    void testDecide_lowChurnOrFirstRefreshKeepsInterval() {
+        assertEquals(BASE, decide(RefreshOutcome.refreshed(100, 0.005)));
+        assertEquals(BASE, decide(RefreshOutcome.refreshed(100, Double.NaN)));
+        assertEquals(BASE, decide(RefreshOutcome.skipped()));
+    }
+
+    @Test
+    void testDecide_throttledBacksOffToAtLeastRetryAfter() {
+        assertEquals(BASE * 2, decide(RefreshOutcome.failed(new ExternalApiException("Too Many Requests", 429))));
+        assertEquals(
+                1_000_000,
+                scheduler.decide(
+                        BASE,
+                        RefreshOutcome.refreshed(100, 0.5),
+                        Duration.ofMillis(1_000_000),
+                        OptionalDouble.empty()));
+    }
+
+    @Test
+    void testDecide_otherFailuresKeepInterval() {
+        assertEquals(BASE, decide(RefreshOutcome.failed(new ExternalApiException("Bad Gateway", 502))));
+    }
+
+    @Test
+    void testDecide_lowRemainingQuotaOverridesChurn() {
+        assertEquals(
+                BASE * 2,
+                scheduler.decide(BASE, RefreshOutcome.refreshed(100, 0.5), Duration.ZERO, OptionalDouble.of(0.1)));
+        assertEquals(
+                BASE / 2,
+                scheduler.decide(BASE, RefreshOutcome.refreshed(100, 0.5), Duration.ZERO, OptionalDouble.of(0.9)));
+    }
+
+    @Test
+    void testDecide_clampedToBounds() {
+        assertEquals(
+                MIN, scheduler.decide(MIN, RefreshOutcome.refreshed(100, 1.0), Duration.ZERO, OptionalDouble.empty()));
+        assertEquals(
+                MAX, scheduler.decide(MAX, RefreshOutcome.refreshed(100, 0.0), Duration.ZERO, OptionalDouble.empty()));
+    }
+
+    @Test
+    void testDecide_disabledKeepsFixedInterval() {
+        scheduler = scheduler(false);
+
+        assertEquals(BASE, decide(RefreshOutcome.refreshed(100, 0.5)));
+        assertEquals(BASE, decide(RefreshOutcome.failed(new ExternalApiException("Too Many Requests", 429))));
+    }
+
+    @Test
+    void testRefresh_appliesOutcomeToIntervalAndGauges() {
+        when(employeeService.refreshCache()).thenReturn(Mono.just(RefreshOutcome.refreshed(100, 0.25)));
+
+        scheduler.refresh();
+
+        assertEquals(BASE / 2, scheduler.currentIntervalMillis());
+        assertEquals(
+                BASE / 2.0,
+                meterRegistry.get("employee.cache.refresh.interval").gauge().value());
+        assertEquals(
+                0.25,
+                meterRegistry
+                        .get("employee.cache.refresh.changed.ratio")
+                        .gauge()
+                        .value());
+    }
+
+    private long decide(RefreshOutcome outcome) {
+        return scheduler.decide(BASE, outcome, Duration.ZERO, OptionalDouble.empty());
+    }
+
+    private AdaptiveRefreshScheduler scheduler(boolean adaptive) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new AdaptiveRefreshScheduler(
+                employeeService, upstreamQuota, meterRegistry, BASE, adaptive, MIN, MAX, 0.1, 0.01, 0.2);
+    }
+}
@@ -1,8 +1,13 @@
 package com.reliaquest.api.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -12,19 +17,43 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redis.lettucemod.api.StatefulRedisModulesConnection;
 import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
 import com.redis.lettucemod.search.Document;
+import com.redis.lettucemod.search.SearchOptions;
 import com.redis.lettucemod.search.SearchResults;
+import com.reliaquest.api.cluster.EmployeeChangeEvent;
+import com.reliaquest.api.cluster.IEmployeeChangePublisher;
+import com.reliaquest.api.cluster.IRefreshLeaderElection;
+import com.reliaquest.api.cluster.SingleNodeLeaderElection;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.ExternalApiException;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import com.reliaquest.api.model.EmployeePageCursor;
+import com.reliaquest.api.model.EmployeeSortKey;
 import com.reliaquest.api.rest.client.EmployeeApiClientV1;
+import com.reliaquest.api.store.EmployeeStoreStats;
+import com.reliaquest.api.store.InMemoryEmployeeStore;
+import com.reliaquest.api.store.RedisEmployeeStore;
+import com.reliaquest.api.store.RedisLuaScript;
+import com.reliaquest.api.tracing.FinishedSpan;
+import com.reliaquest.api.tracing.Tracer;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisNoScriptException;
 import io.lettuce.core.ScoredValue;
+import io.lettuce.core.ScriptOutputType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Flux;
@@ -42,7 +71,9 @@ class EmployeeServiceTest {
     @Mock
     private RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
 
-    @InjectMocks
+    @Mock
+    private IEmployeeChangePublisher changePublisher;
+
     private EmployeeService employeeService;
 
     private ObjectMapper objectMapper = new ObjectMapper();
@@ -51,7 +82,16 @@ class EmployeeServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         when(redisModulesConnection.reactive()).thenReturn(redisModulesReactiveCommands);
-        employeeService = new EmployeeService(employeeApiClient, redisModulesConnection, objectMapper);
+        when(changePublisher.publish(any())).thenReturn(Mono.empty());
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new RedisEmployeeStore(redisModulesConnection, objectMapper, Tracer.disabled()),
+                new SingleNodeLeaderElection(false),
+                changePublisher,
+                new RefreshHistory(20),
+                Tracer.disabled(),
+                500,
+                100);
     }
 
     @Test
@@ -109,18 +149,12 @@ class EmployeeServiceTest {
         when(redisModulesReactiveCommands.keys("employee:*")).thenReturn(Flux.just("employee:old1", "employee:old2"));
         when(redisModulesReactiveCommands.del("employee:old1")).thenReturn(Mono.just(1L));
         when(redisModulesReactiveCommands.del("employee:old2")).thenReturn(Mono.just(1L));
-        when(redisModulesReactiveCommands.del("employee_salaries")).thenReturn(Mono.just(1L));
+        when(redisModulesReactiveCommands.del(
+                        "employee_salaries", "employee_order:name", "employee_order:salary", "employee_order:age"))
+                .thenReturn(Mono.just(1L));
 
         // Simulate storing and indexing
-        when(redisModulesReactiveCommands.jsonSet(eq("employee:id-1"), eq("$"), contains("Alice")))
-                .thenReturn(Mono.just("OK"));
-        when(redisModulesReactiveCommands.jsonSet(eq("employee:id-2"), eq("$"), contains("Bob")))
-                .thenReturn(Mono.just("OK"));
-
-        when(redisModulesReactiveCommands.zadd("employee_salaries", 100000.0, "id-1"))
-                .thenReturn(Mono.just(1L));
-        when(redisModulesReactiveCommands.zadd("employee_salaries", 90000.0, "id-2"))
-                .thenReturn(Mono.just(1L));
+        givenScript(RedisEmployeeStore.UPSERT_SCRIPT, Flux.just(1L));
 
         // When
         employeeService.refreshAllEmployeesCache();
@@ -129,13 +163,353 @@ class EmployeeServiceTest {
         verify(redisModulesReactiveCommands).keys("employee:*");
         verify(redisModulesReactiveCommands).del("employee:old1");
         verify(redisModulesReactiveCommands).del("employee:old2");
-        verify(redisModulesReactiveCommands).del("employee_salaries");
+        verify(redisModulesReactiveCommands)
+                .del("employee_salaries", "employee_order:name", "employee_order:salary", "employee_order:age");
+
+        verifyUpsert("id-1", "Alice", "100000");
+        verifyUpsert("id-2", "Bob", "90000");
+        verify(changePublisher)
+                .publish(argThat(event -> event.type() == EmployeeChangeEvent.Type.REFRESHED && event.count() == 2));
+    }
+
+    @Test
+    void testRefreshAllEmployeesCache_skippedWhenNotLeader() {
+        IRefreshLeaderElection follower = mock(IRefreshLeaderElection.class);
+        when(follower.acquire()).thenReturn(Mono.empty());
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new RedisEmployeeStore(redisModulesConnection, objectMapper, Tracer.disabled()),
+                follower,
+                changePublisher,
+                new RefreshHistory(20),
+                Tracer.disabled(),
+                500,
+                100);
+
+        employeeService.refreshAllEmployeesCache();
+
+        verify(employeeApiClient, never()).getAllEmployeesResponse();
+        verify(redisModulesReactiveCommands, never()).keys(anyString());
+    }
+
+    @Test
+    void testRefreshAllEmployeesCache_fencedByNewerTerm() {
+        IRefreshLeaderElection staleLeader = mock(IRefreshLeaderElection.class);
+        when(staleLeader.acquire()).thenReturn(Mono.just(3L));
+        when(staleLeader.fence(3L)).thenReturn(Mono.just(false));
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new RedisEmployeeStore(redisModulesConnection, objectMapper, Tracer.disabled()),
+                staleLeader,
+                changePublisher,
+                new RefreshHistory(20),
+                Tracer.disabled(),
+                500,
+                100);
+        when(employeeApiClient.getAllEmployeesResponse())
+                .thenReturn(Flux.just(new Employee("id-1", "Alice", 100000, 30, "Engineer", "alice@example.com")));
+
+        employeeService.refreshAllEmployeesCache();
+
+        verify(staleLeader).fence(3L);
+        verify(redisModulesReactiveCommands, never()).keys(anyString());
+        verify(redisModulesReactiveCommands, never())
+                .evalsha(anyString(), any(ScriptOutputType.class), any(String[].class), any(String[].class));
+    }
+
+    @Test
+    void testRefreshCache_staleLeaderStoppedAtFencedWrite() {
+        IRefreshLeaderElection stalledLeader = mock(IRefreshLeaderElection.class);
+        when(stalledLeader.acquire()).thenReturn(Mono.just(3L));
+        when(stalledLeader.fence(3L)).thenReturn(Mono.just(true));
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new RedisEmployeeStore(redisModulesConnection, objectMapper, Tracer.disabled()),
+                stalledLeader,
+                changePublisher,
+                new RefreshHistory(20),
+                Tracer.disabled(),
+                500,
+                100);
+        when(employeeApiClient.getAllEmployeesResponse())
+                .thenReturn(Flux.just(new Employee("id-1", "Alice", 100000, 30, "Engineer", "alice@example.com")));
+        when(redisModulesReactiveCommands.keys("employee:*")).thenReturn(Flux.just("employee:old1"));
+        // A newer term claimed the cache between fence() and the first write.
+        givenScript(RedisEmployeeStore.FENCED_DELETE_SCRIPT, Flux.just(-1L));
+
+        StepVerifier.create(employeeService.refreshCache())
+                .expectNextMatches(outcome -> !outcome.refreshed() && outcome.error() == null)
+                .verifyComplete();
+
+        verify(redisModulesReactiveCommands)
+                .evalsha(
+                        eq(RedisEmployeeStore.FENCED_DELETE_SCRIPT.getSha()),
+                        eq(ScriptOutputType.INTEGER),
+                        aryEq(new String[] {
+                            "employee_refresh_fenced_token",
+                            "employee:old1",
+                            "employee_salaries",
+                            "employee_order:name",
+                            "employee_order:salary",
+                            "employee_order:age"
+                        }),
+                        eq("3"));
+        verify(redisModulesReactiveCommands, never())
+                .evalsha(
+                        eq(RedisEmployeeStore.FENCED_SAVE_SCRIPT.getSha()),
+                        any(ScriptOutputType.class),
+                        any(String[].class),
+                        any(String[].class));
+    }
+
+    @Test
+    void testRefreshCache_fencedWritesCarryTheToken() throws Exception {
+        IRefreshLeaderElection leader = mock(IRefreshLeaderElection.class);
+        when(leader.acquire()).thenReturn(Mono.just(3L));
+        when(leader.fence(3L)).thenReturn(Mono.just(true));
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new RedisEmployeeStore(redisModulesConnection, objectMapper, Tracer.disabled()),
+                leader,
+                changePublisher,
+                new RefreshHistory(20),
+                Tracer.disabled(),
+                500,
+                100);
+        Employee alice = new Employee("id-1", "Alice", 100000, 30, "Engineer", "alice@example.com");
+        when(employeeApiClient.getAllEmployeesResponse()).thenReturn(Flux.just(alice));
+        when(redisModulesReactiveCommands.keys("employee:*")).thenReturn(Flux.empty());
+        givenScript(RedisEmployeeStore.FENCED_DELETE_SCRIPT, Flux.just(1L));
+        givenScript(RedisEmployeeStore.FENCED_SAVE_SCRIPT, Flux.just(1L));
+
+        StepVerifier.create(employeeService.refreshCache())
+                .expectNextMatches(outcome -> outcome.refreshed() && outcome.employees() == 1)
+                .verifyComplete();
+
+        verify(redisModulesReactiveCommands)
+                .evalsha(
+                        eq(RedisEmployeeStore.FENCED_SAVE_SCRIPT.getSha()),
+                        eq(ScriptOutputType.INTEGER),
+                        aryEq(new String[] {
+                            "employee_refresh_fenced_token",
+                            "employee_salaries",
+                            "employee_order:name",
+                            "employee_order:salary",
+                            "employee_order:age",
+                            "employee:id-1"
+                        }),
+                        aryEq(new String[] {"3", objectMapper.writeValueAsString(alice), "100000", "id-1"}));
+    }
+
+    @Test
+    void testRefreshCache_reportsChangedRatioSincePreviousRefresh() {
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new InMemoryEmployeeStore(),
+                new SingleNodeLeaderElection(false),
+                changePublisher,
+                new RefreshHistory(20),
+                Tracer.disabled(),
+                500,
+                100);
+        List<Employee> before = IntStream.range(0, 10)
+                .mapToObj(i -> new Employee("id-" + i, "Employee " + i, 50000, 30, "Engineer", i + "@example.com"))
+                .collect(Collectors.toList());
+        List<Employee> after = new ArrayList<>(before);
+        after.set(0, new Employee("id-0", "Employee 0", 60000, 30, "Engineer", "0@example.com"));
+        when(employeeApiClient.getAllEmployeesResponse())
+                .thenReturn(Flux.fromIterable(before))
+                .thenReturn(Flux.fromIterable(after));
+
+        StepVerifier.create(employeeService.refreshCache())
+                .expectNextMatches(outcome ->
+                        outcome.refreshed() && outcome.employees() == 10 && Double.isNaN(outcome.changedRatio()))
+                .verifyComplete();
+        StepVerifier.create(employeeService.refreshCache())
+                .expectNextMatches(outcome -> outcome.refreshed() && outcome.changedRatio() == 0.1)
+                .verifyComplete();
+    }
+
+    @Test
+    void testRefreshCache_reportsFailureInsteadOfErroring() {
+        when(employeeApiClient.getAllEmployeesResponse())
+                .thenReturn(Flux.error(new ExternalApiException("Too Many Requests", 429)));
+
+        StepVerifier.create(employeeService.refreshCache())
+                .expectNextMatches(outcome -> !outcome.refreshed() && outcome.error() instanceof ExternalApiException)
+                .verifyComplete();
+    }
+
+    @Test
+    void testRefreshCache_recordsStageTimings() {
+        RefreshHistory refreshHistory = new RefreshHistory(20);
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new InMemoryEmployeeStore(),
+                new SingleNodeLeaderElection(false),
+                changePublisher,
+                refreshHistory,
+                Tracer.disabled(),
+                500,
+                100);
+        when(employeeApiClient.getAllEmployeesResponse())
+                .thenReturn(Flux.just(new Employee("id-1", "Alice", 100000, 30, "Engineer", "alice@example.com")))
+                .thenReturn(Flux.error(new ExternalApiException("Too Many Requests", 429)));
+
+        employeeService.refreshCache().block();
+        employeeService.refreshCache().block();
+
+        List<RefreshHistory.Refresh> refreshes = refreshHistory.recent();
+        assertEquals(2, refreshes.size());
+        assertEquals("failed", refreshes.get(0).status());
+        assertEquals("Too Many Requests", refreshes.get(0).error());
+        assertEquals(-1, refreshes.get(0).deleteMs());
+        assertEquals("refreshed", refreshes.get(1).status());
+        assertEquals(1, refreshes.get(1).employees());
+        assertTrue(refreshes.get(1).fetchMs() >= 0);
+        assertTrue(refreshes.get(1).deleteMs() >= 0);
+        assertTrue(refreshes.get(1).indexMs() >= 0);
+        assertTrue(refreshHistory.lastRefreshedAt().isPresent());
+    }
+
+    @Test
+    void testRedisStoreStats_readsIndexAndSalaryCounts() {
+        when(redisModulesReactiveCommands.ftInfo("employeeIdx"))
+                .thenReturn(Mono.just(List.of("index_name", "employeeIdx", "num_docs", "42", "max_doc_id", "50")));
+        when(redisModulesReactiveCommands.zcard("employee_salaries")).thenReturn(Mono.just(42L));
+
+        StepVerifier.create(new RedisEmployeeStore(redisModulesConnection, objectMapper, Tracer.disabled()).stats())
+                .expectNext(new EmployeeStoreStats("redis", true, 42, 42))
+                .verifyComplete();
+    }
+
+    @Test
+    void testRedisStoreStats_reportsMissingIndex() {
+        when(redisModulesReactiveCommands.ftInfo("employeeIdx"))
+                .thenReturn(Mono.error(new RedisCommandExecutionException("Unknown Index name")));
+        when(redisModulesReactiveCommands.zcard("employee_salaries")).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(new RedisEmployeeStore(redisModulesConnection, objectMapper, Tracer.disabled()).stats())
+                .expectNext(new EmployeeStoreStats("redis", false, -1, 0))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetEmployeesBySalaryRange_singlePagedSearch() throws Exception {
+        Employee emp = new Employee("1", "Alice", 75000, 30, "Developer", "alice@example.com");
+        Document<String, String> doc = Document.<String, String>id("employee:1")
+                .score(1.0)
+                .field("$", objectMapper.writeValueAsString(emp))
+                .build();
+        SearchResults<String, String> results = new SearchResults<>();
+        results.add(doc);
+        results.setCount(1);
+
+        when(redisModulesReactiveCommands.ftSearch(eq("employeeIdx"), eq("@salary:[50000 100000]"), anySearchOptions()))
+                .thenReturn(Mono.just(results));
+
+        StepVerifier.create(employeeService.getEmployeesBySalaryRange(50000, 100000, 20, 10))
+                .expectNext(emp)
+                .verifyComplete();
+
+        verify(redisModulesReactiveCommands, never()).keys(anyString());
+    }
+
+    @Test
+    void testGetEmployeesByAgeRange_queriesAgeField() {
+        when(redisModulesReactiveCommands.ftSearch(eq("employeeIdx"), eq("@age:[30 40]"), anySearchOptions()))
+                .thenReturn(Mono.just(new SearchResults<>()));
+
+        StepVerifier.create(employeeService.getEmployeesByAgeRange(30, 40, 0, 10))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetEmployeePage_continuesAfterCursorAndProjectsFields() {
+        when(redisModulesReactiveCommands.zrangebylex(
+                        eq("employee_order:name"),
+                        argThat((Range<String> range) -> !range.getLower().isIncluding()
+                                && "aaron\0id-0".equals(range.getLower().getValue())
+                                && range.getUpper().isUnbounded()),
+                        argThat((Limit limit) -> limit.getOffset() == 0 && limit.getCount() == 2)))
+                .thenReturn(Flux.just("alice\0id-1", "bob\0id-2"));
+        SearchResults<String, String> results = new SearchResults<>();
+        // FT.SEARCH answers in its own order, with the sort field although only the IDs were asked for.
+        results.add(Document.<String, String>id("employee:id-2")
+                .field("$.id", "\"id-2\"")
+                .field("$.name", "\"Bob\"")
+                .build());
+        results.add(Document.<String, String>id("employee:id-1")
+                .field("$.id", "\"id-1\"")
+                .field("$.name", "\"Alice\"")
+                .build());
+        when(redisModulesReactiveCommands.ftSearch(eq("employeeIdx"), eq("@id:{id\\-1|id\\-2}"), anySearchOptions()))
+                .thenReturn(Mono.just(results));
+
+        EmployeePageCursor cursor = new EmployeePageCursor(EmployeeSortKey.NAME, "Aaron", "id-0");
+        StepVerifier.create(employeeService.getEmployeePage(cursor, 1, EnumSet.of(EmployeeField.ID)))
+                .assertNext(page -> {
+                    assertEquals(List.of(Employee.builder().id("id-1").build()), page.getEmployees());
+                    assertEquals(
+                            new EmployeePageCursor(EmployeeSortKey.NAME, "Alice", "id-1"),
+                            EmployeePageCursor.decode(page.getNextCursor()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetEmployeePage_lastPageHasNoCursor() throws Exception {
+        Employee emp = new Employee("1", "Alice", 75000, 30, "Developer", "alice@example.com");
+        when(redisModulesReactiveCommands.zrangebylex(
+                        eq("employee_order:salary"),
+                        argThat((Range<String> range) -> range.getLower().isUnbounded()
+                                && range.getUpper().isUnbounded()),
+                        argThat((Limit limit) -> limit.getOffset() == 0 && limit.getCount() == 51)))
+                .thenReturn(Flux.just("2147558648\01"));
+        when(redisModulesReactiveCommands.jsonMget(eq("."), any(String[].class)))
+                .thenReturn(Flux.just(KeyValue.just("employee:1", objectMapper.writeValueAsString(emp))));
+
+        StepVerifier.create(employeeService.getEmployeePage(
+                        EmployeePageCursor.start(EmployeeSortKey.SALARY), 50, EnumSet.allOf(EmployeeField.class)))
+                .assertNext(page -> {
+                    assertEquals(List.of(emp), page.getEmployees());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetEmployeesByIds_deduplicatesAndReportsMissing() throws Exception {
+        Employee alice = new Employee("1", "Alice", 75000, 30, "Developer", "alice@example.com");
+        Employee bob = new Employee("2", "Bob", 65000, 40, "Tester", "bob@example.com");
+
+        when(redisModulesReactiveCommands.jsonMget(eq("."), any(String[].class)))
+                .thenReturn(Flux.just(
+                        KeyValue.just("employee:1", objectMapper.writeValueAsString(alice)),
+                        KeyValue.empty("employee:3"),
+                        KeyValue.just("employee:2", objectMapper.writeValueAsString(bob))));
+
+        StepVerifier.create(employeeService.getEmployeesByIds(List.of("1", "3", "1", "2")))
+                .assertNext(batch -> {
+                    assertEquals(List.of(alice, bob), batch.getEmployees());
+                    assertEquals(List.of("3"), batch.getMissingIds());
+                })
+                .verifyComplete();
+
+        verify(redisModulesReactiveCommands).jsonMget(".", "employee:1", "employee:3", "employee:2");
+    }
 
-        verify(redisModulesReactiveCommands).jsonSet(eq("employee:id-1"), eq("$"), contains("Alice"));
-        verify(redisModulesReactiveCommands).jsonSet(eq("employee:id-2"), eq("$"), contains("Bob"));
+    @Test
+    void testGetEmployeesByIds_chunksLargeBatches() {
+        List<String> ids = IntStream.range(0, 250).mapToObj(String::valueOf).toList();
+        when(redisModulesReactiveCommands.jsonMget(eq("."), any(String[].class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(employeeService.getEmployeesByIds(ids))
+                .assertNext(batch -> assertEquals(ids, batch.getMissingIds()))
+                .verifyComplete();
 
-        verify(redisModulesReactiveCommands).zadd("employee_salaries", 100000.0, "id-1");
-        verify(redisModulesReactiveCommands).zadd("employee_salaries", 90000.0, "id-2");
+        verify(redisModulesReactiveCommands, times(3)).jsonMget(eq("."), any(String[].class));
     }
 
     @Test
@@ -158,6 +532,107 @@ class EmployeeServiceTest {
         verify(redisModulesReactiveCommands).jsonGet(redisKey);
     }
 
+    @Test
+    void testGetEmployeeById_concurrentCallsShareOneMget() throws Exception {
+        employeeService = batchingService(50_000, 100);
+        Employee alice = new Employee("1", "Alice", 75000, 30, "Developer", "alice@example.com");
+        Employee bob = new Employee("2", "Bob", 65000, 40, "Tester", "bob@example.com");
+
+        when(redisModulesReactiveCommands.jsonMget(eq("."), any(String[].class)))
+                .thenReturn(Flux.just(
+                        KeyValue.just("employee:1", objectMapper.writeValueAsString(alice)),
+                        KeyValue.just("employee:2", objectMapper.writeValueAsString(bob)),
+                        KeyValue.empty("employee:3")));
+
+        StepVerifier.create(Mono.zip(
+                        employeeService.getEmployeeById("1"),
+                        employeeService.getEmployeeById("2"),
+                        employeeService.getEmployeeById("1"),
+                        employeeService.getEmployeeById("3").hasElement()))
+                .assertNext(results -> {
+                    assertEquals(alice, results.getT1());
+                    assertEquals(bob, results.getT2());
+                    assertEquals(alice, results.getT3());
+                    assertEquals(false, results.getT4());
+                })
+                .verifyComplete();
+
+        verify(redisModulesReactiveCommands).jsonMget(".", "employee:1", "employee:2", "employee:3");
+        verify(redisModulesReactiveCommands, never()).jsonGet(anyString());
+    }
+
+    @Test
+    void testGetEmployeeById_fullBatchIsSentBeforeWindowCloses() {
+        employeeService = batchingService(60_000_000, 2);
+
+        when(redisModulesReactiveCommands.jsonMget(eq("."), any(String[].class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(Mono.zip(
+                        employeeService.getEmployeeById("1").hasElement(),
+                        employeeService.getEmployeeById("2").hasElement()))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testGetEmployeeById_storeErrorReachesEveryCaller() {
+        employeeService = batchingService(50_000, 100);
+
+        when(redisModulesReactiveCommands.jsonMget(eq("."), any(String[].class)))
+                .thenReturn(Flux.error(new RuntimeException("Redis down")));
+
+        StepVerifier.create(Flux.merge(
+                                employeeService.getEmployeeById("1").onErrorResume(e -> Mono.just(new Employee())),
+                                employeeService.getEmployeeById("2").onErrorResume(e -> Mono.just(new Employee())))
+                        .count())
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetEmployeeById_sampledCallsSkipTheBatchAndTraceTheirLookup() throws Exception {
+        List<FinishedSpan> spans = new CopyOnWriteArrayList<>();
+        Tracer tracer = new Tracer(1.0, spans::add);
+        employeeService = batchingService(50_000, 100, tracer);
+        Employee alice = new Employee("1", "Alice", 75000, 30, "Developer", "alice@example.com");
+        when(redisModulesReactiveCommands.jsonGet("employee:1"))
+                .thenReturn(Mono.just(objectMapper.writeValueAsString(alice)));
+
+        StepVerifier.create(employeeService.getEmployeeById("1"))
+                .expectNext(alice)
+                .verifyComplete();
+
+        verify(redisModulesReactiveCommands, never()).jsonMget(eq("."), any(String[].class));
+        FinishedSpan operation = spans.stream()
+                .filter(span -> span.name().equals("EmployeeService.getEmployeeById"))
+                .findFirst()
+                .orElseThrow();
+        FinishedSpan lookup = spans.stream()
+                .filter(span -> span.name().equals("redis JSON.GET"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(operation.traceId(), lookup.traceId());
+        assertEquals(operation.spanId(), lookup.parentSpanId());
+    }
+
+    @Test
+    void testGetEmployeeById_unsampledCallsAreStillBatched() {
+        employeeService = batchingService(50_000, 100, new Tracer(Double.MIN_VALUE, span -> {}));
+        when(redisModulesReactiveCommands.jsonMget(eq("."), any(String[].class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(Mono.zip(
+                        employeeService.getEmployeeById("1").hasElement(),
+                        employeeService.getEmployeeById("2").hasElement()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(redisModulesReactiveCommands).jsonMget(".", "employee:1", "employee:2");
+        verify(redisModulesReactiveCommands, never()).jsonGet(anyString());
+    }
+
     @Test
     void testGetHighestSalaryOfEmployees_returnsHighest() {
         String highestPaidId = "id-999";
@@ -221,11 +696,8 @@ class EmployeeServiceTest {
         // Mock downstream create
         when(employeeApiClient.createEmployee(eq(input))).thenReturn(Mono.just(expectedEmployee));
 
-        // Mock Redis JSON and ZADD
-        when(redisModulesReactiveCommands.jsonSet(eq("employee:emp-1"), eq("$"), contains("Test User")))
-                .thenReturn(Mono.just("OK"));
-        when(redisModulesReactiveCommands.zadd(eq("employee_salaries"), eq(120000.0), eq("emp-1")))
-                .thenReturn(Mono.just(1L));
+        // Mock the upsert script (JSON.SET + ZADD)
+        givenScript(RedisEmployeeStore.UPSERT_SCRIPT, Flux.just(1L));
 
         // Act & Assert
         StepVerifier.create(employeeService.createEmployee(input))
@@ -233,8 +705,10 @@ class EmployeeServiceTest {
                 .verifyComplete();
 
         // Verify side effects
-        verify(redisModulesReactiveCommands).jsonSet(eq("employee:emp-1"), eq("$"), contains("Test User"));
-        verify(redisModulesReactiveCommands).zadd("employee_salaries", 120000.0, "emp-1");
+        verifyUpsert("emp-1", "Test User", "120000");
+        verify(changePublisher)
+                .publish(argThat(event -> event.type() == EmployeeChangeEvent.Type.CREATED
+                        && event.employeeId().equals("emp-1")));
     }
 
     @Test
@@ -267,14 +741,13 @@ class EmployeeServiceTest {
         Employee employee = new Employee("emp-1", "Test User", 120000, 30, "Engineer", "test@example.com");
 
         when(employeeApiClient.createEmployee(eq(input))).thenReturn(Mono.just(employee));
-        when(redisModulesReactiveCommands.jsonSet(eq("employee:emp-1"), eq("$"), contains("Test User")))
-                .thenReturn(Mono.error(new RuntimeException("Redis JSON failure")));
+        givenScript(RedisEmployeeStore.UPSERT_SCRIPT, Flux.error(new RuntimeException("Redis JSON failure")));
 
         StepVerifier.create(employeeService.createEmployee(input))
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(redisModulesReactiveCommands).jsonSet(any(), any(), any());
+        verifyUpsert("emp-1", "Test User", "120000");
         verify(redisModulesReactiveCommands, never()).zadd(any(), anyDouble(), any());
     }
 
@@ -292,9 +765,8 @@ class EmployeeServiceTest {
         // Mock: downstream delete by name succeeds
         when(employeeApiClient.deleteEmployeeByName("Alice")).thenReturn(Mono.just(true));
 
-        // Mock: Redis DEL and ZREM succeed
-        when(redisModulesReactiveCommands.del(redisKey)).thenReturn(Mono.just(1L));
-        when(redisModulesReactiveCommands.zrem("employee_salaries", id)).thenReturn(Mono.just(1L));
+        // Mock: the delete script (DEL + ZREM) succeeds
+        givenScript(RedisEmployeeStore.DELETE_SCRIPT, Flux.just(1L));
 
         // Execute & verify
         StepVerifier.create(employeeService.deleteEmployeeById(id))
@@ -303,8 +775,22 @@ class EmployeeServiceTest {
 
         verify(redisModulesReactiveCommands).jsonGet(redisKey);
         verify(employeeApiClient).deleteEmployeeByName("Alice");
-        verify(redisModulesReactiveCommands).del(redisKey);
-        verify(redisModulesReactiveCommands).zrem("employee_salaries", id);
+        verify(redisModulesReactiveCommands)
+                .evalsha(
+                        eq(RedisEmployeeStore.DELETE_SCRIPT.getSha()),
+                        eq(ScriptOutputType.INTEGER),
+                        aryEq(new String[] {
+                            redisKey,
+                            "employee_salaries",
+                            "employee_order:name",
+                            "employee_order:salary",
+                            "employee_order:age"
+                        }),
+                        eq(id));
+        verify(redisModulesReactiveCommands, never()).del(redisKey);
+        verify(changePublisher)
+                .publish(argThat(event -> event.type() == EmployeeChangeEvent.Type.DELETED
+                        && event.employeeId().equals(id)));
     }
 
     @Test
@@ -342,11 +828,91 @@ class EmployeeServiceTest {
 
         when(employeeApiClient.deleteEmployeeByName("Alice")).thenReturn(Mono.just(true));
 
-        when(redisModulesReactiveCommands.del("employee:" + id))
-                .thenReturn(Mono.error(new RuntimeException("Redis DEL error")));
+        givenScript(RedisEmployeeStore.DELETE_SCRIPT, Flux.error(new RuntimeException("Redis DEL error")));
 
         StepVerifier.create(employeeService.deleteEmployeeById(id))
                 .expectError(RuntimeException.class)
                 .verify();
     }
+
+    @Test
+    void testCreateEmployee_scriptNotCached_fallsBackToEval() {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Test User");
+        input.setAge(30);
+        input.setSalary(120000);
+        input.setTitle("Engineer");
+        Employee employee = new Employee("emp-1", "Test User", 120000, 30, "Engineer", "test@example.com");
+
+        when(employeeApiClient.createEmployee(eq(input))).thenReturn(Mono.just(employee));
+        givenScript(RedisEmployeeStore.UPSERT_SCRIPT, Flux.error(new RedisNoScriptException("NOSCRIPT")));
+        when(redisModulesReactiveCommands.eval(
+                        eq(RedisEmployeeStore.UPSERT_SCRIPT.getSource()),
+                        eq(ScriptOutputType.INTEGER),
+                        any(String[].class),
+                        any(String[].class)))
+                .thenReturn(Flux.just(1L));
+
+        StepVerifier.create(employeeService.createEmployee(input))
+                .expectNext(employee)
+                .verifyComplete();
+
+        verify(redisModulesReactiveCommands)
+                .eval(
+                        eq(RedisEmployeeStore.UPSERT_SCRIPT.getSource()),
+                        eq(ScriptOutputType.INTEGER),
+                        aryEq(new String[] {
+                            "employee:emp-1",
+                            "employee_salaries",
+                            "employee_order:name",
+                            "employee_order:salary",
+                            "employee_order:age"
+                        }),
+                        contains("Test User"),
+                        eq("120000"),
+                        eq("emp-1"));
+    }
+
+    private static SearchOptions<String, String> anySearchOptions() {
+        return ArgumentMatchers.any();
+    }
+
+    private void givenScript(RedisLuaScript script, Flux<Long> result) {
+        when(redisModulesReactiveCommands.<Long>evalsha(
+                        eq(script.getSha()), eq(ScriptOutputType.INTEGER), any(String[].class), any(String[].class)))
+                .thenReturn(result);
+    }
+
+    private void verifyUpsert(String id, String name, String salary) {
+        verify(redisModulesReactiveCommands)
+                .evalsha(
+                        eq(RedisEmployeeStore.UPSERT_SCRIPT.getSha()),
+                        eq(ScriptOutputType.INTEGER),
+                        aryEq(new String[] {
+                            "employee:" + id,
+                            "employee_salaries",
+                            "employee_order:name",
+                            "employee_order:salary",
+                            "employee_order:age"
+                        }),
+                        contains(name),
+                        eq(salary),
+                        eq(id));
+    }
+
+    private EmployeeService batchingService(long windowMicros, int maxBatchSize) {
+        return batchingService(windowMicros, maxBatchSize, Tracer.disabled());
+    }
+
+    private EmployeeService batchingService(long windowMicros, int maxBatchSize, Tracer tracer) {
+        return new EmployeeService(
+                employeeApiClient,
+                new RedisEmployeeStore(redisModulesConnection, objectMapper, tracer),
+                new SingleNodeLeaderElection(false),
+                changePublisher,
+                new RefreshHistory(20),
+                tracer,
+                windowMicros,
+                maxBatchSize);
+    }
 }
@@ -0,0 +1,264 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.reactive.RedisModulesReactiveCommands;
+import com.reliaquest.api.cluster.NodeIdentity;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.ExternalApiException;
+import com.reliaquest.api.exception.IdempotencyKeyReusedException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.MutationStatus;
+import io.lettuce.core.Consumer;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.XReadArgs;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class EmployeeWriteBehindServiceTest {
+
+    private static final String QUEUE = EmployeeWriteBehindService.QUEUE_KEY;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private RedisModulesReactiveCommands<String, String> redisModulesReactiveCommands;
+    private EmployeeService employeeService;
+    private EmployeeWriteBehindService writeBehindService;
+    private final List<MutationStatus> savedStatuses = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StatefulRedisModulesConnection<String, String> connection = mock(StatefulRedisModulesConnection.class);
+        redisModulesReactiveCommands = mock(RedisModulesReactiveCommands.class);
+        when(connection.reactive()).thenReturn(redisModulesReactiveCommands);
+        employeeService = mock(EmployeeService.class);
+
+        when(redisModulesReactiveCommands.set(
+                        argThat((String key) ->
+                                key != null && key.startsWith(EmployeeWriteBehindService.STATUS_KEY_PREFIX)),
+                        anyString(),
+                        any(SetArgs.class)))
+                .thenAnswer(invocation -> {
+                    savedStatuses.add(objectMapper.readValue((String) invocation.getArgument(1), MutationStatus.class));
+                    return Mono.just("OK");
+                });
+        when(redisModulesReactiveCommands.xautoclaim(eq(QUEUE), any(XAutoClaimArgs.class)))
+                .thenReturn(Mono.empty());
+        when(redisModulesReactiveCommands.xack(eq(QUEUE), eq(EmployeeWriteBehindService.GROUP), any(String[].class)))
+                .thenReturn(Mono.just(1L));
+
+        writeBehindService = new EmployeeWriteBehindService(
+                connection,
+                objectMapper,
+                employeeService,
+                new NodeIdentity("node-a"),
+                60000,
+                20,
+                10,
+                20,
+                300000,
+                60000);
+    }
+
+    @Test
+    void enqueueCreate_writesStatusAndQueueEntryInOneScript() throws Exception {
+        givenEnqueueResult("", "1-0");
+
+        MutationStatus status = writeBehindService.enqueueCreate(input(), null).block();
+
+        assertEquals(MutationStatus.State.QUEUED, status.getState());
+        String[] args = verifyEnqueue(
+                new String[] {EmployeeWriteBehindService.STATUS_KEY_PREFIX + status.getTrackingId(), QUEUE});
+        assertEquals(
+                status.getTrackingId(),
+                objectMapper.readValue(args[0], MutationStatus.class).getTrackingId());
+        List<String> fields = List.of(args).subList(3, args.length);
+        assertEquals("CREATE", fields.get(fields.indexOf("operation") + 1));
+        assertEquals(status.getTrackingId(), fields.get(fields.indexOf("tracking_id") + 1));
+        assertTrue(fields.get(fields.indexOf("input") + 1).contains("Alice"));
+    }
+
+    @Test
+    void enqueue_withReusedIdempotencyKey_returnsFirstMutation() throws Exception {
+        givenEnqueueResult("", "1-0");
+        String reservation = reservation(writeBehindService.enqueueDelete("id-1", "key-1"));
+        MutationStatus first = MutationStatus.builder()
+                .trackingId(reservation.split(" ")[0])
+                .operation(MutationStatus.Operation.DELETE)
+                .state(MutationStatus.State.QUEUED)
+                .employeeId("id-1")
+                .build();
+        when(redisModulesReactiveCommands.get(EmployeeWriteBehindService.STATUS_KEY_PREFIX + first.getTrackingId()))
+                .thenReturn(Mono.just(objectMapper.writeValueAsString(first)));
+        givenEnqueueResult(reservation, "");
+
+        MutationStatus status =
+                writeBehindService.enqueueDelete("id-1", "key-1").block();
+
+        assertEquals(first.getTrackingId(), status.getTrackingId());
+        assertEquals("id-1", status.getEmployeeId());
+    }
+
+    @Test
+    void enqueue_withReusedIdempotencyKeyAndNoStatus_returnsTheFirstTrackingId() {
+        when(redisModulesReactiveCommands.get(EmployeeWriteBehindService.STATUS_KEY_PREFIX + "t-1"))
+                .thenReturn(Mono.empty());
+        givenEnqueueResult("t-1", "");
+
+        MutationStatus status =
+                writeBehindService.enqueueDelete("id-1", "key-1").block();
+
+        assertEquals("t-1", status.getTrackingId());
+        assertEquals(MutationStatus.State.QUEUED, status.getState());
+    }
+
+    @Test
+    void enqueue_withIdempotencyKeyOfADifferentRequest_isRefused() {
+        givenEnqueueResult("", "1-0");
+        String reservation = reservation(writeBehindService.enqueueDelete("id-1", "key-1"));
+        givenEnqueueResult(reservation, "");
+
+        StepVerifier.create(writeBehindService.enqueueDelete("id-2", "key-1"))
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+    }
+
+    @Test
+    void drain_sendsQueuedMutationsAndAcksThemTogether() throws Exception {
+        givenQueue(
+                message("1-0", "t-1", "CREATE", null, objectMapper.writeValueAsString(input())),
+                message("2-0", "t-2", "DELETE", "id-9", null));
+        Employee created = new Employee("id-1", "Alice", 100000, 30, "Engineer", "alice@example.com");
+        when(employeeService.createEmployee(input())).thenReturn(Mono.just(created));
+        when(employeeService.deleteEmployeeById("id-9")).thenReturn(Mono.just("Bob"));
+
+        assertEquals(2, writeBehindService.drainOnce().block());
+
+        verify(redisModulesReactiveCommands).xack(QUEUE, EmployeeWriteBehindService.GROUP, "1-0", "2-0");
+        assertEquals(MutationStatus.State.SUCCEEDED, savedStatuses.get(0).getState());
+        assertEquals(created, savedStatuses.get(0).getEmployee());
+        assertEquals(MutationStatus.State.SUCCEEDED, savedStatuses.get(1).getState());
+        assertEquals("id-9", savedStatuses.get(1).getEmployeeId());
+    }
+
+    @Test
+    void drain_whenUpstreamThrottles_leavesEntryPendingAndPauses() {
+        givenQueue(message("1-0", "t-1", "DELETE", "id-1", null), message("2-0", "t-2", "DELETE", "id-2", null));
+        when(employeeService.deleteEmployeeById("id-1"))
+                .thenReturn(Mono.error(new ExternalApiException("Employee API error", 429)));
+
+        assertEquals(0, writeBehindService.drainOnce().block());
+        assertEquals(0, writeBehindService.drainOnce().block()); // paused, Redis is not read
+
+        verify(employeeService, never()).deleteEmployeeById("id-2");
+        verify(redisModulesReactiveCommands, never()).xack(eq(QUEUE), anyString(), any(String[].class));
+        verify(redisModulesReactiveCommands, times(1)).xautoclaim(eq(QUEUE), any(XAutoClaimArgs.class));
+        assertEquals(MutationStatus.State.QUEUED, savedStatuses.get(0).getState());
+        assertEquals(1, savedStatuses.get(0).getAttempts());
+    }
+
+    @Test
+    void drain_whenEmployeeIsGone_failsForGood() {
+        givenQueue(message("1-0", "t-1", "DELETE", "id-1", null));
+        when(employeeService.deleteEmployeeById("id-1")).thenReturn(Mono.error(new EmployeeNotFoundException("id-1")));
+
+        assertEquals(1, writeBehindService.drainOnce().block());
+
+        verify(redisModulesReactiveCommands).xack(QUEUE, EmployeeWriteBehindService.GROUP, "1-0");
+        assertEquals(MutationStatus.State.FAILED, savedStatuses.get(0).getState());
+    }
+
+    private void givenEnqueueResult(String reservation, String entryId) {
+        when(redisModulesReactiveCommands.<String>evalsha(
+                        eq(EmployeeWriteBehindService.ENQUEUE_SCRIPT.getSha()),
+                        eq(ScriptOutputType.MULTI),
+                        any(String[].class),
+                        any(String[].class)))
+                .thenReturn(Flux.just(reservation, entryId));
+    }
+
+    private String[] verifyEnqueue(String[] keys) {
+        ArgumentCaptor<String[]> args = ArgumentCaptor.forClass(String[].class);
+        verify(redisModulesReactiveCommands)
+                .evalsha(
+                        eq(EmployeeWriteBehindService.ENQUEUE_SCRIPT.getSha()),
+                        eq(ScriptOutputType.MULTI),
+                        aryEq(keys),
+                        args.capture());
+        return args.getValue();
+    }
+
+    // Enqueues with an idempotency key and returns the reservation the script was asked to store for it.
+    private String reservation(Mono<MutationStatus> enqueue) {
+        MutationStatus status = enqueue.block();
+        ArgumentCaptor<String[]> keys = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> args = ArgumentCaptor.forClass(String[].class);
+        verify(redisModulesReactiveCommands)
+                .evalsha(
+                        eq(EmployeeWriteBehindService.ENQUEUE_SCRIPT.getSha()),
+                        eq(ScriptOutputType.MULTI),
+                        keys.capture(),
+                        args.capture());
+        assertEquals(3, keys.getValue().length);
+        assertTrue(args.getValue()[2].startsWith(status.getTrackingId() + " "));
+        return args.getValue()[2];
+    }
+
+    @SafeVarargs
+    private void givenQueue(StreamMessage<String, String>... messages) {
+        when(redisModulesReactiveCommands.get(argThat(
+                        (String key) -> key != null && key.startsWith(EmployeeWriteBehindService.STATUS_KEY_PREFIX))))
+                .thenReturn(Mono.empty());
+        when(redisModulesReactiveCommands.xreadgroup(
+                        any(Consumer.class), any(XReadArgs.class), any(XReadArgs.StreamOffset.class)))
+                .thenReturn(Flux.just(messages));
+    }
+
+    private static StreamMessage<String, String> message(
+            String id, String trackingId, String operation, String employeeId, String input) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("tracking_id", trackingId);
+        fields.put("operation", operation);
+        if (employeeId != null) {
+            fields.put("employee_id", employeeId);
+        }
+        if (input != null) {
+            fields.put("input", input);
+        }
+        return new StreamMessage<>(QUEUE, id, fields);
+    }
+
+    private static CreateEmployeeInput input() {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Alice");
+        input.setSalary(100000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.ExternalApiException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class RefreshHistoryTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    void testRecent_keepsNewestFirstUpToSize() {
+        RefreshHistory history = new RefreshHistory(clock, 2);
+
+        history.start().finish(RefreshOutcome.refreshed(1, Double.NaN));
+        history.start().finish(RefreshOutcome.skipped());
+        history.start().fail(new ExternalApiException("Bad Gateway", 502));
+
+        List<RefreshHistory.Refresh> refreshes = history.recent();
+        assertEquals(2, refreshes.size());
+        assertEquals("failed", refreshes.get(0).status());
+        assertEquals("Bad Gateway", refreshes.get(0).error());
+        assertEquals("skipped", refreshes.get(1).status());
+    }
+
+    @Test
+    void testRecorder_timesOnlyTheStagesItRan() {
+        RefreshHistory history = new RefreshHistory(clock, 20);
+        RefreshHistory.Recorder recorder = history.start();
+
+        recorder.fetch(Mono.just(1)).block();
+        recorder.finish(RefreshOutcome.skipped());
+
+        RefreshHistory.Refresh refresh = history.recent().get(0);
+        assertTrue(refresh.fetchMs() >= 0);
+        assertEquals(-1, refresh.deleteMs());
+        assertEquals(-1, refresh.indexMs());
+        assertTrue(refresh.totalMs() >= refresh.fetchMs());
+    }
+
+    @Test
+    void testStaleness_countsFromLastSuccessfulRefresh() {
+        RefreshHistory history = new RefreshHistory(clock, 20);
+        assertEquals(Optional.empty(), history.staleness());
+
+        history.start().finish(RefreshOutcome.refreshed(10, Double.NaN));
+        clock.advance(Duration.ofMinutes(5));
+        history.start().fail(new ExternalApiException("Too Many Requests", 429));
+        clock.advance(Duration.ofMinutes(1));
+
+        assertEquals(Optional.of(Instant.parse("2024-01-01T00:00:00Z")), history.lastRefreshedAt());
+        assertEquals(Optional.of(Duration.ofMinutes(6)), history.staleness());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
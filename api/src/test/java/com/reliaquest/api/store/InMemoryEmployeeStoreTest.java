@@ -0,0 +1,211 @@
+package com.reliaquest.api.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import com.reliaquest.api.cluster.EmployeeChangeEvent;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import com.reliaquest.api.model.EmployeePageCursor;
+import com.reliaquest.api.model.EmployeeSortKey;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class InMemoryEmployeeStoreTest {
+
+    private InMemoryEmployeeStore employeeStore;
+
+    private final Employee alice = new Employee("id-1", "Alice Cooper", 100000, 30, "Engineer", "alice@example.com");
+    private final Employee bob = new Employee("id-2", "Bob Dylan", 90000, 40, "Manager", "bob@example.com");
+    private final Employee carol = new Employee("id-3", "Carol King", 120000, 35, "Director", "carol@example.com");
+
+    @BeforeEach
+    void setUp() {
+        employeeStore = new InMemoryEmployeeStore();
+        employeeStore.saveAll(List.of(alice, bob, carol)).block();
+    }
+
+    @Test
+    void testFindById_returnsCopy() {
+        Employee found = employeeStore.findById("id-1").block();
+
+        assertEquals(alice, found);
+        assertNotSame(alice, found);
+    }
+
+    @Test
+    void testStats_countsEmployeesAndSalaryEntries() {
+        employeeStore.deleteById("id-2").block();
+
+        StepVerifier.create(employeeStore.stats())
+                .expectNext(new EmployeeStoreStats("memory", true, 2, 2))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByNameContaining_isCaseInsensitive() {
+        StepVerifier.create(employeeStore.findByNameContaining("DYL"))
+                .expectNextMatches(e -> e.getId().equals("id-2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindHighestSalary() {
+        StepVerifier.create(employeeStore.findHighestSalary())
+                .expectNext(120000)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindHighestSalary_emptyStore() {
+        employeeStore.deleteAll().block();
+
+        StepVerifier.create(employeeStore.findHighestSalary()).verifyComplete();
+    }
+
+    @Test
+    void testFindTopEarners_orderedBySalaryDescending() {
+        StepVerifier.create(employeeStore.findTopEarners(2).map(Employee::getName))
+                .expectNext("Carol King", "Alice Cooper")
+                .verifyComplete();
+    }
+
+    @Test
+    void testSave_replacesIndexesOfPreviousVersion() {
+        employeeStore
+                .save(new Employee("id-3", "Carol Burnett", 50000, 35, "Director", "carol@example.com"))
+                .block();
+
+        StepVerifier.create(employeeStore.findByNameContaining("king")).verifyComplete();
+        StepVerifier.create(employeeStore.findHighestSalary())
+                .expectNext(100000)
+                .verifyComplete();
+    }
+
+    @Test
+    void testDeleteById_removesFromAllIndexes() {
+        employeeStore.deleteById("id-3").block();
+
+        StepVerifier.create(employeeStore.findById("id-3")).verifyComplete();
+        StepVerifier.create(employeeStore.findByNameContaining("carol")).verifyComplete();
+        StepVerifier.create(employeeStore.findHighestSalary())
+                .expectNext(100000)
+                .verifyComplete();
+    }
+
+    @Test
+    void testNullSalary_isSavedReplacedAndDeleted() {
+        Employee unpaid = new Employee("id-4", "Dave Grohl", null, 50, "Drummer", "dave@example.com");
+
+        employeeStore.saveAll(List.of(unpaid)).block();
+        StepVerifier.create(employeeStore.findById("id-4")).expectNext(unpaid).verifyComplete();
+
+        employeeStore
+                .save(new Employee("id-4", "Dave Grohl", 130000, 50, "Drummer", "dave@example.com"))
+                .block();
+        StepVerifier.create(employeeStore.findHighestSalary())
+                .expectNext(130000)
+                .verifyComplete();
+
+        employeeStore.save(unpaid).block();
+        StepVerifier.create(employeeStore.findHighestSalary())
+                .expectNext(120000)
+                .verifyComplete();
+
+        employeeStore.deleteById("id-4").block();
+        StepVerifier.create(employeeStore.findById("id-4")).verifyComplete();
+        StepVerifier.create(employeeStore.stats())
+                .expectNext(new EmployeeStoreStats("memory", true, 3, 3))
+                .verifyComplete();
+    }
+
+    @Test
+    void testOnEmployeeChange_appliesRemoteCreatesAndDeletes() {
+        Employee dave = new Employee("id-4", "Dave Grohl", 130000, 50, "Drummer", "dave@example.com");
+
+        employeeStore.onEmployeeChange(EmployeeChangeEvent.created(dave).publishedAs("1-0", "node-b"));
+        employeeStore.onEmployeeChange(EmployeeChangeEvent.deleted("id-1").publishedAs("2-0", "node-b"));
+
+        assertEquals(dave, employeeStore.findById("id-4").block());
+        StepVerifier.create(employeeStore.findById("id-1")).verifyComplete();
+        StepVerifier.create(employeeStore.findHighestSalary())
+                .expectNext(130000)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindBySalaryBetween_isOrderedAndPaged() {
+        StepVerifier.create(employeeStore.findBySalaryBetween(90000, 120000, 0, 10))
+                .expectNextMatches(e -> e.getId().equals("id-2"))
+                .expectNextMatches(e -> e.getId().equals("id-1"))
+                .expectNextMatches(e -> e.getId().equals("id-3"))
+                .verifyComplete();
+        StepVerifier.create(employeeStore.findBySalaryBetween(90000, 120000, 1, 1))
+                .expectNextMatches(e -> e.getId().equals("id-1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByAgeBetween_followsUpdates() {
+        employeeStore
+                .save(new Employee("id-2", "Bob Dylan", 90000, 33, "Manager", "bob@example.com"))
+                .block();
+
+        StepVerifier.create(employeeStore.findByAgeBetween(30, 35, 0, 10))
+                .expectNextMatches(e -> e.getId().equals("id-1"))
+                .expectNextMatches(e -> e.getId().equals("id-2"))
+                .expectNextMatches(e -> e.getId().equals("id-3"))
+                .verifyComplete();
+        StepVerifier.create(employeeStore.findByAgeBetween(36, 45, 0, 10)).verifyComplete();
+    }
+
+    @Test
+    void testFindPage_continuesAfterCursorAndProjects() {
+        EmployeePageCursor afterAlice = new EmployeePageCursor(EmployeeSortKey.AGE, "30", "id-1");
+
+        StepVerifier.create(employeeStore.findPage(afterAlice, 5, EnumSet.of(EmployeeField.NAME)))
+                .expectNext(
+                        Employee.builder().id("id-3").name("Carol King").age(35).build())
+                .expectNext(
+                        Employee.builder().id("id-2").name("Bob Dylan").age(40).build())
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindPage_breaksTiesByIdAndIgnoresChangesBeforeTheCursor() {
+        employeeStore
+                .save(new Employee("id-4", "Dan Brown", 80000, 35, "Analyst", "dan@example.com"))
+                .block();
+        EmployeePageCursor cursor = EmployeePageCursor.start(EmployeeSortKey.AGE);
+
+        List<Employee> first = employeeStore
+                .findPage(cursor, 2, EnumSet.of(EmployeeField.ID))
+                .collectList()
+                .block();
+        assertEquals(
+                List.of("id-1", "id-3"), first.stream().map(Employee::getId).toList());
+
+        employeeStore.deleteById("id-1").block();
+        employeeStore
+                .saveAll(List.of(
+                        new Employee("id-0", "Eve Arden", 70000, 30, "Analyst", "eve@example.com"),
+                        new Employee("id-5", "Fay Wray", 70000, 35, "Analyst", "fay@example.com")))
+                .block();
+
+        StepVerifier.create(employeeStore.findPage(cursor.after(first.get(1)), 5, EnumSet.of(EmployeeField.ID)))
+                .expectNextMatches(e -> e.getId().equals("id-4"))
+                .expectNextMatches(e -> e.getId().equals("id-5"))
+                .expectNextMatches(e -> e.getId().equals("id-2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindAllById_keepsRequestOrderAndSkipsMissing() {
+        StepVerifier.create(employeeStore.findAllById(List.of("id-3", "id-9", "id-1")))
+                .expectNext(carol, alice)
+                .verifyComplete();
+    }
+}
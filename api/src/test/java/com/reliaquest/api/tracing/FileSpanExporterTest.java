@@ -0,0 +1,33 @@
+package com.reliaquest.api.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSpanExporterTest {
+
+    @Test
+    void testExport_appendsOneJsonLinePerSpan(@TempDir Path dir) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Path file = dir.resolve("traces.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(objectMapper, file);
+        FinishedSpan span = new FinishedSpan(
+                "t1", "s1", null, "service", Instant.parse("2026-01-01T00:00:00Z"), 250, "java.lang.Error: x");
+
+        exporter.export(span);
+        exporter.export(span);
+        exporter.flush();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals(span, objectMapper.readValue(lines.get(0), FinishedSpan.class));
+        exporter.close();
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.api.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InMemorySpanExporterTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void testTraces_groupsSpansNewestTraceFirst() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+        exporter.export(span("t1", "s2", "s1", "redis GET", 1));
+        exporter.export(span("t1", "s1", null, "service", 0));
+        exporter.export(span("t2", "s3", null, "other", 5));
+
+        List<InMemorySpanExporter.Trace> traces = exporter.traces(10);
+
+        assertEquals(
+                List.of("t2", "t1"),
+                traces.stream().map(InMemorySpanExporter.Trace::traceId).toList());
+        InMemorySpanExporter.Trace trace = traces.get(1);
+        assertEquals("service", trace.name());
+        assertEquals(T0, trace.start());
+        assertEquals(
+                List.of("service", "redis GET"),
+                trace.spans().stream().map(FinishedSpan::name).toList());
+        assertEquals(1, exporter.traces(1).size());
+    }
+
+    @Test
+    void testExport_evictsTheOldestSpans() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(2);
+        exporter.export(span("t1", "s1", null, "first", 0));
+        exporter.export(span("t2", "s2", null, "second", 1));
+        exporter.export(span("t3", "s3", null, "third", 2));
+
+        assertEquals(
+                List.of("t3", "t2"),
+                exporter.traces(10).stream()
+                        .map(InMemorySpanExporter.Trace::traceId)
+                        .toList());
+    }
+
+    private static FinishedSpan span(String traceId, String spanId, String parentSpanId, String name, int startMs) {
+        return new FinishedSpan(traceId, spanId, parentSpanId, name, T0.plusMillis(startMs), 100, null);
+    }
+}
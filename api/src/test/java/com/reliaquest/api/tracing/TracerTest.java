@@ -0,0 +1,133 @@
+package com.reliaquest.api.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class TracerTest {
+
+    private final List<FinishedSpan> spans = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testDisabled_returnsOperationUnchanged() {
+        Tracer tracer = Tracer.disabled();
+        Mono<String> mono = Mono.just("a");
+        Flux<String> flux = Flux.just("a");
+
+        assertSame(mono, tracer.trace("op", mono));
+        assertSame(mono, tracer.span("op", mono));
+        assertSame(flux, tracer.traceMany("op", flux));
+        assertSame(flux, tracer.spanMany("op", flux));
+    }
+
+    @Test
+    void testTrace_nestsSpansThroughTheReactorContext() {
+        Tracer tracer = new Tracer(1.0, spans::add);
+
+        Mono<List<String>> operation =
+                tracer.trace("service", tracer.span("redis GET", Mono.just("a")).flatMap(value -> tracer.spanMany(
+                                "redis KEYS", Flux.just(value, "b"))
+                        .collectList()));
+
+        StepVerifier.create(operation).expectNext(List.of("a", "b")).verifyComplete();
+
+        assertEquals(3, spans.size());
+        FinishedSpan root = spans.get(2);
+        assertEquals("service", root.name());
+        assertNull(root.parentSpanId());
+        for (FinishedSpan child : spans.subList(0, 2)) {
+            assertEquals(root.traceId(), child.traceId());
+            assertEquals(root.spanId(), child.parentSpanId());
+        }
+        assertEquals(
+                List.of("redis GET", "redis KEYS"),
+                List.of(spans.get(0).name(), spans.get(1).name()));
+    }
+
+    @Test
+    void testTrace_nestedTraceBecomesAChildSpan() {
+        Tracer tracer = new Tracer(1.0, spans::add);
+
+        tracer.trace("outer", tracer.trace("inner", Mono.just(1))).block();
+
+        assertEquals(2, spans.size());
+        assertEquals(spans.get(1).spanId(), spans.get(0).parentSpanId());
+    }
+
+    @Test
+    void testUnsampledTrace_suppressesItsSpans() {
+        Tracer tracer = new Tracer(Double.MIN_VALUE, spans::add);
+
+        tracer.trace("service", tracer.trace("inner", tracer.span("redis GET", Mono.just(1))))
+                .block();
+
+        assertTrue(spans.isEmpty());
+    }
+
+    @Test
+    void testSpanOutsideATrace_isNotRecorded() {
+        Tracer tracer = new Tracer(1.0, spans::add);
+
+        tracer.span("redis GET", Mono.just(1)).block();
+
+        assertTrue(spans.isEmpty());
+    }
+
+    @Test
+    void testTrace_recordsErrorsAndCancellation() {
+        Tracer tracer = new Tracer(1.0, spans::add);
+
+        StepVerifier.create(tracer.trace("fails", Mono.error(new IllegalStateException("boom"))))
+                .verifyError(IllegalStateException.class);
+        StepVerifier.create(tracer.traceMany("slow", Flux.never()))
+                .expectSubscription()
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(2, spans.size());
+        assertEquals("java.lang.IllegalStateException: boom", spans.get(0).error());
+        assertEquals("cancelled", spans.get(1).error());
+    }
+
+    @Test
+    void testPropagation_addsTraceparentInsideASampledSpan() {
+        Tracer tracer = new Tracer(1.0, spans::add);
+        List<ClientRequest> sent = new CopyOnWriteArrayList<>();
+        ExchangeFunction exchange = request -> {
+            sent.add(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost"))
+                .build();
+
+        tracer.trace("service", tracer.propagation().filter(request, exchange)).block();
+        tracer.propagation().filter(request, exchange).block();
+
+        assertEquals(
+                "00-" + spans.get(0).traceId() + "-" + spans.get(0).spanId() + "-01",
+                sent.get(0).headers().getFirst("traceparent"));
+        assertNull(sent.get(1).headers().getFirst("traceparent"));
+    }
+
+    @Test
+    void testSpanContext_formatsTraceparent() {
+        SpanContext context = new SpanContext("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331", true);
+
+        assertEquals("00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01", context.traceparent());
+    }
+}
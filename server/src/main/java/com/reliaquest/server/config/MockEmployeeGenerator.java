@@ -0,0 +1,123 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Derives mock employees deterministically from a seed and a row index.
+ *
+ * <p>Every row is generated from its own seed, mixed from the dataset seed and the row index, so the output does not
+ * depend on how rows are split across threads. Each thread keeps its own {@link Faker} and re-seeds its
+ * {@link Random} per row. The same seed and size always produce the same dataset, including the employee IDs.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long UUID_VERSION_MASK = 0xFFFFFFFFFFFF0FFFL;
+    private static final long UUID_VERSION_4 = 0x0000000000004000L;
+    private static final long UUID_VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long UUID_VARIANT_IETF = 0x8000000000000000L;
+
+    @Getter
+    private final long seed;
+
+    private final long indexMask;
+    private final ThreadLocal<SeededFaker> fakers;
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.seed = seed;
+        this.indexMask = mix(seed ^ GOLDEN_GAMMA) & UUID_VARIANT_MASK;
+        this.fakers = ThreadLocal.withInitial(() -> new SeededFaker(locale));
+    }
+
+    /**
+     * Generates {@code count} employees in parallel, in index order.
+     */
+    public List<MockEmployee> generate(int count) {
+        final var started = System.nanoTime();
+        final var mockEmployees = IntStream.range(0, count)
+                .parallel()
+                .mapToObj(this::employeeAt)
+                .collect(Collectors.toCollection(ArrayList::new));
+        final var elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        log.info(
+                "Generated {} employees with seed {} in {} ms ({} employees/s).",
+                count,
+                seed,
+                elapsedNanos / 1_000_000,
+                (long) (count * 1_000_000_000d / elapsedNanos));
+        return mockEmployees;
+    }
+
+    public MockEmployee employeeAt(long index) {
+        final var faker = fakerAt(index);
+        return new MockEmployee(
+                idOf(index),
+                faker.name().fullName(),
+                faker.number().numberBetween(30000, 500000),
+                faker.number().numberBetween(16, 70),
+                faker.job().title(),
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()));
+    }
+
+    /**
+     * The name of the employee at {@code index}, without generating the remaining fields.
+     */
+    public String nameAt(long index) {
+        return fakerAt(index).name().fullName();
+    }
+
+    private Faker fakerAt(long index) {
+        final var seededFaker = fakers.get();
+        seededFaker.random.setSeed(mix(seed + index * GOLDEN_GAMMA));
+        return seededFaker.faker;
+    }
+
+    /**
+     * Builds a random-looking version 4 UUID that still encodes the row index in its low bits.
+     */
+    UUID idOf(long index) {
+        final var mostSigBits = (mix(seed ^ (index * GOLDEN_GAMMA)) & UUID_VERSION_MASK) | UUID_VERSION_4;
+        final var leastSigBits = ((index ^ indexMask) & UUID_VARIANT_MASK) | UUID_VARIANT_IETF;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Recovers the row index encoded by {@link #idOf(long)}, or empty if the ID was not generated with this seed.
+     */
+    public OptionalLong indexOf(UUID id) {
+        final var index = (id.getLeastSignificantBits() & UUID_VARIANT_MASK) ^ indexMask;
+        return idOf(index).equals(id) ? OptionalLong.of(index) : OptionalLong.empty();
+    }
+
+    /**
+     * SplitMix64 finalizer, used to spread consecutive seeds across the whole 64-bit range.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class SeededFaker {
+
+        private final Random random = new Random();
+        private final Faker faker;
+
+        private SeededFaker(Locale locale) {
+            this.faker = new Faker(locale, random);
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.reliaquest.server.config;
 
+import com.reliaquest.server.model.FaultProfile;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.ColumnarMockEmployeeStore;
+import com.reliaquest.server.service.FaultInjectionService;
+import com.reliaquest.server.service.ListMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.service.VirtualMockEmployeeStore;
+import com.reliaquest.server.web.FaultInjectionFilter;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +22,9 @@ import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -21,20 +32,35 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(FaultProfile.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    // Off when a seeded fault profile should be the only source of 429s.
+    @Value("${mock.random-request-limit.enabled:true}")
+    private boolean randomRequestLimitEnabled;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * The initial employees; ListMockEmployeeStore copies them into its own map for CRUD operations.
+     *
+     * When mock.employees.seed is set the dataset is generated in parallel by MockEmployeeGenerator and is identical
+     * for the same seed and size; otherwise every start produces a new random dataset.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    @ConditionalOnProperty(name = "mock.employees.storage", havingValue = "list", matchIfMissing = true)
+    public List<MockEmployee> mockEmployees(
+            Faker faker,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed) {
+        if (seed != null) {
+            return new MockEmployeeGenerator(Locale.getDefault(), seed).generate(maxEmployees);
+        }
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
                 Field.field("id", UUID::randomUUID),
@@ -52,8 +78,59 @@ public class ServerConfiguration implements WebMvcConfigurer {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.storage", havingValue = "list", matchIfMissing = true)
+    public MockEmployeeStore listMockEmployeeStore(List<MockEmployee> mockEmployees) {
+        return new ListMockEmployeeStore(mockEmployees);
+    }
+
+    /*
+     * Derives employees from the seed on access instead of holding them, so mock.employees.max can exceed the heap.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.storage", havingValue = "virtual")
+    public MockEmployeeStore virtualMockEmployeeStore(
+            @Value("${mock.employees.max:20}") long maxEmployees, @Value("${mock.employees.seed:#{null}}") Long seed) {
+        final var generator = new MockEmployeeGenerator(
+                Locale.getDefault(),
+                seed != null ? seed : RandomGenerator.getDefault().nextLong());
+        return new VirtualMockEmployeeStore(generator, maxEmployees);
+    }
+
+    /*
+     * Keeps employees in primitive columns and off-heap string segments instead of one object per employee.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.storage", havingValue = "columnar")
+    public MockEmployeeStore columnarMockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees, @Value("${mock.employees.seed:#{null}}") Long seed) {
+        final var generator = new MockEmployeeGenerator(
+                Locale.getDefault(),
+                seed != null ? seed : RandomGenerator.getDefault().nextLong());
+        final var store = new ColumnarMockEmployeeStore();
+        IntStream.range(0, maxEmployees)
+                .parallel()
+                .mapToObj(generator::employeeAt)
+                .forEachOrdered(store::add);
+        log.info("Loaded {} employees into columnar storage ({} KiB).", maxEmployees, store.footprintBytes() / 1024);
+        return store;
+    }
+
+    /*
+     * Faults apply to the mock API only, ahead of the random request limit, never to /admin.
+     */
+    @Bean
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter(
+            FaultInjectionService faultInjectionService) {
+        final var registration = new FilterRegistrationBean<>(new FaultInjectionFilter(faultInjectionService));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (randomRequestLimitEnabled) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor()).excludePathPatterns("/admin/**");
+        }
     }
 }
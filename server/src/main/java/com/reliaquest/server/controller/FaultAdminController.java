@@ -0,0 +1,47 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.FaultProfile;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.FaultInjectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reads and replaces the fault injection profile at runtime. Not subject to injected faults or the random request
+ * limit, so a benchmark can always reconfigure the server.
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@RequiredArgsConstructor
+public class FaultAdminController {
+
+    private final FaultInjectionService faultInjectionService;
+
+    @GetMapping()
+    public Response<FaultProfile> getFaults() {
+        return Response.handledWith(faultInjectionService.current());
+    }
+
+    /**
+     * Applies a new profile and restarts its draws, so putting the same seeded profile again replays the same faults.
+     */
+    @PutMapping()
+    public ResponseEntity<Response<FaultProfile>> putFaults(@RequestBody FaultProfile faultProfile) {
+        try {
+            return ResponseEntity.ok(Response.handledWith(faultInjectionService.apply(faultProfile)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping()
+    public Response<FaultProfile> deleteFaults() {
+        return Response.handledWith(faultInjectionService.apply(FaultProfile.none()));
+    }
+}
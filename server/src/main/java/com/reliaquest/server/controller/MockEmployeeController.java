@@ -6,6 +6,7 @@ import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,10 +26,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int MAX_PREFIX_LIMIT = 1000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    /**
+     * Jackson writes the envelope and then one employee at a time straight into the (gzip) servlet output stream, so
+     * the response is not built in memory first and its first bytes leave once the output buffer fills. With a lazy
+     * {@link com.reliaquest.server.service.MockEmployeeStore} (virtual, columnar) employees are also materialized
+     * one at a time while they are written.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
+    public Response<Collection<MockEmployee>> getEmployees() {
         return Response.handledWith(mockEmployeeService.getMockEmployees());
     }
 
@@ -39,6 +49,31 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /**
+     * Every employee with this name, ignoring case, oldest first; 404 if there is none.
+     */
+    @GetMapping("/by-name/{name}")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployeesByName(@PathVariable("name") String name) {
+        final var mockEmployees = mockEmployeeService.findByName(name);
+        return mockEmployees.isEmpty()
+                ? ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled())
+                : ResponseEntity.ok(Response.handledWith(mockEmployees));
+    }
+
+    /**
+     * Up to {@code limit} employees whose name starts with {@code prefix}, ignoring case, ordered by name.
+     */
+    @GetMapping("/by-name")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployeesByNamePrefix(
+            @RequestParam("prefix") String prefix, @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        if (prefix.isBlank() || limit < 1 || limit > MAX_PREFIX_LIMIT) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error(
+                            "prefix must not be blank and limit must be between 1 and " + MAX_PREFIX_LIMIT + "."));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.findByNamePrefix(prefix, limit)));
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
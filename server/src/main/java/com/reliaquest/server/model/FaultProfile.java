@@ -0,0 +1,114 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Faults the mock server injects into matching requests, configured under {@code mock.faults} and replaceable at
+ * runtime through {@code /admin/faults}. Every draw comes from one generator seeded with {@link #seed}, so the same
+ * profile and the same request sequence reproduce the same faults; without a seed one is picked when the profile is
+ * applied.
+ *
+ * @param routes rules tried in order; a request gets the faults of the first rule that matches it
+ */
+@ConfigurationProperties("mock.faults")
+public record FaultProfile(Long seed, List<RouteFaults> routes) {
+
+    public FaultProfile {
+        routes = routes == null ? List.of() : List.copyOf(routes);
+    }
+
+    public static FaultProfile none() {
+        return new FaultProfile(null, List.of());
+    }
+
+    public FaultProfile withSeed(long seed) {
+        return new FaultProfile(seed, routes);
+    }
+
+    /**
+     * @throws IllegalArgumentException naming the first rule that cannot be applied
+     */
+    public void validate() {
+        for (int i = 0; i < routes.size(); i++) {
+            final var problem = routes.get(i).problem();
+            if (problem != null) {
+                throw new IllegalArgumentException("routes[%d]: %s".formatted(i, problem));
+            }
+        }
+    }
+
+    /**
+     * Faults for requests whose method and path match. Rates are probabilities per request; throttling, errors and
+     * timeouts exclude each other, so their rates may add up to at most 1.
+     *
+     * @param method HTTP method to match, or any when empty
+     * @param path Ant-style path pattern, e.g. {@code /api/v1/employee/**}
+     * @param latency added delay, drawn from a histogram; none when empty
+     * @param errorRate chance of answering {@code errorStatus} (default 503) instead of handling the request
+     * @param errorBurst requests answered with the error once one is drawn, including that one (default 1)
+     * @param throttleRate chance of answering 429, with {@code Retry-After: retryAfterSeconds} when positive
+     * @param throttleBurst requests answered with 429 once one is drawn, including that one (default 1)
+     * @param timeoutRate chance of holding the request for {@code timeoutMs} (default 30000) and then answering 504
+     * @param slowDripRate chance of writing the body at {@code slowDripBytesPerSecond} (default 1024, before
+     *     compression)
+     */
+    public record RouteFaults(
+            String method,
+            String path,
+            List<LatencyBucket> latency,
+            double errorRate,
+            int errorStatus,
+            int errorBurst,
+            double throttleRate,
+            int throttleBurst,
+            int retryAfterSeconds,
+            double timeoutRate,
+            long timeoutMs,
+            double slowDripRate,
+            int slowDripBytesPerSecond) {
+
+        public RouteFaults {
+            latency = latency == null ? List.of() : List.copyOf(latency);
+            errorStatus = errorStatus == 0 ? 503 : errorStatus;
+            errorBurst = Math.max(errorBurst, 1);
+            throttleBurst = Math.max(throttleBurst, 1);
+            timeoutMs = timeoutMs == 0 ? 30_000 : timeoutMs;
+            slowDripBytesPerSecond = slowDripBytesPerSecond == 0 ? 1024 : slowDripBytesPerSecond;
+        }
+
+        private String problem() {
+            if (path == null || path.isBlank()) {
+                return "path must not be blank";
+            }
+            if (!isRate(errorRate) || !isRate(throttleRate) || !isRate(timeoutRate) || !isRate(slowDripRate)) {
+                return "rates must be between 0 and 1";
+            }
+            if (errorRate + throttleRate + timeoutRate > 1) {
+                return "errorRate, throttleRate and timeoutRate must add up to at most 1";
+            }
+            if (errorStatus < 500 || errorStatus > 599) {
+                return "errorStatus must be a 5xx status";
+            }
+            if (timeoutMs < 0 || slowDripBytesPerSecond < 0 || retryAfterSeconds < 0) {
+                return "timeoutMs, slowDripBytesPerSecond and retryAfterSeconds must not be negative";
+            }
+            for (LatencyBucket bucket : latency) {
+                if (bucket.fromMs() < 0 || bucket.toMs() < bucket.fromMs() || bucket.weight() < 0) {
+                    return "latency buckets need 0 <= fromMs <= toMs and a non-negative weight";
+                }
+            }
+            return null;
+        }
+
+        private static boolean isRate(double rate) {
+            return rate >= 0 && rate <= 1;
+        }
+    }
+
+    /**
+     * A latency histogram bucket: with probability proportional to {@code weight}, a delay drawn uniformly from
+     * {@code [fromMs, toMs]}.
+     */
+    public record LatencyBucket(long fromMs, long toMs, double weight) {}
+}
@@ -0,0 +1,548 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compact storage for millions of employees. Instead of one {@link MockEmployee} object per row, each field is a
+ * column:
+ * <ul>
+ *   <li>UUIDs as two {@code long[]} columns, salary and age as {@code int[]} and {@code byte[]};</li>
+ *   <li>titles dictionary-encoded into an {@code int[]} of codes;</li>
+ *   <li>names and email local parts as length-prefixed UTF-8 in off-heap {@link ByteBuffer} segments, addressed by an
+ *   {@code int[]} offset column (the shared {@code @company.com} domain is not stored).</li>
+ * </ul>
+ * Lookups by ID go through an open-addressing table of row numbers, and lookups by name through a second one keyed by
+ * the lower-cased name's hash. Name prefix queries use rows sorted by lower-cased name, built on the first such query
+ * and re-merged once enough rows were added after it. Deleted rows are only marked, so row numbers stay stable.
+ * {@link MockEmployee} instances are materialized on read.
+ */
+@Slf4j
+public class ColumnarMockEmployeeStore implements MockEmployeeStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SEGMENT_BITS = 20;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int MAX_SEGMENTS = 1 << (Integer.SIZE - 1 - SEGMENT_BITS);
+    private static final String EMAIL_DOMAIN = ServerConfiguration.EMAIL_TEMPLATE.formatted("");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] idMostSigBits = new long[INITIAL_CAPACITY];
+    private long[] idLeastSigBits = new long[INITIAL_CAPACITY];
+    private int[] salaries = new int[INITIAL_CAPACITY];
+    private byte[] ages = new byte[INITIAL_CAPACITY];
+    private int[] titleCodes = new int[INITIAL_CAPACITY];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+    private int[] nameHashes = new int[INITIAL_CAPACITY];
+    private int[] emailOffsets = new int[INITIAL_CAPACITY];
+    private final BitSet foreignEmailDomains = new BitSet();
+    private final BitSet deleted = new BitSet();
+    private int rows;
+
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> titleCodesByTitle = new HashMap<>();
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private int heapOffset = 0;
+
+    private int[] idTable = new int[INITIAL_CAPACITY * 2];
+
+    private int[] nameTable = new int[INITIAL_CAPACITY * 2];
+    private int nameTableEntries;
+
+    private int[] sortedNameRows = new int[0];
+    private int sortedNameRowsEnd;
+
+    @Override
+    public Collection<MockEmployee> findAll() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<MockEmployee> iterator() {
+                return new LiveRowIterator();
+            }
+
+            @Override
+            public int size() {
+                lock.readLock().lock();
+                try {
+                    return rows - deleted.cardinality();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        };
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID uuid) {
+        lock.readLock().lock();
+        try {
+            final var row = rowOf(uuid);
+            return row < 0 ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(MockEmployee mockEmployee) {
+        lock.writeLock().lock();
+        try {
+            if (rows == idMostSigBits.length) {
+                grow();
+            }
+            final var row = rows;
+            idMostSigBits[row] = mockEmployee.getId().getMostSignificantBits();
+            idLeastSigBits[row] = mockEmployee.getId().getLeastSignificantBits();
+            salaries[row] = mockEmployee.getSalary();
+            ages[row] = mockEmployee.getAge().byteValue();
+            titleCodes[row] = titleCodesByTitle.computeIfAbsent(mockEmployee.getTitle(), title -> {
+                titles.add(title);
+                return titles.size() - 1;
+            });
+            nameOffsets[row] = writeString(mockEmployee.getName());
+            nameHashes[row] = MockEmployeeNameIndex.key(mockEmployee.getName()).hashCode();
+            final var email = mockEmployee.getEmail();
+            if (email.endsWith(EMAIL_DOMAIN)) {
+                emailOffsets[row] = writeString(email.substring(0, email.length() - EMAIL_DOMAIN.length()));
+            } else {
+                emailOffsets[row] = writeString(email);
+                foreignEmailDomains.set(row);
+            }
+            rows++;
+            if (rows * 5L > idTable.length * 3L) {
+                rebuildIdTable(idTable.length * 2);
+            } else {
+                insertIntoIdTable(row);
+            }
+            if (++nameTableEntries * 5L > nameTable.length * 3L) {
+                rebuildNameTable(nameTable.length * 2);
+            } else {
+                insertIntoNameTable(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(String name) {
+        lock.writeLock().lock();
+        try {
+            final var rowsNamed = rowsNamed(MockEmployeeNameIndex.key(name));
+            if (rowsNamed.length == 0) {
+                return Optional.empty();
+            }
+            final var row = rowsNamed[0];
+            final var mockEmployee = materialize(row);
+            deleted.set(row);
+            removeFromNameTable(row);
+            return Optional.of(mockEmployee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> findByName(String name) {
+        lock.readLock().lock();
+        try {
+            return Arrays.stream(rowsNamed(MockEmployeeNameIndex.key(name)))
+                    .mapToObj(this::materialize)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> findByNamePrefix(String prefix, int limit) {
+        final var from = MockEmployeeNameIndex.key(prefix);
+        lock.readLock().lock();
+        try {
+            if (!sortedNameRowsStale()) {
+                return rowsWithPrefix(from, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (sortedNameRowsStale()) {
+                mergeSortedNameRows();
+            }
+            return rowsWithPrefix(from, limit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate memory held by the columns, the ID and name indexes and the string heap, in bytes.
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) idMostSigBits.length * (Long.BYTES * 2 + Integer.BYTES * 5 + Byte.BYTES);
+            bytes += (long) (idTable.length + nameTable.length + sortedNameRows.length) * Integer.BYTES;
+            bytes += (long) segments.size() * SEGMENT_SIZE;
+            bytes += (deleted.size() + foreignEmailDomains.size()) / Byte.SIZE;
+            bytes +=
+                    titles.stream().mapToLong(title -> 64 + 2L * title.length()).sum();
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private MockEmployee materialize(int row) {
+        final var email = readString(emailOffsets[row]);
+        return new MockEmployee(
+                new UUID(idMostSigBits[row], idLeastSigBits[row]),
+                readString(nameOffsets[row]),
+                salaries[row],
+                (int) ages[row],
+                titles.get(titleCodes[row]),
+                foreignEmailDomains.get(row) ? email : email + EMAIL_DOMAIN);
+    }
+
+    private void grow() {
+        final var capacity = idMostSigBits.length + (idMostSigBits.length >> 1);
+        idMostSigBits = Arrays.copyOf(idMostSigBits, capacity);
+        idLeastSigBits = Arrays.copyOf(idLeastSigBits, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        titleCodes = Arrays.copyOf(titleCodes, capacity);
+        nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+        nameHashes = Arrays.copyOf(nameHashes, capacity);
+        emailOffsets = Arrays.copyOf(emailOffsets, capacity);
+    }
+
+    // --- ID index: open addressing over row numbers (stored as row + 1, 0 marks an empty slot) ---
+
+    private int rowOf(UUID uuid) {
+        final var mostSigBits = uuid.getMostSignificantBits();
+        final var leastSigBits = uuid.getLeastSignificantBits();
+        final var mask = idTable.length - 1;
+        for (int slot = hash(mostSigBits, leastSigBits) & mask; idTable[slot] != 0; slot = (slot + 1) & mask) {
+            final var row = idTable[slot] - 1;
+            if (idMostSigBits[row] == mostSigBits && idLeastSigBits[row] == leastSigBits && !deleted.get(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private void insertIntoIdTable(int row) {
+        final var mask = idTable.length - 1;
+        var slot = hash(idMostSigBits[row], idLeastSigBits[row]) & mask;
+        while (idTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        idTable[slot] = row + 1;
+    }
+
+    private void rebuildIdTable(int capacity) {
+        idTable = new int[capacity];
+        for (int row = deleted.nextClearBit(0); row < rows; row = deleted.nextClearBit(row + 1)) {
+            insertIntoIdTable(row);
+        }
+    }
+
+    private static int hash(long mostSigBits, long leastSigBits) {
+        final var h = (mostSigBits ^ leastSigBits) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // --- Name index: open addressing over live rows by lower-cased name hash, with backward-shift deletion so that
+    // deleting and re-creating the same name does not grow its probe chain ---
+
+    /**
+     * Live rows whose lower-cased name is {@code key}, in row order.
+     */
+    private int[] rowsNamed(String key) {
+        final var hash = key.hashCode();
+        final var mask = nameTable.length - 1;
+        final var matches = IntStream.builder();
+        for (int slot = mix(hash) & mask; nameTable[slot] != 0; slot = (slot + 1) & mask) {
+            final var row = nameTable[slot] - 1;
+            if (nameHashes[row] == hash && nameKey(row).equals(key)) {
+                matches.add(row);
+            }
+        }
+        return matches.build().sorted().toArray();
+    }
+
+    private void insertIntoNameTable(int row) {
+        final var mask = nameTable.length - 1;
+        var slot = mix(nameHashes[row]) & mask;
+        while (nameTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        nameTable[slot] = row + 1;
+    }
+
+    private void removeFromNameTable(int row) {
+        final var mask = nameTable.length - 1;
+        var slot = mix(nameHashes[row]) & mask;
+        while (nameTable[slot] != row + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // Pull later entries of the cluster back into the gap unless that would move them before their home slot.
+        for (int next = (slot + 1) & mask; nameTable[next] != 0; next = (next + 1) & mask) {
+            final var home = mix(nameHashes[nameTable[next] - 1]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                nameTable[slot] = nameTable[next];
+                slot = next;
+            }
+        }
+        nameTable[slot] = 0;
+        nameTableEntries--;
+    }
+
+    private void rebuildNameTable(int capacity) {
+        nameTable = new int[capacity];
+        for (int row = deleted.nextClearBit(0); row < rows; row = deleted.nextClearBit(row + 1)) {
+            insertIntoNameTable(row);
+        }
+    }
+
+    private static int mix(int hash) {
+        final var h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private String nameKey(int row) {
+        return MockEmployeeNameIndex.key(readString(nameOffsets[row]));
+    }
+
+    // --- Prefix index: rows below sortedNameRowsEnd sorted by lower-cased name, then row; deleted rows are dropped
+    // when the rows added since are merged in ---
+
+    private boolean sortedNameRowsStale() {
+        return rows - sortedNameRowsEnd > Math.max(INITIAL_CAPACITY, sortedNameRowsEnd >> 5)
+                || (sortedNameRowsEnd == 0 && rows > 0);
+    }
+
+    private List<MockEmployee> rowsWithPrefix(String from, int limit) {
+        final var to = from + Character.MAX_VALUE;
+        final List<MockEmployee> matches = new ArrayList<>();
+        for (int i = lowerBound(from); i < sortedNameRows.length && matches.size() < limit; i++) {
+            final var row = sortedNameRows[i];
+            final var key = nameKey(row);
+            if (key.compareTo(to) >= 0) {
+                break;
+            }
+            if (!deleted.get(row)) {
+                matches.add(materialize(row));
+            }
+        }
+        // Rows added since the last merge are few enough to scan; fold them in by name, then row.
+        final List<MockEmployee> unsorted = new ArrayList<>();
+        for (int row = deleted.nextClearBit(sortedNameRowsEnd); row < rows; row = deleted.nextClearBit(row + 1)) {
+            if (nameKey(row).startsWith(from)) {
+                unsorted.add(materialize(row));
+            }
+        }
+        if (unsorted.isEmpty()) {
+            return matches;
+        }
+        matches.addAll(unsorted);
+        return matches.stream()
+                .sorted(Comparator.comparing(mockEmployee -> MockEmployeeNameIndex.key(mockEmployee.getName())))
+                .limit(limit)
+                .toList();
+    }
+
+    private int lowerBound(String key) {
+        var low = 0;
+        var high = sortedNameRows.length;
+        while (low < high) {
+            final var mid = (low + high) >>> 1;
+            if (nameKey(sortedNameRows[mid]).compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void mergeSortedNameRows() {
+        final var added = new int[rows - sortedNameRowsEnd];
+        var count = 0;
+        for (int row = deleted.nextClearBit(sortedNameRowsEnd); row < rows; row = deleted.nextClearBit(row + 1)) {
+            added[count++] = row;
+        }
+        sortByName(added, count);
+
+        final var merged = new int[sortedNameRows.length + count];
+        var size = 0;
+        var i = 0;
+        var j = 0;
+        while (i < sortedNameRows.length || j < count) {
+            if (i < sortedNameRows.length && deleted.get(sortedNameRows[i])) {
+                i++;
+            } else if (j == count || (i < sortedNameRows.length && compareNames(sortedNameRows[i], added[j]) <= 0)) {
+                merged[size++] = sortedNameRows[i++];
+            } else {
+                merged[size++] = added[j++];
+            }
+        }
+        sortedNameRows = Arrays.copyOf(merged, size);
+        sortedNameRowsEnd = rows;
+    }
+
+    /**
+     * Stable bottom-up merge sort of the first {@code count} rows by name, so rows with the same name stay in row
+     * order. Works on the row numbers themselves: nothing is boxed, and names are compared in place.
+     */
+    private void sortByName(int[] rowsToSort, int count) {
+        var from = rowsToSort;
+        var to = new int[count];
+        for (int width = 1; width < count; width <<= 1) {
+            for (int low = 0; low < count; low += width << 1) {
+                final var middle = Math.min(low + width, count);
+                final var high = Math.min(low + (width << 1), count);
+                var left = low;
+                var right = middle;
+                for (int k = low; k < high; k++) {
+                    if (left < middle && (right == high || compareNames(from[left], from[right]) <= 0)) {
+                        to[k] = from[left++];
+                    } else {
+                        to[k] = from[right++];
+                    }
+                }
+            }
+            final var swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != rowsToSort) {
+            System.arraycopy(from, 0, rowsToSort, 0, count);
+        }
+    }
+
+    /**
+     * Compares the lower-cased names of two rows as {@link String#compareTo} would, reading the UTF-8 bytes straight
+     * from the string heap. Only a name with a non-ASCII character before the first difference is decoded.
+     */
+    private int compareNames(int rowA, int rowB) {
+        final var offsetA = nameOffsets[rowA];
+        final var offsetB = nameOffsets[rowB];
+        final var segmentA = segments.get(offsetA >>> SEGMENT_BITS);
+        final var segmentB = segments.get(offsetB >>> SEGMENT_BITS);
+        final var positionA = (offsetA & (SEGMENT_SIZE - 1)) + Short.BYTES;
+        final var positionB = (offsetB & (SEGMENT_SIZE - 1)) + Short.BYTES;
+        final int lengthA = segmentA.getShort(positionA - Short.BYTES);
+        final int lengthB = segmentB.getShort(positionB - Short.BYTES);
+        for (int k = 0; k < Math.min(lengthA, lengthB); k++) {
+            final int a = segmentA.get(positionA + k);
+            final int b = segmentB.get(positionB + k);
+            if ((a | b) < 0) {
+                // A multi-byte character: lower-casing it may change its length, so compare the decoded keys.
+                return nameKey(rowA).compareTo(nameKey(rowB));
+            }
+            if (a != b) {
+                final var difference = asciiLowerCase(a) - asciiLowerCase(b);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+        }
+        return lengthA - lengthB;
+    }
+
+    private static int asciiLowerCase(int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    // --- String heap: length-prefixed UTF-8 in 1 MiB direct segments; an offset never spans two segments ---
+
+    private int writeString(String value) {
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        final var length = Math.min(bytes.length, Short.MAX_VALUE);
+        final var required = Short.BYTES + length;
+        // heapOffset - segment start reaches SEGMENT_SIZE once a string ends exactly at the end of the last segment.
+        if (segments.isEmpty() || heapOffset - ((segments.size() - 1) << SEGMENT_BITS) + required > SEGMENT_SIZE) {
+            if (segments.size() == MAX_SEGMENTS) {
+                throw new IllegalStateException("Columnar string heap is full.");
+            }
+            segments.add(ByteBuffer.allocateDirect(SEGMENT_SIZE));
+            heapOffset = (segments.size() - 1) << SEGMENT_BITS;
+        }
+        final var offset = heapOffset;
+        final var segment = segments.get(offset >>> SEGMENT_BITS);
+        final var position = offset & (SEGMENT_SIZE - 1);
+        segment.putShort(position, (short) length);
+        segment.put(position + Short.BYTES, bytes, 0, length);
+        heapOffset += required;
+        return offset;
+    }
+
+    private String readString(int offset) {
+        final var segment = segments.get(offset >>> SEGMENT_BITS);
+        final var position = offset & (SEGMENT_SIZE - 1);
+        final var bytes = new byte[segment.getShort(position)];
+        segment.get(position + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Walks the rows that existed when iteration started, skipping rows deleted since.
+     */
+    private final class LiveRowIterator implements Iterator<MockEmployee> {
+
+        private final int end;
+        private int next;
+
+        private LiveRowIterator() {
+            lock.readLock().lock();
+            try {
+                this.end = rows;
+                this.next = deleted.nextClearBit(0);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public MockEmployee next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lock.readLock().lock();
+            try {
+                final var mockEmployee = materialize(next);
+                next = deleted.nextClearBit(next + 1);
+                return mockEmployee;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.FaultProfile;
+import com.reliaquest.server.model.FaultProfile.RouteFaults;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Decides which faults each request gets under the active {@link FaultProfile}. Every matching request consumes the
+ * same number of draws from the profile's seeded generator, in arrival order, so replaying a request sequence against
+ * a re-applied profile reproduces its faults.
+ */
+@Slf4j
+@Service
+public class FaultInjectionService {
+
+    /**
+     * What to do to one request: delay it, then either answer {@code status} (a 504 after holding it for
+     * {@code holdMillis} when timing out), or handle it and write the body at {@code dripBytesPerSecond} when positive.
+     */
+    public record Fault(long delayMillis, int status, int retryAfterSeconds, long holdMillis, int dripBytesPerSecond) {
+
+        public static final Fault NONE = new Fault(0, 0, 0, 0, 0);
+    }
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private ActiveProfile active;
+
+    public FaultInjectionService(FaultProfile faultProfile) {
+        apply(faultProfile);
+    }
+
+    public synchronized FaultProfile current() {
+        return active.profile();
+    }
+
+    /**
+     * Replaces the active profile and restarts its draws from the seed.
+     *
+     * @return the applied profile, with the seed that was picked if it had none
+     * @throws IllegalArgumentException if a rule cannot be applied
+     */
+    public synchronized FaultProfile apply(FaultProfile faultProfile) {
+        faultProfile.validate();
+        final var seeded = faultProfile.seed() != null
+                ? faultProfile
+                : faultProfile.withSeed(RandomGenerator.getDefault().nextLong());
+        active = new ActiveProfile(
+                seeded,
+                new Random(seeded.seed()),
+                new int[seeded.routes().size()],
+                new int[seeded.routes().size()]);
+        if (!seeded.routes().isEmpty()) {
+            log.info(
+                    "Injecting faults into {} route(s) with seed {}.",
+                    seeded.routes().size(),
+                    seeded.seed());
+        }
+        return seeded;
+    }
+
+    public synchronized Fault decide(String method, String path) {
+        final var routes = active.profile().routes();
+        for (int i = 0; i < routes.size(); i++) {
+            final var route = routes.get(i);
+            if ((route.method() == null
+                            || route.method().isEmpty()
+                            || route.method().equalsIgnoreCase(method))
+                    && pathMatcher.match(route.path(), path)) {
+                return draw(i, route);
+            }
+        }
+        return Fault.NONE;
+    }
+
+    private Fault draw(int routeIndex, RouteFaults route) {
+        final var random = active.random();
+        final var delayMillis = latency(route, random.nextDouble(), random.nextDouble());
+        final var outcome = random.nextDouble();
+        final var drip = random.nextDouble() < route.slowDripRate() ? route.slowDripBytesPerSecond() : 0;
+
+        final var burstRemaining = active.burstRemaining();
+        final var burstStatus = active.burstStatus();
+        var status = 0;
+        if (burstRemaining[routeIndex] > 0) {
+            burstRemaining[routeIndex]--;
+            status = burstStatus[routeIndex];
+        } else if (outcome < route.throttleRate()) {
+            status = 429;
+            burstRemaining[routeIndex] = route.throttleBurst() - 1;
+        } else if (outcome < route.throttleRate() + route.errorRate()) {
+            status = route.errorStatus();
+            burstRemaining[routeIndex] = route.errorBurst() - 1;
+        } else if (outcome < route.throttleRate() + route.errorRate() + route.timeoutRate()) {
+            return new Fault(delayMillis, 504, 0, route.timeoutMs(), 0);
+        }
+        burstStatus[routeIndex] = status;
+
+        if (status == 429) {
+            return new Fault(delayMillis, status, route.retryAfterSeconds(), 0, 0);
+        }
+        return new Fault(delayMillis, status, 0, 0, status == 0 ? drip : 0);
+    }
+
+    private static long latency(RouteFaults route, double bucketDraw, double delayDraw) {
+        final var totalWeight = route.latency().stream()
+                .mapToDouble(FaultProfile.LatencyBucket::weight)
+                .sum();
+        var remaining = bucketDraw * totalWeight;
+        for (FaultProfile.LatencyBucket bucket : route.latency()) {
+            remaining -= bucket.weight();
+            if (remaining < 0) {
+                return bucket.fromMs() + (long) (delayDraw * (bucket.toMs() - bucket.fromMs() + 1));
+            }
+        }
+        return 0;
+    }
+
+    private record ActiveProfile(FaultProfile profile, Random random, int[] burstRemaining, int[] burstStatus) {}
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Default storage: the employees built by {@code ServerConfiguration.mockEmployees}, kept in an insertion-ordered map
+ * by ID, with a {@link MockEmployeeNameIndex} over them for lookups and deletes by name. Lookups by ID and deletes take
+ * constant time however many employees there are; {@link #findAll()} keeps the insertion order.
+ */
+public class ListMockEmployeeStore implements MockEmployeeStore {
+
+    private final Map<UUID, MockEmployee> mockEmployees = new LinkedHashMap<>();
+    private final MockEmployeeNameIndex nameIndex = new MockEmployeeNameIndex();
+
+    public ListMockEmployeeStore(List<MockEmployee> mockEmployees) {
+        mockEmployees.forEach(this::add);
+    }
+
+    @Override
+    public Collection<MockEmployee> findAll() {
+        return Collections.unmodifiableCollection(mockEmployees.values());
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> findById(UUID uuid) {
+        return Optional.ofNullable(mockEmployees.get(uuid));
+    }
+
+    @Override
+    public synchronized void add(MockEmployee mockEmployee) {
+        mockEmployees.put(mockEmployee.getId(), mockEmployee);
+        nameIndex.add(mockEmployee);
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeFirstByName(String name) {
+        final var mockEmployee = nameIndex.first(name);
+        mockEmployee.ifPresent(employee -> {
+            nameIndex.remove(employee);
+            mockEmployees.remove(employee.getId());
+        });
+        return mockEmployee;
+    }
+
+    @Override
+    public synchronized List<MockEmployee> findByName(String name) {
+        return nameIndex.findByName(name);
+    }
+
+    @Override
+    public synchronized List<MockEmployee> findByNamePrefix(String prefix, int limit) {
+        return nameIndex.findByNamePrefix(prefix, limit);
+    }
+}
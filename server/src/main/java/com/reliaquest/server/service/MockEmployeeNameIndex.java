@@ -0,0 +1,97 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive name index for stores that hold {@link MockEmployee} objects. Names are keyed by their lower-case
+ * form in a sorted map, so a prefix is a key range. A name shared by several employees maps to all of them, oldest
+ * first; a unique name maps to its employee directly rather than to a one-element list.
+ *
+ * <p>Not thread-safe: the owning store synchronizes.
+ */
+final class MockEmployeeNameIndex {
+
+    private final NavigableMap<String, Object> byName = new TreeMap<>();
+
+    static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    void add(MockEmployee mockEmployee) {
+        if (mockEmployee.getName() == null) {
+            return;
+        }
+        byName.merge(key(mockEmployee.getName()), mockEmployee, (existing, added) -> {
+            final var duplicates = existing instanceof MockEmployee single ? newDuplicates(single) : asList(existing);
+            duplicates.add(mockEmployee);
+            return duplicates;
+        });
+    }
+
+    void remove(MockEmployee mockEmployee) {
+        if (mockEmployee.getName() == null) {
+            return;
+        }
+        byName.computeIfPresent(key(mockEmployee.getName()), (key, existing) -> {
+            if (existing == mockEmployee) {
+                return null;
+            }
+            final var duplicates = asList(existing);
+            duplicates.removeIf(duplicate -> duplicate == mockEmployee);
+            return duplicates.size() == 1 ? duplicates.get(0) : duplicates;
+        });
+    }
+
+    Optional<MockEmployee> first(String name) {
+        final var entry = byName.get(key(name));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(
+                entry instanceof MockEmployee single ? single : asList(entry).get(0));
+    }
+
+    List<MockEmployee> findByName(String name) {
+        final var entry = byName.get(key(name));
+        return entry == null ? List.of() : copyOf(entry);
+    }
+
+    /**
+     * Employees whose name starts with {@code prefix}, ignoring case, ordered by name and then age of entry.
+     */
+    List<MockEmployee> findByNamePrefix(String prefix, int limit) {
+        final var from = key(prefix);
+        final List<MockEmployee> matches = new ArrayList<>();
+        for (Object entry :
+                byName.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            for (MockEmployee mockEmployee : copyOf(entry)) {
+                if (matches.size() == limit) {
+                    return matches;
+                }
+                matches.add(mockEmployee);
+            }
+        }
+        return matches;
+    }
+
+    private static List<MockEmployee> copyOf(Object entry) {
+        return entry instanceof MockEmployee single ? List.of(single) : List.copyOf(asList(entry));
+    }
+
+    private static List<MockEmployee> newDuplicates(MockEmployee first) {
+        final List<MockEmployee> duplicates = new ArrayList<>(2);
+        duplicates.add(first);
+        return duplicates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<MockEmployee> asList(Object entry) {
+        return (List<MockEmployee>) entry;
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Holds the mock employees behind {@link MockEmployeeService}. Selected with {@code mock.employees.storage}.
+ */
+public interface MockEmployeeStore {
+
+    /**
+     * All employees, in a stable order. Implementations may return a lazy view that materializes employees while it
+     * is iterated.
+     */
+    Collection<MockEmployee> findAll();
+
+    Optional<MockEmployee> findById(UUID id);
+
+    void add(MockEmployee mockEmployee);
+
+    /**
+     * Removes the first employee whose name matches, ignoring case.
+     */
+    Optional<MockEmployee> removeFirstByName(String name);
+
+    /**
+     * Every employee whose name matches, ignoring case, in {@link #findAll()} order. Scans all employees unless the
+     * store keeps a name index.
+     */
+    default List<MockEmployee> findByName(String name) {
+        return findAll().stream()
+                .filter(mockEmployee ->
+                        mockEmployee.getName() != null && mockEmployee.getName().equalsIgnoreCase(name))
+                .toList();
+    }
+
+    /**
+     * Up to {@code limit} employees whose name starts with {@code prefix}, ignoring case, ordered by lower-cased name
+     * and then {@link #findAll()} order. Scans all employees unless the store keeps a name index.
+     */
+    default List<MockEmployee> findByNamePrefix(String prefix, int limit) {
+        final var lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        return findAll().stream()
+                .filter(mockEmployee -> mockEmployee.getName() != null
+                        && mockEmployee.getName().toLowerCase(Locale.ROOT).startsWith(lowerPrefix))
+                .sorted(Comparator.comparing(
+                        mockEmployee -> mockEmployee.getName().toLowerCase(Locale.ROOT)))
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Procedural storage for very large datasets. The base dataset is never held in memory: the employee at each index is
+ * derived from the seed by {@link MockEmployeeGenerator} whenever it is read, and its UUID encodes the index so
+ * lookups by ID are O(1). Creates and deletes are kept in a small overlay on top of the base rows.
+ *
+ * <p>Lookups and deletes by name still have to derive names to find a match, so they scan the base rows (deletes in
+ * parallel); indexing the names would hold the dataset in memory after all. Use the list or columnar storage, which
+ * index names, when a load test leans on name lookups.
+ */
+@Slf4j
+public class VirtualMockEmployeeStore implements MockEmployeeStore {
+
+    private final MockEmployeeGenerator generator;
+    private final long baseSize;
+    private final Set<Long> deletedBaseIndexes = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, MockEmployee> created = new LinkedHashMap<>();
+
+    public VirtualMockEmployeeStore(MockEmployeeGenerator generator, long baseSize) {
+        this.generator = generator;
+        this.baseSize = baseSize;
+        log.info("Serving a virtual dataset of {} employees with seed {}.", baseSize, generator.getSeed());
+    }
+
+    @Override
+    public Collection<MockEmployee> findAll() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<MockEmployee> iterator() {
+                return Stream.concat(baseIndexes().mapToObj(generator::employeeAt), createdSnapshot().stream())
+                        .iterator();
+            }
+
+            @Override
+            public int size() {
+                synchronized (created) {
+                    return (int) Math.min(Integer.MAX_VALUE, baseSize - deletedBaseIndexes.size() + created.size());
+                }
+            }
+        };
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID uuid) {
+        synchronized (created) {
+            final var mockEmployee = created.get(uuid);
+            if (mockEmployee != null) {
+                return Optional.of(mockEmployee);
+            }
+        }
+        final var index = generator.indexOf(uuid);
+        if (index.isEmpty() || index.getAsLong() >= baseSize || deletedBaseIndexes.contains(index.getAsLong())) {
+            return Optional.empty();
+        }
+        return Optional.of(generator.employeeAt(index.getAsLong()));
+    }
+
+    @Override
+    public void add(MockEmployee mockEmployee) {
+        synchronized (created) {
+            created.put(mockEmployee.getId(), mockEmployee);
+        }
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeFirstByName(String name) {
+        final var baseIndex = baseIndexes()
+                .parallel()
+                .filter(index -> generator.nameAt(index).equalsIgnoreCase(name))
+                .findFirst();
+        if (baseIndex.isPresent()) {
+            deletedBaseIndexes.add(baseIndex.getAsLong());
+            return Optional.of(generator.employeeAt(baseIndex.getAsLong()));
+        }
+        synchronized (created) {
+            final var mockEmployee = created.values().stream()
+                    .filter(employee ->
+                            employee.getName() != null && employee.getName().equalsIgnoreCase(name))
+                    .findFirst();
+            mockEmployee.ifPresent(employee -> created.remove(employee.getId()));
+            return mockEmployee;
+        }
+    }
+
+    private LongStream baseIndexes() {
+        return LongStream.range(0, baseSize).filter(index -> !deletedBaseIndexes.contains(index));
+    }
+
+    private Collection<MockEmployee> createdSnapshot() {
+        synchronized (created) {
+            return new ArrayList<>(created.values());
+        }
+    }
+}
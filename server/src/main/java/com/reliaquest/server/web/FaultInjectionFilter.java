@@ -0,0 +1,146 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.service.FaultInjectionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the {@link FaultInjectionService.Fault} drawn for each request: sleeps for its latency, answers an injected
+ * status without reaching the controller, or wraps the response so the body trickles out. A filter rather than a
+ * {@link org.springframework.web.servlet.HandlerInterceptor}, because slowing the body down needs the response
+ * wrapped before the controller writes to it.
+ */
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private static final long DRIP_INTERVAL_MILLIS = 100;
+
+    private final FaultInjectionService faultInjectionService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final var fault = faultInjectionService.decide(request.getMethod(), request.getRequestURI());
+        sleep(fault.delayMillis() + fault.holdMillis());
+        if (fault.status() != 0) {
+            if (fault.retryAfterSeconds() > 0) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(fault.retryAfterSeconds()));
+            }
+            response.setStatus(fault.status());
+            return;
+        }
+        filterChain.doFilter(
+                request,
+                fault.dripBytesPerSecond() > 0 ? new DripResponse(response, fault.dripBytesPerSecond()) : response);
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while injecting latency.");
+        }
+    }
+
+    /**
+     * Writes the body in small flushed chunks, pausing between them to hold the given rate.
+     */
+    private static final class DripResponse extends HttpServletResponseWrapper {
+
+        private final int chunkBytes;
+        private final long pauseMillis;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private DripResponse(HttpServletResponse response, int bytesPerSecond) {
+            super(response);
+            this.chunkBytes = (int) Math.max(1, bytesPerSecond * DRIP_INTERVAL_MILLIS / 1000);
+            this.pauseMillis = chunkBytes * 1000L / bytesPerSecond;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DripOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(
+                        new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+
+        private final class DripOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            private DripOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                for (int written = 0; written < len; written += chunkBytes) {
+                    delegate.write(b, off + written, Math.min(chunkBytes, len - written));
+                    delegate.flush();
+                    sleep(pauseMillis);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ColumnarMockEmployeeStoreTest {
+
+    @Test
+    void testAdd_stringsThatExactlyFillASegment() {
+        // A 14-byte name and a 14-byte email local part take 2 * (2 + 14) = 32 bytes of string heap, so 32768 rows
+        // fill the first 1 MiB segment exactly and the next row has to start a new one.
+        final var mockEmployees = IntStream.range(0, 40_000)
+                .mapToObj(row -> new MockEmployee(
+                        new UUID(0, row),
+                        "Employee %05d".formatted(row),
+                        50000,
+                        30,
+                        "Engineer",
+                        ServerConfiguration.EMAIL_TEMPLATE.formatted("employee.%05d".formatted(row))))
+                .toList();
+        final var store = new ColumnarMockEmployeeStore();
+        mockEmployees.forEach(store::add);
+
+        assertEquals(mockEmployees, List.copyOf(store.findAll()));
+        assertEquals(
+                mockEmployees.get(32_768), store.findById(new UUID(0, 32_768)).orElseThrow());
+    }
+}
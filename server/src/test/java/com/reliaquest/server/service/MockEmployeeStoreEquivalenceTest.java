@@ -0,0 +1,146 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the same random mix of creates, deletes and lookups against a store and a plain reference list, and checks
+ * that every answer matches. Names come from a small pool with case variants and shared prefixes, so duplicates,
+ * probe-chain collisions and prefix merges are hit constantly, and the stores grow well past their initial capacity.
+ */
+class MockEmployeeStoreEquivalenceTest {
+
+    private static final long SEED = 20261018L;
+    private static final int BASE_ROWS = 200;
+    private static final int CHECK_ALL_EVERY = 1000;
+    private static final List<String> FIRST_NAMES = List.of(
+            "Ann", "ann", "ANNA", "Anne", "Annette", "Bob", "bob", "Bobby", "Carl", "Carla", "Zoë", "ZOË", "Élise");
+    private static final List<String> LAST_NAMES = List.of("Lee", "lee", "Leeds", "Smith", "SMITH", "Ó Briain");
+    private static final List<String> TITLES = List.of("Engineer", "Manager", "Analyst");
+
+    private final MockEmployeeGenerator generator = new MockEmployeeGenerator(Locale.US, SEED);
+
+    @Test
+    void testListStore_matchesReference() {
+        final var base = generator.generate(BASE_ROWS);
+        assertEquivalent(new ListMockEmployeeStore(new ArrayList<>(base)), base, 60_000);
+    }
+
+    @Test
+    void testColumnarStore_matchesReference() {
+        final var base = generator.generate(BASE_ROWS);
+        final var store = new ColumnarMockEmployeeStore();
+        base.forEach(store::add);
+        assertEquivalent(store, base, 60_000);
+    }
+
+    @Test
+    void testVirtualStore_matchesReference() {
+        // Every name lookup derives the base rows again, so fewer operations.
+        assertEquivalent(new VirtualMockEmployeeStore(generator, BASE_ROWS), generator.generate(BASE_ROWS), 10_000);
+    }
+
+    private void assertEquivalent(MockEmployeeStore store, List<MockEmployee> base, int operations) {
+        final var random = new Random(SEED);
+        final List<Row> reference = new ArrayList<>(base.stream().map(Row::new).toList());
+        for (int operation = 1; operation <= operations; operation++) {
+            final var roll = random.nextInt(100);
+            if (roll < 40) {
+                final var mockEmployee = randomEmployee(random);
+                store.add(mockEmployee);
+                reference.add(new Row(mockEmployee));
+            } else if (roll < 70) {
+                final var name = randomName(random, reference);
+                final var key = MockEmployeeNameIndex.key(name);
+                final var expected =
+                        reference.stream().filter(row -> row.key.equals(key)).findFirst();
+                expected.ifPresent(reference::remove);
+                assertEquals(expected.map(Row::employee), store.removeFirstByName(name), "delete " + name);
+            } else if (roll < 80) {
+                final var name = randomName(random, reference);
+                final var key = MockEmployeeNameIndex.key(name);
+                assertEquals(
+                        reference.stream()
+                                .filter(row -> row.key.equals(key))
+                                .map(Row::employee)
+                                .toList(),
+                        store.findByName(name),
+                        "by name " + name);
+            } else if (roll < 90) {
+                final var name = randomName(random, reference);
+                final var prefix = name.substring(0, 1 + random.nextInt(Math.min(name.length(), 6)));
+                final var key = MockEmployeeNameIndex.key(prefix);
+                final var limit = 1 + random.nextInt(50);
+                assertEquals(
+                        reference.stream()
+                                .filter(row -> row.key.startsWith(key))
+                                .sorted(Comparator.comparing(Row::key))
+                                .limit(limit)
+                                .map(Row::employee)
+                                .toList(),
+                        store.findByNamePrefix(prefix, limit),
+                        "by prefix " + prefix + " limit " + limit);
+            } else {
+                final Optional<MockEmployee> expected = reference.isEmpty() || random.nextInt(4) == 0
+                        ? Optional.empty()
+                        : Optional.of(reference.get(random.nextInt(reference.size())).employee);
+                final var id = expected.map(MockEmployee::getId).orElseGet(() -> randomId(random));
+                assertEquals(expected, store.findById(id), "by ID " + id);
+            }
+            if (operation % CHECK_ALL_EVERY == 0) {
+                assertEquals(
+                        reference.stream().map(Row::employee).toList(),
+                        List.copyOf(store.findAll()),
+                        "all after " + operation + " operations");
+                assertEquals(reference.size(), store.findAll().size());
+            }
+        }
+    }
+
+    // Mostly pool names, in any case; sometimes the name of an employee already stored, such as a generated one.
+    private static String randomName(Random random, List<Row> reference) {
+        if (!reference.isEmpty() && random.nextInt(5) == 0) {
+            final var name =
+                    reference.get(random.nextInt(reference.size())).employee.getName();
+            return random.nextBoolean() ? name.toUpperCase(Locale.ROOT) : name;
+        }
+        final var first = FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()));
+        return random.nextInt(4) == 0 ? first : first + " " + LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+    }
+
+    private static MockEmployee randomEmployee(Random random) {
+        final var email = random.nextInt(10) == 0
+                ? "user" + random.nextInt(1000) + "@elsewhere.org"
+                : ServerConfiguration.EMAIL_TEMPLATE.formatted("user" + random.nextInt(1000));
+        return new MockEmployee(
+                randomId(random),
+                randomName(random, List.of()),
+                30000 + random.nextInt(470000),
+                16 + random.nextInt(54),
+                TITLES.get(random.nextInt(TITLES.size())),
+                email);
+    }
+
+    private static UUID randomId(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    // A reference employee with its lower-cased name, the key every store compares by.
+    private record Row(MockEmployee employee, String key) {
+
+        private Row(MockEmployee employee) {
+            this(employee, MockEmployeeNameIndex.key(employee.getName()));
+        }
+    }
+}